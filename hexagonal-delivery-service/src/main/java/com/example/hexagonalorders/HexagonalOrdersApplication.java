@@ -3,6 +3,7 @@ package com.example.hexagonalorders;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for the Hexagonal Orders system.
@@ -18,6 +19,7 @@ import org.springframework.kafka.annotation.EnableKafka;
  */
 @SpringBootApplication
 @EnableKafka
+@EnableScheduling
 public class HexagonalOrdersApplication {
     public static void main(String[] args) {
         SpringApplication.run(HexagonalOrdersApplication.class, args);
@@ -1,34 +1,96 @@
 package com.example.hexagonalorders.application.service;
 
+import com.example.hexagonalorders.domain.event.DeliveryStatusChangedEvent;
 import com.example.hexagonalorders.domain.model.Delivery;
+import com.example.hexagonalorders.domain.model.DeliveryCriteria;
+import com.example.hexagonalorders.domain.model.DeliveryFilter;
+import com.example.hexagonalorders.domain.model.DeliveryPage;
+import com.example.hexagonalorders.domain.model.DeliveryTransition;
+import com.example.hexagonalorders.domain.model.DeliveryWorkList;
+import com.example.hexagonalorders.domain.model.TransitionedDelivery;
 import com.example.hexagonalorders.domain.model.DeliveryStatus;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryDate;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryAddress;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryItem;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryPersonId;
+import com.example.hexagonalorders.domain.model.valueobject.RouteId;
 import com.example.hexagonalorders.domain.model.valueobject.ProductNumber;
 import com.example.hexagonalorders.domain.model.valueobject.Quantity;
 import com.example.hexagonalorders.domain.port.in.DeliveryUseCase;
+import com.example.hexagonalorders.domain.port.out.DeliveryIdGenerator;
 import com.example.hexagonalorders.domain.port.out.DeliveryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
 
 /**
  * Servicio de aplicación que implementa los casos de uso de entrega.
  * Este servicio orquesta la lógica de negocio y coordina entre
  * el modelo de dominio y la capa de infraestructura.
+ *
+ * Cada caso de uso se mide con el timer {@code delivery.usecase}, etiquetado con el
+ * nombre del caso de uso. Los timers se registran una sola vez en el constructor.
  */
 @Service
 public class DeliveryService implements DeliveryUseCase {
 
     private final DeliveryRepository deliveryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DeliveryIdGenerator deliveryIdGenerator;
+    private final Timer crearEntregaTimer;
+    private final Timer programarEntregaTimer;
+    private final Timer confirmarEntregaTimer;
+    private final Timer iniciarEntregaTimer;
+    private final Timer completarEntregaTimer;
+    private final Timer cancelarEntregaTimer;
+    private final Timer transicionMasivaTimer;
+    private final Timer asignarEntregaTimer;
+    private final Timer hojaDeRutaTimer;
+    private final Timer entregasDeRepartidorTimer;
+    private final Timer eliminarEntregaTimer;
+    private final Timer obtenerEntregaTimer;
+    private final Timer entregaPorOrdenTimer;
+    private final Timer versionEntregaTimer;
+    private final Timer buscarEntregasTimer;
+    private final Timer entregaDesdeOrdenTimer;
 
-    public DeliveryService(DeliveryRepository deliveryRepository) {
+    public DeliveryService(DeliveryRepository deliveryRepository, ApplicationEventPublisher eventPublisher,
+                           DeliveryIdGenerator deliveryIdGenerator, MeterRegistry meterRegistry) {
         this.deliveryRepository = deliveryRepository;
+        this.eventPublisher = eventPublisher;
+        this.deliveryIdGenerator = deliveryIdGenerator;
+        this.crearEntregaTimer = useCaseTimer(meterRegistry, "crearEntrega");
+        this.programarEntregaTimer = useCaseTimer(meterRegistry, "programarEntrega");
+        this.confirmarEntregaTimer = useCaseTimer(meterRegistry, "confirmarEntrega");
+        this.iniciarEntregaTimer = useCaseTimer(meterRegistry, "iniciarEntrega");
+        this.completarEntregaTimer = useCaseTimer(meterRegistry, "completarEntrega");
+        this.cancelarEntregaTimer = useCaseTimer(meterRegistry, "cancelarEntrega");
+        this.transicionMasivaTimer = useCaseTimer(meterRegistry, "aplicarTransicionMasiva");
+        this.asignarEntregaTimer = useCaseTimer(meterRegistry, "asignarEntrega");
+        this.hojaDeRutaTimer = useCaseTimer(meterRegistry, "obtenerHojaDeRuta");
+        this.entregasDeRepartidorTimer = useCaseTimer(meterRegistry, "obtenerEntregasDeRepartidor");
+        this.eliminarEntregaTimer = useCaseTimer(meterRegistry, "eliminarEntrega");
+        this.obtenerEntregaTimer = useCaseTimer(meterRegistry, "obtenerEntrega");
+        this.entregaPorOrdenTimer = useCaseTimer(meterRegistry, "obtenerEntregaPorOrden");
+        this.versionEntregaTimer = useCaseTimer(meterRegistry, "obtenerVersionEntrega");
+        this.buscarEntregasTimer = useCaseTimer(meterRegistry, "buscarEntregas");
+        this.entregaDesdeOrdenTimer = useCaseTimer(meterRegistry, "createDeliveryFromOrder");
+    }
+
+    private static Timer useCaseTimer(MeterRegistry meterRegistry, String useCase) {
+        return Timer.builder("delivery.usecase")
+            .description("Tiempo de ejecución de los casos de uso de entrega")
+            .tag("usecase", useCase)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
     }
 
     @Override
@@ -37,107 +99,196 @@ public class DeliveryService implements DeliveryUseCase {
     }
 
     public Delivery crearEntrega(com.example.hexagonalorders.infrastructure.in.web.mapper.DeliveryMapper.DeliveryCreationData data) {
-        DeliveryId id = new DeliveryId(UUID.randomUUID().toString());
-        Delivery delivery = new Delivery(
-            id,
-            data.getOrderNumber(),
-            data.getDeliveryAddress(),
-            data.getScheduledDate(),
-            data.getStatus(),
-            data.getDeliveryNotes(),
-            new java.util.ArrayList<>()
-        );
-        Delivery savedDelivery = deliveryRepository.save(delivery);
-        savedDelivery.getDomainEvents().forEach(event -> {
-            System.out.println("Domain event published: " + event.getClass().getSimpleName());
+        return crearEntregaTimer.record(() -> {
+            DeliveryId id = deliveryIdGenerator.generate();
+            Delivery delivery = new Delivery(
+                id,
+                data.getOrderNumber(),
+                data.getDeliveryAddress(),
+                data.getScheduledDate(),
+                data.getStatus(),
+                data.getDeliveryNotes(),
+                new java.util.ArrayList<>()
+            );
+            Delivery savedDelivery = deliveryRepository.save(delivery);
+            publicarEventos(delivery);
+            return savedDelivery;
         });
-        return savedDelivery;
     }
 
     @Override
+    @Transactional
     public Delivery programarEntrega(DeliveryId deliveryId, DeliveryDate scheduledDate) {
-        Delivery delivery = deliveryRepository.findById(deliveryId)
-                .orElseThrow(() -> new RuntimeException("Entrega no encontrada: " + deliveryId.value()));
-        delivery.scheduleDelivery(scheduledDate);
-        Delivery updatedDelivery = deliveryRepository.save(delivery);
-        updatedDelivery.getDomainEvents().forEach(event -> {
-            System.out.println("Domain event published: " + event.getClass().getSimpleName());
+        return programarEntregaTimer.record(() -> {
+            Delivery delivery = deliveryRepository.findById(deliveryId)
+                    .orElseThrow(() -> new RuntimeException("Entrega no encontrada: " + deliveryId.value()));
+            delivery.scheduleDelivery(scheduledDate);
+            Delivery updatedDelivery = deliveryRepository.save(delivery);
+            publicarEventos(delivery);
+            return updatedDelivery;
         });
-        return updatedDelivery;
     }
 
     @Override
+    @Transactional
     public Delivery confirmarEntrega(DeliveryId deliveryId) {
-        Delivery delivery = deliveryRepository.findById(deliveryId)
-                .orElseThrow(() -> new RuntimeException("Entrega no encontrada: " + deliveryId.value()));
-        delivery.confirmDelivery();
-        Delivery updatedDelivery = deliveryRepository.save(delivery);
-        updatedDelivery.getDomainEvents().forEach(event -> {
-            System.out.println("Domain event published: " + event.getClass().getSimpleName());
+        return confirmarEntregaTimer.record(() -> {
+            Delivery delivery = deliveryRepository.findById(deliveryId)
+                    .orElseThrow(() -> new RuntimeException("Entrega no encontrada: " + deliveryId.value()));
+            delivery.confirmDelivery();
+            Delivery updatedDelivery = deliveryRepository.save(delivery);
+            publicarEventos(delivery);
+            return updatedDelivery;
         });
-        return updatedDelivery;
     }
 
     @Override
+    @Transactional
     public Delivery iniciarEntrega(DeliveryId deliveryId) {
-        Delivery delivery = deliveryRepository.findById(deliveryId)
-                .orElseThrow(() -> new RuntimeException("Entrega no encontrada: " + deliveryId.value()));
-        delivery.startDelivery();
-        Delivery updatedDelivery = deliveryRepository.save(delivery);
-        updatedDelivery.getDomainEvents().forEach(event -> {
-            System.out.println("Domain event published: " + event.getClass().getSimpleName());
+        return iniciarEntregaTimer.record(() -> {
+            Delivery delivery = deliveryRepository.findById(deliveryId)
+                    .orElseThrow(() -> new RuntimeException("Entrega no encontrada: " + deliveryId.value()));
+            delivery.startDelivery();
+            Delivery updatedDelivery = deliveryRepository.save(delivery);
+            publicarEventos(delivery);
+            return updatedDelivery;
         });
-        return updatedDelivery;
     }
 
     @Override
+    @Transactional
     public Delivery completarEntrega(DeliveryId deliveryId) {
-        Delivery delivery = deliveryRepository.findById(deliveryId)
-                .orElseThrow(() -> new RuntimeException("Entrega no encontrada: " + deliveryId.value()));
-        delivery.completeDelivery();
-        Delivery updatedDelivery = deliveryRepository.save(delivery);
-        updatedDelivery.getDomainEvents().forEach(event -> {
-            System.out.println("Domain event published: " + event.getClass().getSimpleName());
+        return completarEntregaTimer.record(() -> {
+            Delivery delivery = deliveryRepository.findById(deliveryId)
+                    .orElseThrow(() -> new RuntimeException("Entrega no encontrada: " + deliveryId.value()));
+            delivery.completeDelivery();
+            Delivery updatedDelivery = deliveryRepository.save(delivery);
+            publicarEventos(delivery);
+            return updatedDelivery;
         });
-        return updatedDelivery;
     }
 
     @Override
+    @Transactional
     public Delivery cancelarEntrega(DeliveryId deliveryId) {
-        Delivery delivery = deliveryRepository.findById(deliveryId)
-                .orElseThrow(() -> new RuntimeException("Entrega no encontrada: " + deliveryId.value()));
-        delivery.cancelDelivery();
-        Delivery updatedDelivery = deliveryRepository.save(delivery);
-        updatedDelivery.getDomainEvents().forEach(event -> {
-            System.out.println("Domain event published: " + event.getClass().getSimpleName());
+        return cancelarEntregaTimer.record(() -> {
+            Delivery delivery = deliveryRepository.findById(deliveryId)
+                    .orElseThrow(() -> new RuntimeException("Entrega no encontrada: " + deliveryId.value()));
+            delivery.cancelDelivery();
+            Delivery updatedDelivery = deliveryRepository.save(delivery);
+            publicarEventos(delivery);
+            return updatedDelivery;
+        });
+    }
+
+    @Override
+    @Transactional
+    public List<TransitionedDelivery> aplicarTransicionMasiva(DeliveryTransition transition, DeliveryCriteria criteria,
+                                                              DeliveryDate scheduledDate) {
+        return transicionMasivaTimer.record(() -> {
+            if (criteria == null || criteria.isEmpty()) {
+                throw new IllegalArgumentException("Debe indicarse al menos un identificador o filtro de entregas");
+            }
+            if (transition == DeliveryTransition.SCHEDULE && scheduledDate == null) {
+                throw new IllegalArgumentException("Scheduled date cannot be null");
+            }
+            List<TransitionedDelivery> transitioned = deliveryRepository.applyTransition(
+                transition, criteria, scheduledDate != null ? scheduledDate.value() : null);
+            for (TransitionedDelivery delivery : transitioned) {
+                eventPublisher.publishEvent(new DeliveryStatusChangedEvent(
+                    delivery.deliveryId().value(),
+                    delivery.orderNumber(),
+                    delivery.previousStatus(),
+                    delivery.newStatus(),
+                    delivery.version()));
+            }
+            return transitioned;
         });
-        return updatedDelivery;
+    }
+
+    @Override
+    @Transactional
+    public Delivery asignarEntrega(DeliveryId deliveryId, RouteId routeId, DeliveryPersonId deliveryPersonId) {
+        return asignarEntregaTimer.record(() -> {
+            Delivery delivery = deliveryRepository.findById(deliveryId)
+                    .orElseThrow(() -> new RuntimeException("Entrega no encontrada: " + deliveryId.value()));
+            delivery.assign(routeId, deliveryPersonId);
+            Delivery updatedDelivery = deliveryRepository.save(delivery);
+            publicarEventos(delivery);
+            return updatedDelivery;
+        });
+    }
+
+    @Override
+    public DeliveryWorkList obtenerHojaDeRuta(RouteId routeId, Set<DeliveryStatus> statuses,
+                                              LocalDateTime from, LocalDateTime to, int page, int size) {
+        return hojaDeRutaTimer.record(() -> {
+            if (!from.isBefore(to)) {
+                throw new IllegalArgumentException("El inicio del intervalo debe ser anterior al fin");
+            }
+            return deliveryRepository.findRouteWorkList(routeId, statuses, from, to, page, size);
+        });
+    }
+
+    @Override
+    public DeliveryWorkList obtenerEntregasDeRepartidor(DeliveryPersonId deliveryPersonId, Set<DeliveryStatus> statuses,
+                                                        int page, int size) {
+        return entregasDeRepartidorTimer.record(() -> deliveryRepository.findCourierWorkList(deliveryPersonId, statuses, page, size));
+    }
+
+    /**
+     * Publica los eventos de dominio acumulados en la entrega y los limpia.
+     * Se usan los eventos del agregado en memoria, ya que la entrega devuelta
+     * por el repositorio se reconstruye desde la persistencia y no los conserva.
+     * Los cambios de estado se publican con la versión ya guardada de la entrega.
+     */
+    private void publicarEventos(Delivery delivery) {
+        delivery.getDomainEvents().forEach(event -> eventPublisher.publishEvent(
+            event instanceof DeliveryStatusChangedEvent changed ? changed.withVersion(delivery.getVersion()) : event));
+        delivery.clearDomainEvents();
     }
 
     public void eliminarEntrega(com.example.hexagonalorders.domain.model.valueobject.DeliveryId deliveryId) {
-        deliveryRepository.deleteById(deliveryId);
+        eliminarEntregaTimer.record(() -> deliveryRepository.deleteById(deliveryId));
     }
 
     @Override
     public Optional<Delivery> obtenerEntrega(DeliveryId deliveryId) {
-        return deliveryRepository.findById(deliveryId);
+        return obtenerEntregaTimer.record(() -> deliveryRepository.findById(deliveryId));
+    }
+
+    @Override
+    public Optional<Delivery> obtenerEntregaPorOrden(String orderNumber) {
+        return entregaPorOrdenTimer.record(() -> deliveryRepository.findIdByOrderNumber(orderNumber)
+                .flatMap(deliveryRepository::findById));
+    }
+
+    /**
+     * Indica si ya existe una entrega para la orden. Se resuelve normalmente desde
+     * la caché orden → entrega, sin consultar la base de datos.
+     *
+     * @param orderNumber el número de orden
+     * @return true si la orden ya tiene entrega
+     */
+    public boolean existeEntregaParaOrden(String orderNumber) {
+        return deliveryRepository.findIdByOrderNumber(orderNumber).isPresent();
     }
 
     @Override
-    public List<Delivery> obtenerTodasLasEntregas() {
-        return deliveryRepository.findAll();
+    public Optional<Long> obtenerVersionEntrega(DeliveryId deliveryId) {
+        return versionEntregaTimer.record(() -> deliveryRepository.findVersionById(deliveryId));
     }
 
     @Override
-    public List<Delivery> obtenerEntregasPorEstado(String status) {
-        try {
-            DeliveryStatus deliveryStatus = DeliveryStatus.valueOf(status.toUpperCase());
-            return deliveryRepository.findByStatus(deliveryStatus);
-        } catch (IllegalArgumentException e) {
-            throw new RuntimeException("Estado de entrega inválido: " + status);
-        }
-    }
-    
+    public DeliveryPage buscarEntregas(DeliveryFilter filter, String cursor, int limit) {
+        return buscarEntregasTimer.record(() -> {
+            if (limit < 1) {
+                throw new IllegalArgumentException("El tamaño de página debe ser positivo");
+            }
+            return deliveryRepository.findPage(filter != null ? filter : DeliveryFilter.none(), cursor, limit);
+        });
+    }
+
     /**
      * Crea una entrega a partir de un evento de confirmación de orden.
      * Este método es llamado por el consumidor de Kafka cuando una orden es confirmada.
@@ -148,38 +299,38 @@ public class DeliveryService implements DeliveryUseCase {
      */
     public Delivery createDeliveryFromOrder(String orderId, String street, String city, String postalCode, String country, 
                                           List<com.example.hexagonalorders.infrastructure.in.messaging.OrderEventConsumer.OrderItem> items) {
-        DeliveryId deliveryId = new DeliveryId(UUID.randomUUID().toString());
-        DeliveryAddress address = new DeliveryAddress(
-            street,
-            city,
-            "Estado Desconocido",
-            postalCode,
-            country
-        );
-        DeliveryDate scheduledDate = new DeliveryDate(LocalDateTime.now().plusDays(1));
-        // Mapear los items del evento a DeliveryItem
-        List<DeliveryItem> deliveryItems = new java.util.ArrayList<>();
-        if (items != null) {
-            for (com.example.hexagonalorders.infrastructure.in.messaging.OrderEventConsumer.OrderItem item : items) {
-                deliveryItems.add(new DeliveryItem(
-                    new ProductNumber(item.getProductNumber()),
-                    new Quantity(item.getQuantity())
-                ));
+        return entregaDesdeOrdenTimer.record(() -> {
+            DeliveryId deliveryId = deliveryIdGenerator.generate();
+            DeliveryAddress address = new DeliveryAddress(
+                street,
+                city,
+                "Estado Desconocido",
+                postalCode,
+                country
+            );
+            DeliveryDate scheduledDate = new DeliveryDate(LocalDateTime.now().plusDays(1));
+            // Mapear los items del evento a DeliveryItem
+            List<DeliveryItem> deliveryItems = new java.util.ArrayList<>();
+            if (items != null) {
+                for (com.example.hexagonalorders.infrastructure.in.messaging.OrderEventConsumer.OrderItem item : items) {
+                    deliveryItems.add(new DeliveryItem(
+                        new ProductNumber(item.getProductNumber()),
+                        new Quantity(item.getQuantity())
+                    ));
+                }
             }
-        }
-        Delivery delivery = new Delivery(
-            deliveryId,
-            orderId,
-            address,
-            scheduledDate,
-            DeliveryStatus.CREATED,
-            "Entrega creada desde orden confirmada: " + orderId,
-            deliveryItems
-        );
-        Delivery savedDelivery = deliveryRepository.save(delivery);
-        savedDelivery.getDomainEvents().forEach(event -> {
-            System.out.println("Evento de dominio publicado: " + event.getClass().getSimpleName());
+            Delivery delivery = new Delivery(
+                deliveryId,
+                orderId,
+                address,
+                scheduledDate,
+                DeliveryStatus.CREATED,
+                "Entrega creada desde orden confirmada: " + orderId,
+                deliveryItems
+            );
+            Delivery savedDelivery = deliveryRepository.save(delivery);
+            publicarEventos(delivery);
+            return savedDelivery;
         });
-        return savedDelivery;
     }
 } 
\ No newline at end of file
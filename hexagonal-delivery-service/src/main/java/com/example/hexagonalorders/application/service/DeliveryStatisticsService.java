@@ -0,0 +1,103 @@
+package com.example.hexagonalorders.application.service;
+
+import com.example.hexagonalorders.domain.event.DeliveryCreatedEvent;
+import com.example.hexagonalorders.domain.event.DeliveryStatusChangedEvent;
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.port.in.DeliveryStatisticsUseCase;
+import com.example.hexagonalorders.domain.port.out.DeliveryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servicio de aplicación que mantiene contadores en memoria de entregas por estado.
+ * 
+ * Los contadores se actualizan de forma incremental con los eventos de creación y
+ * cambio de estado, una vez confirmada la transacción que los produce, y se
+ * reconcilian periódicamente con una única consulta agrupada. La reconciliación
+ * corrige cualquier desviación (eliminaciones, otras instancias, reinicios).
+ * Cada contador se exporta como gauge delivery.status.count con la etiqueta status.
+ */
+@Service
+public class DeliveryStatisticsService implements DeliveryStatisticsUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(DeliveryStatisticsService.class);
+
+    private final DeliveryRepository deliveryRepository;
+    private final Map<DeliveryStatus, LongAdder> counters = new EnumMap<>(DeliveryStatus.class);
+    private volatile LocalDateTime lastReconciliation;
+
+    public DeliveryStatisticsService(DeliveryRepository deliveryRepository, MeterRegistry meterRegistry) {
+        this.deliveryRepository = deliveryRepository;
+        for (DeliveryStatus status : DeliveryStatus.values()) {
+            LongAdder counter = new LongAdder();
+            counters.put(status, counter);
+            Gauge.builder("delivery.status.count", counter, LongAdder::sum)
+                .description("Número de entregas por estado")
+                .tag("status", status.name())
+                .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Map<DeliveryStatus, Long> obtenerEntregasPorEstado() {
+        Map<DeliveryStatus, Long> snapshot = new EnumMap<>(DeliveryStatus.class);
+        counters.forEach((status, counter) -> snapshot.put(status, counter.sum()));
+        return snapshot;
+    }
+
+    @Override
+    public LocalDateTime obtenerUltimaReconciliacion() {
+        return lastReconciliation;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDeliveryCreated(DeliveryCreatedEvent event) {
+        counters.get(event.getStatus()).increment();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(DeliveryStatusChangedEvent event) {
+        if (event.getPreviousStatus() == event.getNewStatus()) {
+            return;
+        }
+        if (event.getPreviousStatus() != null) {
+            counters.get(event.getPreviousStatus()).decrement();
+        }
+        counters.get(event.getNewStatus()).increment();
+    }
+
+    /**
+     * Sustituye los contadores por los valores de la base de datos. Los eventos que
+     * lleguen durante la consulta pueden perderse; la siguiente reconciliación los corrige.
+     */
+    @Scheduled(initialDelayString = "${delivery.stats.initial-delay-ms:0}",
+               fixedDelayString = "${delivery.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            Map<DeliveryStatus, Long> persisted = deliveryRepository.countAllByStatus();
+            for (DeliveryStatus status : DeliveryStatus.values()) {
+                LongAdder counter = counters.get(status);
+                long expected = persisted.getOrDefault(status, 0L);
+                long drift = expected - counter.sum();
+                if (drift != 0) {
+                    counter.add(drift);
+                    log.debug("Contador de entregas {} corregido en {}", status, drift);
+                }
+            }
+            lastReconciliation = LocalDateTime.now();
+        } catch (Exception e) {
+            log.error("Error al reconciliar los contadores de entregas", e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.hexagonalorders.application.service;
+
+import com.example.hexagonalorders.domain.event.DeliveryOverdueEvent;
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.OverdueDelivery;
+import com.example.hexagonalorders.domain.model.SweepWatermark;
+import com.example.hexagonalorders.domain.port.out.DeliveryRepository;
+import com.example.hexagonalorders.domain.port.out.SweepWatermarkRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Proceso periódico que detecta entregas activas cuya fecha programada ha vencido.
+ * 
+ * Cada barrido solo examina la ventana (último barrido, ahora]: las entregas que han
+ * vencido desde la ejecución anterior. Para cada estado activo recorre esa ventana por
+ * bloques ordenados por (fecha programada, id) sobre el índice (status, scheduled_date),
+ * por lo que el coste depende de las entregas que vencen y no del total de activas.
+ * 
+ * La posición alcanzada se guarda por estado como marca de agua en la base de datos
+ * ({@link SweepWatermarkRepository}). Cada bloque se procesa en su propia transacción,
+ * que bloquea la marca, lee el bloque a continuación de ella, publica sus eventos
+ * DeliveryOverdueEvent y la avanza hasta la (fecha programada, id) de su última entrega;
+ * al agotar la ventana la marca pasa a ser su final. Los eventos se entregan tras el
+ * commit de cada bloque, así que la memoria y el trabajo de cada commit dependen del
+ * tamaño de bloque y no de la ventana, un fallo no reemite los bloques ya confirmados,
+ * un reinicio continúa desde el último bloque (sin importar cuánto duró la parada) y
+ * las réplicas se turnan en vez de emitir cada una su copia. Solo la primera vez que
+ * se barre un estado la ventana cubre el periodo configurado en
+ * delivery.overdue.initial-lookback-minutes.
+ */
+@Component
+public class OverdueDeliverySweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueDeliverySweeper.class);
+
+    private static final Set<DeliveryStatus> ACTIVE_STATUSES =
+        EnumSet.complementOf(EnumSet.of(DeliveryStatus.COMPLETED, DeliveryStatus.CANCELLED));
+
+    private static final String WATERMARK_PREFIX = "overdue-deliveries:";
+
+    private final DeliveryRepository deliveryRepository;
+    private final SweepWatermarkRepository watermarkRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long initialLookbackMinutes;
+    private final Counter overdueCounter;
+
+    public OverdueDeliverySweeper(DeliveryRepository deliveryRepository,
+                                  SweepWatermarkRepository watermarkRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${delivery.overdue.chunk-size:1000}") int chunkSize,
+                                  @Value("${delivery.overdue.initial-lookback-minutes:1440}") long initialLookbackMinutes) {
+        this.deliveryRepository = deliveryRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.initialLookbackMinutes = initialLookbackMinutes;
+        this.overdueCounter = Counter.builder("delivery.overdue.detected")
+            .description("Entregas activas detectadas como vencidas")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.overdue.sweep-interval-ms:60000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        long detected = 0;
+        for (DeliveryStatus status : ACTIVE_STATUSES) {
+            try {
+                detected += sweepWindow(status, now);
+            } catch (Exception e) {
+                // La marca de este estado queda en el último bloque confirmado: el siguiente barrido sigue desde ahí
+                log.error("Error al barrer entregas vencidas en estado {}", status, e);
+            }
+        }
+        if (detected > 0) {
+            log.info("Detectadas {} entregas vencidas", detected);
+        }
+    }
+
+    /**
+     * Barre la ventana (marca de agua, ahora] de un estado, un bloque por transacción.
+     */
+    private long sweepWindow(DeliveryStatus status, LocalDateTime now) {
+        long detected = 0;
+        while (true) {
+            SweptChunk chunk = transactionTemplate.execute(tx -> sweepChunk(status, now));
+            overdueCounter.increment(chunk.detected());
+            detected += chunk.detected();
+            if (chunk.windowComplete()) {
+                return detected;
+            }
+        }
+    }
+
+    /**
+     * Publica los eventos del bloque siguiente a la marca de agua del estado y la avanza
+     * hasta su última entrega, o hasta el final de la ventana si el bloque la agota,
+     * dentro de la transacción en curso.
+     */
+    private SweptChunk sweepChunk(DeliveryStatus status, LocalDateTime now) {
+        String name = WATERMARK_PREFIX + status.name();
+        SweepWatermark watermark = watermarkRepository.lock(name,
+            SweepWatermark.at(now.minusMinutes(initialLookbackMinutes)));
+        if (!watermark.watermark().isBefore(now)) {
+            return new SweptChunk(0, true);
+        }
+        OverdueDelivery after = watermark.lastKey() != null
+            ? new OverdueDelivery(watermark.lastKey(), null, status, watermark.watermark())
+            : null;
+        List<OverdueDelivery> chunk = deliveryRepository.findOverdue(status, watermark.watermark(), now, after, chunkSize);
+        for (OverdueDelivery delivery : chunk) {
+            eventPublisher.publishEvent(new DeliveryOverdueEvent(
+                delivery.deliveryId(),
+                delivery.orderNumber(),
+                delivery.status(),
+                delivery.scheduledDate()));
+        }
+        if (chunk.size() < chunkSize) {
+            watermarkRepository.advance(name, SweepWatermark.at(now));
+            return new SweptChunk(chunk.size(), true);
+        }
+        OverdueDelivery last = chunk.get(chunk.size() - 1);
+        watermarkRepository.advance(name, new SweepWatermark(last.scheduledDate(), last.deliveryId()));
+        return new SweptChunk(chunk.size(), false);
+    }
+
+    private record SweptChunk(long detected, boolean windowComplete) {
+    }
+}
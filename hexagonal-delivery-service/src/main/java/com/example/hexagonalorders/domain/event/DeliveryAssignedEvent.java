@@ -0,0 +1,38 @@
+package com.example.hexagonalorders.domain.event;
+
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryPersonId;
+import com.example.hexagonalorders.domain.model.valueobject.RouteId;
+
+/**
+ * Evento de dominio que se genera cuando una entrega se asigna a una ruta o a un repartidor.
+ * Este evento representa un hecho significativo en el dominio de entregas.
+ */
+public class DeliveryAssignedEvent extends DomainEvent {
+    private final String deliveryId;
+    private final String orderNumber;
+    private final RouteId routeId;
+    private final DeliveryPersonId deliveryPersonId;
+
+    public DeliveryAssignedEvent(String deliveryId, String orderNumber, RouteId routeId, DeliveryPersonId deliveryPersonId) {
+        this.deliveryId = deliveryId;
+        this.orderNumber = orderNumber;
+        this.routeId = routeId;
+        this.deliveryPersonId = deliveryPersonId;
+    }
+
+    public String getDeliveryId() {
+        return deliveryId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public RouteId getRouteId() {
+        return routeId;
+    }
+
+    public DeliveryPersonId getDeliveryPersonId() {
+        return deliveryPersonId;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.hexagonalorders.domain.event;
+
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de dominio que se genera cuando una entrega activa supera su fecha programada.
+ * Este evento representa un hecho significativo en el dominio de entregas.
+ */
+public class DeliveryOverdueEvent extends DomainEvent {
+    private final String deliveryId;
+    private final String orderNumber;
+    private final DeliveryStatus status;
+    private final LocalDateTime scheduledDate;
+
+    public DeliveryOverdueEvent(String deliveryId, String orderNumber, DeliveryStatus status, LocalDateTime scheduledDate) {
+        this.deliveryId = deliveryId;
+        this.orderNumber = orderNumber;
+        this.status = status;
+        this.scheduledDate = scheduledDate;
+    }
+
+    public String getDeliveryId() {
+        return deliveryId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public DeliveryStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getScheduledDate() {
+        return scheduledDate;
+    }
+}
@@ -4,20 +4,53 @@ import com.example.hexagonalorders.domain.model.DeliveryStatus;
 /**
  * Evento de dominio que se genera cuando cambia el estado de una entrega.
  * Este evento representa un hecho significativo en el dominio de entregas.
+ * 
+ * La versión es la de la entrega una vez guardado el cambio. El agregado genera el
+ * evento antes de guardarse, sin versión; el servicio la asigna con withVersion
+ * antes de publicarlo.
  */
 public class DeliveryStatusChangedEvent extends DomainEvent {
     private final String deliveryId;
+    private final String orderNumber;
+    private final DeliveryStatus previousStatus;
     private final DeliveryStatus newStatus;
+    private final Long version;
 
-    public DeliveryStatusChangedEvent(String deliveryId, DeliveryStatus newStatus) {
+    public DeliveryStatusChangedEvent(String deliveryId, String orderNumber,
+                                      DeliveryStatus previousStatus, DeliveryStatus newStatus) {
+        this(deliveryId, orderNumber, previousStatus, newStatus, null);
+    }
+
+    public DeliveryStatusChangedEvent(String deliveryId, String orderNumber,
+                                      DeliveryStatus previousStatus, DeliveryStatus newStatus, Long version) {
         this.deliveryId = deliveryId;
+        this.orderNumber = orderNumber;
+        this.previousStatus = previousStatus;
         this.newStatus = newStatus;
+        this.version = version;
+    }
+
+    /**
+     * Devuelve el mismo cambio de estado con la versión guardada de la entrega.
+     */
+    public DeliveryStatusChangedEvent withVersion(Long version) {
+        return new DeliveryStatusChangedEvent(deliveryId, orderNumber, previousStatus, newStatus, version);
     }
 
     public String getDeliveryId() {
         return deliveryId;
     }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+    public DeliveryStatus getPreviousStatus() {
+        return previousStatus;
+    }
     public DeliveryStatus getNewStatus() {
         return newStatus;
     }
+    public Long getVersion() {
+        return version;
+    }
 } 
\ No newline at end of file
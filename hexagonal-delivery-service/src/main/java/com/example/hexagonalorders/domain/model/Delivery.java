@@ -7,6 +7,9 @@ import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryAddress;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryDate;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryItem;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryPersonId;
+import com.example.hexagonalorders.domain.model.valueobject.RouteId;
+import com.example.hexagonalorders.domain.event.DeliveryAssignedEvent;
 
 
 import java.time.LocalDateTime;
@@ -24,6 +27,7 @@ import java.util.List;
  * - Scheduled delivery date
  * - Current delivery status
  * - Delivery notes
+ * - Optional route and courier assignment
  * - Domain events
  */
 public class Delivery {
@@ -33,11 +37,24 @@ public class Delivery {
     private DeliveryDate scheduledDate;
     private DeliveryStatus status;
     private String deliveryNotes;
-    private final List<DomainEvent> domainEvents = new ArrayList<>();
+    private RouteId routeId;
+    private DeliveryPersonId deliveryPersonId;
+    private Long version;
+    // Se reserva con el primer evento; las entregas reconstruidas normalmente no generan ninguno
+    private List<DomainEvent> domainEvents;
     private final List<DeliveryItem> items;
 
     public Delivery(DeliveryId deliveryId, String orderNumber, DeliveryAddress deliveryAddress, 
                    DeliveryDate scheduledDate, DeliveryStatus status, String deliveryNotes, List<DeliveryItem> items) {
+        this(deliveryId, orderNumber, deliveryAddress, scheduledDate, status, deliveryNotes,
+             items != null ? new ArrayList<>(items) : null, null, null, null);
+        // Add evento de dominio para la creación de la entrega
+        raise(new DeliveryCreatedEvent(deliveryId.value(), orderNumber, status));
+    }
+
+    private Delivery(DeliveryId deliveryId, String orderNumber, DeliveryAddress deliveryAddress,
+                     DeliveryDate scheduledDate, DeliveryStatus status, String deliveryNotes,
+                     List<DeliveryItem> items, RouteId routeId, DeliveryPersonId deliveryPersonId, Long version) {
         if (deliveryId == null) {
             throw new IllegalArgumentException("Delivery ID cannot be null");
         }
@@ -62,9 +79,23 @@ public class Delivery {
         this.scheduledDate = scheduledDate;
         this.status = status;
         this.deliveryNotes = deliveryNotes;
-        this.items = new ArrayList<>(items);
-        // Add evento de dominio para la creación de la entrega
-        domainEvents.add(new DeliveryCreatedEvent(deliveryId.value(), orderNumber));
+        this.items = items;
+        this.routeId = routeId;
+        this.deliveryPersonId = deliveryPersonId;
+        this.version = version;
+    }
+
+    /**
+     * Reconstruye una entrega existente (por ejemplo, desde persistencia).
+     * No es una creación: no genera DeliveryCreatedEvent ni aplica reglas de negocio;
+     * la fecha debe construirse con DeliveryDate.fromPersisted y la lista de ítems se adopta sin copiarla.
+     */
+    public static Delivery rehydrate(DeliveryId deliveryId, String orderNumber, DeliveryAddress deliveryAddress,
+                                     DeliveryDate scheduledDate, DeliveryStatus status, String deliveryNotes,
+                                     List<DeliveryItem> items, RouteId routeId,
+                                     DeliveryPersonId deliveryPersonId, Long version) {
+        return new Delivery(deliveryId, orderNumber, deliveryAddress, scheduledDate, status,
+                            deliveryNotes, items, routeId, deliveryPersonId, version);
     }
 
     // Getters
@@ -90,12 +121,39 @@ public class Delivery {
         return deliveryNotes;
     }
 
+    public RouteId getRouteId() {
+        return routeId;
+    }
+
+    public DeliveryPersonId getDeliveryPersonId() {
+        return deliveryPersonId;
+    }
+
+    /**
+     * Versión de persistencia de la entrega, usada para el bloqueo optimista.
+     * Es nula hasta que la entrega se guarda por primera vez.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<DomainEvent> getDomainEvents() {
-        return Collections.unmodifiableList(domainEvents);
+        return domainEvents == null ? List.of() : Collections.unmodifiableList(domainEvents);
     }
 
     public void clearDomainEvents() {
-        domainEvents.clear();
+        domainEvents = null;
+    }
+
+    private void raise(DomainEvent event) {
+        if (domainEvents == null) {
+            domainEvents = new ArrayList<>(2);
+        }
+        domainEvents.add(event);
     }
 
     public List<DeliveryItem> getItems() {
@@ -110,14 +168,15 @@ public class Delivery {
             throw new IllegalArgumentException("Scheduled date cannot be null");
         }
         
-        if (status == DeliveryStatus.CANCELLED) {
+        if (!DeliveryTransition.SCHEDULE.isAllowedFrom(status)) {
             throw new IllegalStateException("Cannot schedule a cancelled delivery");
         }
         
         this.scheduledDate = newScheduledDate;
-        this.status = DeliveryStatus.SCHEDULED;
+        DeliveryStatus previousStatus = this.status;
+        this.status = DeliveryTransition.SCHEDULE.getTargetStatus();
         
-        domainEvents.add(new DeliveryStatusChangedEvent(deliveryId.value(), status));
+        raise(new DeliveryStatusChangedEvent(deliveryId.value(), orderNumber, previousStatus, status));
     }
 
     /**
@@ -125,12 +184,13 @@ public class Delivery {
      * Representa la acción de confirmar la preparación de la entrega.
      */
     public void confirmDelivery() {
-        if (status == DeliveryStatus.CANCELLED) {
+        if (!DeliveryTransition.CONFIRM.isAllowedFrom(status)) {
             throw new IllegalStateException("Cannot confirm a cancelled delivery");
         }
         
-        this.status = DeliveryStatus.CONFIRMED;
-        domainEvents.add(new DeliveryStatusChangedEvent(deliveryId.value(), status));
+        DeliveryStatus previousStatus = this.status;
+        this.status = DeliveryTransition.CONFIRM.getTargetStatus();
+        raise(new DeliveryStatusChangedEvent(deliveryId.value(), orderNumber, previousStatus, status));
     }
 
     /**
@@ -138,12 +198,13 @@ public class Delivery {
      * Representa la acción de iniciar el proceso de entrega.
      */
     public void startDelivery() {
-        if (status != DeliveryStatus.CONFIRMED) {
+        if (!DeliveryTransition.START.isAllowedFrom(status)) {
             throw new IllegalStateException("Delivery must be confirmed before starting");
         }
         
-        this.status = DeliveryStatus.IN_TRANSIT;
-        domainEvents.add(new DeliveryStatusChangedEvent(deliveryId.value(), status));
+        DeliveryStatus previousStatus = this.status;
+        this.status = DeliveryTransition.START.getTargetStatus();
+        raise(new DeliveryStatusChangedEvent(deliveryId.value(), orderNumber, previousStatus, status));
     }
 
     /**
@@ -151,12 +212,13 @@ public class Delivery {
          * This represents the business action of completing the delivery.
      */
     public void completeDelivery() {
-        if (status != DeliveryStatus.IN_TRANSIT) {
+        if (!DeliveryTransition.COMPLETE.isAllowedFrom(status)) {
             throw new IllegalStateException("Delivery must be in transit before completing");
         }
         
-        this.status = DeliveryStatus.COMPLETED;
-        domainEvents.add(new DeliveryStatusChangedEvent(deliveryId.value(), status));
+        DeliveryStatus previousStatus = this.status;
+        this.status = DeliveryTransition.COMPLETE.getTargetStatus();
+        raise(new DeliveryStatusChangedEvent(deliveryId.value(), orderNumber, previousStatus, status));
     }
 
     /**
@@ -164,12 +226,34 @@ public class Delivery {
          * This represents the business action of cancelling a delivery.
      */
     public void cancelDelivery() {
-        if (status == DeliveryStatus.COMPLETED) {
+        if (!DeliveryTransition.CANCEL.isAllowedFrom(status)) {
             throw new IllegalStateException("Cannot cancel a completed delivery");
         }
         
-        this.status = DeliveryStatus.CANCELLED;
-        domainEvents.add(new DeliveryStatusChangedEvent(deliveryId.value(), status));
+        DeliveryStatus previousStatus = this.status;
+        this.status = DeliveryTransition.CANCEL.getTargetStatus();
+        raise(new DeliveryStatusChangedEvent(deliveryId.value(), orderNumber, previousStatus, status));
+    }
+
+    /**
+     * Asigna la entrega a una ruta y/o a un repartidor.
+     * Representa la acción de planificar quién y en qué ruta realiza la entrega.
+     * Los valores nulos mantienen la asignación actual.
+     */
+    public void assign(RouteId newRouteId, DeliveryPersonId newDeliveryPersonId) {
+        if (newRouteId == null && newDeliveryPersonId == null) {
+            throw new IllegalArgumentException("Route or delivery person must be provided");
+        }
+        if (!isActive()) {
+            throw new IllegalStateException("Cannot assign a completed or cancelled delivery");
+        }
+        if (newRouteId != null) {
+            this.routeId = newRouteId;
+        }
+        if (newDeliveryPersonId != null) {
+            this.deliveryPersonId = newDeliveryPersonId;
+        }
+        raise(new DeliveryAssignedEvent(deliveryId.value(), orderNumber, routeId, deliveryPersonId));
     }
 
     /**
@@ -0,0 +1,27 @@
+package com.example.hexagonalorders.domain.model;
+
+import java.util.List;
+
+/**
+ * Criterio de selección de entregas para operaciones en bloque.
+ * Los campos nulos no filtran; los filtros informados se combinan con AND.
+ *
+ * @param deliveryIds identificadores concretos de entrega
+ * @param routeId ruta asignada
+ * @param deliveryPersonId repartidor asignado
+ * @param status estado actual
+ */
+public record DeliveryCriteria(List<String> deliveryIds, String routeId, String deliveryPersonId, DeliveryStatus status) {
+
+    public DeliveryCriteria {
+        deliveryIds = deliveryIds == null ? null : List.copyOf(deliveryIds);
+    }
+
+    /**
+     * Indica si el criterio no restringe ninguna entrega.
+     */
+    public boolean isEmpty() {
+        return (deliveryIds == null || deliveryIds.isEmpty())
+            && routeId == null && deliveryPersonId == null && status == null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.hexagonalorders.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Filtro para el listado de entregas.
+ * Los campos nulos no filtran; los filtros informados se combinan con AND.
+ *
+ * @param statuses estados admitidos
+ * @param orderNumber número de orden
+ * @param scheduledFrom inicio de la fecha programada (inclusivo)
+ * @param scheduledTo fin de la fecha programada (exclusivo)
+ * @param city ciudad de entrega
+ * @param postalCode código postal de entrega
+ */
+public record DeliveryFilter(Set<DeliveryStatus> statuses,
+                             String orderNumber,
+                             LocalDateTime scheduledFrom,
+                             LocalDateTime scheduledTo,
+                             String city,
+                             String postalCode) {
+
+    public DeliveryFilter {
+        statuses = statuses == null || statuses.isEmpty() ? null : Set.copyOf(statuses);
+        if (scheduledFrom != null && scheduledTo != null && !scheduledFrom.isBefore(scheduledTo)) {
+            throw new IllegalArgumentException("El inicio del intervalo debe ser anterior al fin");
+        }
+    }
+
+    /**
+     * Filtro que no restringe ninguna entrega.
+     */
+    public static DeliveryFilter none() {
+        return new DeliveryFilter(null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.hexagonalorders.domain.model;
+
+import java.util.List;
+
+/**
+ * Página de un listado de entregas paginado por cursor.
+ *
+ * @param items las entregas de la página
+ * @param nextCursor cursor opaco para pedir la página siguiente, o null si es la última
+ */
+public record DeliveryPage(List<Delivery> items, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.hexagonalorders.domain.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Transiciones de la máquina de estados de una entrega.
+ * Cada transición conoce su estado destino y los estados desde los que está permitida,
+ * de modo que la misma regla se aplica al agregado y a las actualizaciones en bloque.
+ */
+public enum DeliveryTransition {
+    SCHEDULE(DeliveryStatus.SCHEDULED, EnumSet.complementOf(EnumSet.of(DeliveryStatus.CANCELLED))),
+    CONFIRM(DeliveryStatus.CONFIRMED, EnumSet.complementOf(EnumSet.of(DeliveryStatus.CANCELLED))),
+    START(DeliveryStatus.IN_TRANSIT, EnumSet.of(DeliveryStatus.CONFIRMED)),
+    COMPLETE(DeliveryStatus.COMPLETED, EnumSet.of(DeliveryStatus.IN_TRANSIT)),
+    CANCEL(DeliveryStatus.CANCELLED, EnumSet.complementOf(EnumSet.of(DeliveryStatus.COMPLETED)));
+
+    private final DeliveryStatus targetStatus;
+    private final Set<DeliveryStatus> allowedFrom;
+
+    DeliveryTransition(DeliveryStatus targetStatus, Set<DeliveryStatus> allowedFrom) {
+        this.targetStatus = targetStatus;
+        this.allowedFrom = allowedFrom;
+    }
+
+    public DeliveryStatus getTargetStatus() {
+        return targetStatus;
+    }
+
+    /**
+     * Estados desde los que se permite la transición.
+     */
+    public Set<DeliveryStatus> getAllowedFrom() {
+        return EnumSet.copyOf(allowedFrom);
+    }
+
+    public boolean isAllowedFrom(DeliveryStatus status) {
+        return allowedFrom.contains(status);
+    }
+}
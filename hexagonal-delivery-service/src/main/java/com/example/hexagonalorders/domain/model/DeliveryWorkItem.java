@@ -0,0 +1,19 @@
+package com.example.hexagonalorders.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Elemento de una hoja de trabajo de ruta o repartidor.
+ * Es una proyección de solo lectura: contiene lo necesario para planificar y
+ * realizar la entrega, sin reconstruir el agregado ni sus ítems.
+ */
+public record DeliveryWorkItem(String deliveryId,
+                               String orderNumber,
+                               DeliveryStatus status,
+                               LocalDateTime scheduledDate,
+                               String street,
+                               String city,
+                               String postalCode,
+                               String routeId,
+                               String deliveryPersonId) {
+}
@@ -0,0 +1,14 @@
+package com.example.hexagonalorders.domain.model;
+
+import java.util.List;
+
+/**
+ * Página de una hoja de trabajo de entregas.
+ *
+ * @param items los elementos de la página
+ * @param page el número de página (desde 0)
+ * @param size el tamaño de página solicitado
+ * @param hasNext si existen más elementos tras esta página
+ */
+public record DeliveryWorkList(List<DeliveryWorkItem> items, int page, int size, boolean hasNext) {
+}
@@ -0,0 +1,15 @@
+package com.example.hexagonalorders.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vista ligera de una entrega vencida: solo los datos necesarios para notificar el
+ * vencimiento, sin reconstruir el agregado ni sus ítems.
+ *
+ * @param deliveryId el identificador de la entrega
+ * @param orderNumber la orden asociada
+ * @param status el estado actual
+ * @param scheduledDate la fecha programada ya vencida
+ */
+public record OverdueDelivery(String deliveryId, String orderNumber, DeliveryStatus status, LocalDateTime scheduledDate) {
+}
@@ -0,0 +1,18 @@
+package com.example.hexagonalorders.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Posición hasta la que un proceso periódico ha trabajado sobre un recorrido ordenado
+ * por (instante, clave). Sin clave, todo lo anterior o igual al instante está hecho;
+ * con clave, solo lo que en ese mismo instante ordena hasta la clave incluida.
+ *
+ * @param watermark el instante alcanzado
+ * @param lastKey la última clave procesada en ese instante, o null
+ */
+public record SweepWatermark(LocalDateTime watermark, String lastKey) {
+
+    public static SweepWatermark at(LocalDateTime watermark) {
+        return new SweepWatermark(watermark, null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.hexagonalorders.domain.model;
+
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
+
+/**
+ * Resultado de aplicar una transición en bloque a una entrega concreta.
+ *
+ * @param deliveryId la entrega modificada
+ * @param orderNumber la orden asociada
+ * @param previousStatus el estado antes de la transición
+ * @param newStatus el estado tras la transición
+ * @param version la versión de la entrega tras la transición
+ */
+public record TransitionedDelivery(DeliveryId deliveryId, String orderNumber,
+                                   DeliveryStatus previousStatus, DeliveryStatus newStatus, long version) {
+}
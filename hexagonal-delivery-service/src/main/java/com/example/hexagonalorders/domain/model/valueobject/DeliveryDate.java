@@ -23,6 +23,21 @@ public class DeliveryDate {
         this.value = value;
     }
 
+    private DeliveryDate(LocalDateTime value, boolean persisted) {
+        this.value = value;
+    }
+
+    /**
+     * Reconstruye una fecha ya persistida. No aplica la regla de "no en el pasado",
+     * que solo tiene sentido al programar: una entrega guardada puede haber vencido.
+     */
+    public static DeliveryDate fromPersisted(LocalDateTime value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Delivery date cannot be null");
+        }
+        return new DeliveryDate(value, true);
+    }
+
     public LocalDateTime value() {
         return value;
     }
@@ -0,0 +1,27 @@
+package com.example.hexagonalorders.domain.port.in;
+
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Puerto de entrada para consultar estadísticas agregadas de entregas.
+ * Las lecturas no dependen del número de entregas almacenadas.
+ */
+public interface DeliveryStatisticsUseCase {
+
+    /**
+     * Recupera el número de entregas en cada estado.
+     * 
+     * @return un mapa con todos los estados, incluidos los que no tienen entregas
+     */
+    Map<DeliveryStatus, Long> obtenerEntregasPorEstado();
+
+    /**
+     * Momento de la última reconciliación de los contadores con la base de datos.
+     * 
+     * @return la fecha de la última reconciliación, o null si aún no se ha hecho
+     */
+    LocalDateTime obtenerUltimaReconciliacion();
+}
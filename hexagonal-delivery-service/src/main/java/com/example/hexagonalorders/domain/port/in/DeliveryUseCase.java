@@ -1,11 +1,22 @@
 package com.example.hexagonalorders.domain.port.in;
 
 import com.example.hexagonalorders.domain.model.Delivery;
+import com.example.hexagonalorders.domain.model.DeliveryCriteria;
+import com.example.hexagonalorders.domain.model.DeliveryFilter;
+import com.example.hexagonalorders.domain.model.DeliveryPage;
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.DeliveryTransition;
+import com.example.hexagonalorders.domain.model.DeliveryWorkList;
+import com.example.hexagonalorders.domain.model.TransitionedDelivery;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryDate;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryPersonId;
+import com.example.hexagonalorders.domain.model.valueobject.RouteId;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Puerto de entrada que define el contrato para las operaciones de entrega.
@@ -69,6 +80,57 @@ public interface DeliveryUseCase {
      */
     Delivery cancelarEntrega(DeliveryId deliveryId);
 
+    /**
+     * Aplica una misma transición de estado a un conjunto de entregas.
+     * Esta acción representa, por ejemplo, poner en tránsito todas las entregas de una ruta.
+     * Las entregas cuyo estado no permite la transición se ignoran.
+     * 
+     * @param transition la transición a aplicar
+     * @param criteria las entregas afectadas (identificadores o filtro)
+     * @param scheduledDate la nueva fecha programada (solo requerida para SCHEDULE)
+     * @return las entregas modificadas
+     */
+    List<TransitionedDelivery> aplicarTransicionMasiva(DeliveryTransition transition, DeliveryCriteria criteria,
+                                                       DeliveryDate scheduledDate);
+
+    /**
+     * Asigna una entrega a una ruta y/o a un repartidor.
+     * Esta acción representa la acción de negocio de planificar el reparto.
+     * 
+     * @param deliveryId el identificador de la entrega
+     * @param routeId la ruta asignada (null para conservar la actual)
+     * @param deliveryPersonId el repartidor asignado (null para conservar el actual)
+     * @return la entrega actualizada
+     */
+    Delivery asignarEntrega(DeliveryId deliveryId, RouteId routeId, DeliveryPersonId deliveryPersonId);
+
+    /**
+     * Recupera una página de la hoja de ruta: las entregas de una ruta en los estados
+     * indicados y programadas dentro del intervalo [from, to).
+     * 
+     * @param routeId la ruta
+     * @param statuses los estados a incluir
+     * @param from inicio del intervalo (inclusivo)
+     * @param to fin del intervalo (exclusivo)
+     * @param page el número de página (desde 0)
+     * @param size el tamaño de página
+     * @return la página de la hoja de ruta
+     */
+    DeliveryWorkList obtenerHojaDeRuta(RouteId routeId, Set<DeliveryStatus> statuses,
+                                       LocalDateTime from, LocalDateTime to, int page, int size);
+
+    /**
+     * Recupera una página de las entregas asignadas a un repartidor en los estados indicados.
+     * 
+     * @param deliveryPersonId el repartidor
+     * @param statuses los estados a incluir
+     * @param page el número de página (desde 0)
+     * @param size el tamaño de página
+     * @return la página de entregas del repartidor
+     */
+    DeliveryWorkList obtenerEntregasDeRepartidor(DeliveryPersonId deliveryPersonId, Set<DeliveryStatus> statuses,
+                                                 int page, int size);
+
     /**
      * Recupera una entrega por su identificador.
      * 
@@ -78,17 +140,28 @@ public interface DeliveryUseCase {
     Optional<Delivery> obtenerEntrega(DeliveryId deliveryId);
 
     /**
-     * Recupera todas las entregas.
+     * Recupera la entrega asociada a una orden.
      * 
-     * @return lista de todas las entregas
+     * @param orderNumber el número de orden
+     * @return la entrega si existe
+     */
+    Optional<Delivery> obtenerEntregaPorOrden(String orderNumber);
+
+    /**
+     * Recupera la versión actual de una entrega, usada para lecturas condicionales.
+     * 
+     * @param deliveryId el identificador de la entrega
+     * @return la versión si la entrega existe
      */
-    List<Delivery> obtenerTodasLasEntregas();
+    Optional<Long> obtenerVersionEntrega(DeliveryId deliveryId);
 
     /**
-     * Recupera entregas por estado.
+     * Busca entregas que cumplen un filtro, paginadas por cursor.
      * 
-     * @param status el estado de la entrega por el que filtrar
-     * @return lista de entregas con el estado especificado
+     * @param filter el filtro a aplicar
+     * @param cursor el cursor de la página anterior, o null para la primera
+     * @param limit el tamaño de página
+     * @return la página de entregas
      */
-    List<Delivery> obtenerEntregasPorEstado(String status);
+    DeliveryPage buscarEntregas(DeliveryFilter filter, String cursor, int limit);
 } 
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.hexagonalorders.domain.port.out;
+
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
+
+/**
+ * Puerto de salida para la generación de identificadores de entrega.
+ * La capa adaptadora decide la estrategia (UUID aleatorio, ordenado por tiempo, etc.).
+ */
+public interface DeliveryIdGenerator {
+    DeliveryId generate();
+}
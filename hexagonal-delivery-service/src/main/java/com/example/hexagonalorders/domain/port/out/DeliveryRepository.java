@@ -1,10 +1,22 @@
 package com.example.hexagonalorders.domain.port.out;
 
 import com.example.hexagonalorders.domain.model.Delivery;
+import com.example.hexagonalorders.domain.model.DeliveryCriteria;
 import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.DeliveryFilter;
+import com.example.hexagonalorders.domain.model.DeliveryPage;
+import com.example.hexagonalorders.domain.model.DeliveryTransition;
+import com.example.hexagonalorders.domain.model.DeliveryWorkList;
+import com.example.hexagonalorders.domain.model.OverdueDelivery;
+import com.example.hexagonalorders.domain.model.TransitionedDelivery;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryPersonId;
+import com.example.hexagonalorders.domain.model.valueobject.RouteId;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Puerto de salida que define el contrato para las operaciones de persistencia de entregas.
@@ -29,6 +41,14 @@ public interface DeliveryRepository {
      */
     Optional<Delivery> findById(DeliveryId deliveryId);
     
+    /**
+     * Obtiene la versión actual de una entrega sin cargar el agregado completo.
+     * 
+     * @param deliveryId el identificador de la entrega
+     * @return la versión si la entrega existe
+     */
+    Optional<Long> findVersionById(DeliveryId deliveryId);
+    
     /**
      * Busca todas las entregas.
      * 
@@ -44,6 +64,87 @@ public interface DeliveryRepository {
      */
     List<Delivery> findByStatus(DeliveryStatus status);
     
+    /**
+     * Obtiene el identificador de la entrega asociada a una orden.
+     * 
+     * @param orderNumber el número de orden
+     * @return el identificador de la entrega si existe
+     */
+    Optional<DeliveryId> findIdByOrderNumber(String orderNumber);
+    
+    /**
+     * Obtiene una página de entregas que cumplen el filtro, ordenadas de forma estable.
+     * La paginación es por cursor (keyset), por lo que el coste no crece con la página.
+     * 
+     * @param filter el filtro a aplicar
+     * @param cursor el cursor devuelto por la página anterior, o null para la primera
+     * @param limit el número máximo de entregas a devolver
+     * @return la página de entregas
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    DeliveryPage findPage(DeliveryFilter filter, String cursor, int limit);
+    
+    /**
+     * Obtiene una página de la hoja de trabajo de una ruta.
+     * 
+     * @param routeId la ruta
+     * @param statuses los estados a incluir
+     * @param from inicio del intervalo de fecha programada (inclusivo)
+     * @param to fin del intervalo de fecha programada (exclusivo)
+     * @param page el número de página (desde 0)
+     * @param size el tamaño de página
+     * @return la página de la hoja de trabajo
+     */
+    DeliveryWorkList findRouteWorkList(RouteId routeId, Set<DeliveryStatus> statuses,
+                                       LocalDateTime from, LocalDateTime to, int page, int size);
+    
+    /**
+     * Obtiene una página de la hoja de trabajo de un repartidor.
+     * 
+     * @param deliveryPersonId el repartidor
+     * @param statuses los estados a incluir
+     * @param page el número de página (desde 0)
+     * @param size el tamaño de página
+     * @return la página de la hoja de trabajo
+     */
+    DeliveryWorkList findCourierWorkList(DeliveryPersonId deliveryPersonId, Set<DeliveryStatus> statuses,
+                                         int page, int size);
+    
+    /**
+     * Cuenta las entregas de cada estado con una única consulta agrupada.
+     * 
+     * @return el número de entregas por estado; los estados sin entregas no aparecen
+     */
+    Map<DeliveryStatus, Long> countAllByStatus();
+    
+    /**
+     * Aplica una transición de estado en bloque a las entregas que cumplen el criterio.
+     * Solo se modifican las entregas cuyo estado actual permite la transición; el resto
+     * se ignora. La operación no hidrata los agregados.
+     * 
+     * @param transition la transición a aplicar
+     * @param criteria el criterio de selección de entregas
+     * @param scheduledDate la nueva fecha programada (solo para SCHEDULE)
+     * @return las entregas modificadas con su estado anterior y su nueva versión
+     */
+    List<TransitionedDelivery> applyTransition(DeliveryTransition transition, DeliveryCriteria criteria,
+                                               LocalDateTime scheduledDate);
+    
+    /**
+     * Obtiene un bloque de entregas en un estado cuyo vencimiento cae en el intervalo (from, to].
+     * Los resultados se ordenan por fecha programada e identificador y se paginan por keyset:
+     * para el siguiente bloque se pasa la última entrega del anterior.
+     * 
+     * @param status el estado de las entregas
+     * @param from inicio del intervalo (exclusivo)
+     * @param to fin del intervalo (inclusivo)
+     * @param after la última entrega del bloque anterior, o null para el primero
+     * @param limit el tamaño máximo del bloque
+     * @return las entregas vencidas del bloque
+     */
+    List<OverdueDelivery> findOverdue(DeliveryStatus status, LocalDateTime from, LocalDateTime to,
+                                      OverdueDelivery after, int limit);
+    
     /**
      * Elimina una entrega por su identificador.
      * 
@@ -0,0 +1,31 @@
+package com.example.hexagonalorders.domain.port.out;
+
+import com.example.hexagonalorders.domain.model.SweepWatermark;
+
+/**
+ * Puerto de salida para las marcas de agua de los procesos periódicos.
+ * Una marca de agua es la posición hasta la que un proceso ya ha trabajado; se
+ * guarda en la base de datos para que sobreviva a reinicios y se comparta entre
+ * réplicas.
+ */
+public interface SweepWatermarkRepository {
+
+    /**
+     * Bloquea la marca de agua hasta el final de la transacción en curso y la devuelve.
+     * Si aún no existe, se crea con el valor inicial indicado. Otra transacción que
+     * intente bloquear la misma marca espera a que esta termine.
+     *
+     * @param name nombre de la marca de agua
+     * @param initial valor a usar si la marca no existe todavía
+     * @return el valor actual de la marca de agua
+     */
+    SweepWatermark lock(String name, SweepWatermark initial);
+
+    /**
+     * Actualiza una marca de agua bloqueada en la transacción en curso.
+     *
+     * @param name nombre de la marca de agua
+     * @param watermark nuevo valor
+     */
+    void advance(String name, SweepWatermark watermark);
+}
@@ -2,7 +2,10 @@ package com.example.hexagonalorders.infrastructure.config;
 
 import com.example.hexagonalorders.application.service.DeliveryService;
 import com.example.hexagonalorders.domain.port.in.DeliveryUseCase;
+import com.example.hexagonalorders.domain.port.out.DeliveryIdGenerator;
 import com.example.hexagonalorders.domain.port.out.DeliveryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -17,8 +20,11 @@ public class DeliveryConfiguration {
      * Configuración de la inyección de dependencias para el caso de uso de entrega.
      */
     @Bean
-    public DeliveryUseCase deliveryUseCase(DeliveryRepository deliveryRepository) {
-        return new DeliveryService(deliveryRepository);
+    public DeliveryUseCase deliveryUseCase(DeliveryRepository deliveryRepository,
+                                           ApplicationEventPublisher eventPublisher,
+                                           DeliveryIdGenerator deliveryIdGenerator,
+                                           MeterRegistry meterRegistry) {
+        return new DeliveryService(deliveryRepository, eventPublisher, deliveryIdGenerator, meterRegistry);
     }
     
 
@@ -1,5 +1,6 @@
 package com.example.hexagonalorders.infrastructure.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,6 +9,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -26,8 +28,11 @@ public class KafkaConfiguration {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${delivery.consumer.concurrency.initial:3}")
+    private int initialConcurrency;
+
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
+    public ConsumerFactory<String, String> consumerFactory(MeterRegistry meterRegistry) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
@@ -36,16 +41,26 @@ public class KafkaConfiguration {
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
         props.put(ConsumerConfig.AUTO_COMMIT_INTERVAL_MS_CONFIG, 1000);
+        // Solo se entregan registros de transacciones confirmadas; los no transaccionales no cambian
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
         
-        return new DefaultKafkaConsumerFactory<>(props);
+        DefaultKafkaConsumerFactory<String, String> factory = new DefaultKafkaConsumerFactory<>(props);
+        // Publica las métricas del cliente, entre ellas el lag por partición
+        // (kafka_consumer_fetch_manager_records_lag{topic, partition})
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory(
+            ConsumerFactory<String, String> consumerFactory) {
         ConcurrentKafkaListenerContainerFactory<String, String> factory = 
             new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
-        factory.setConcurrency(3); // Número de consumidores concurrentes
+        factory.setConsumerFactory(consumerFactory);
+        // Número inicial de consumidores; AdaptiveConsumerController lo ajusta después
+        factory.setConcurrency(initialConcurrency);
+        // Restaura la traza de las cabeceras del registro y abre un span de consumo
+        factory.getContainerProperties().setObservationEnabled(true);
         return factory;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.example.hexagonalorders.infrastructure.diagnostics;
+
+import jdk.jfr.Event;
+
+import java.util.List;
+
+/**
+ * Eventos JFR propios de este servicio. Los comparten el endpoint de grabación y
+ * el puente de métricas para que ambos habiliten el mismo conjunto.
+ */
+final class JfrEventTypes {
+
+    static final List<Class<? extends Event>> ALL = List.of(
+        OrderEventConsumeJfrEvent.class,
+        MapperJfrEvent.class
+    );
+
+    private JfrEventTypes() {
+    }
+
+    /**
+     * Nombre corto del tipo de evento, apto como etiqueta (p. ej. "OrderEventConsume").
+     */
+    static String stage(Class<? extends Event> type) {
+        String name = type.getSimpleName();
+        return name.substring(0, name.length() - "JfrEvent".length());
+    }
+}
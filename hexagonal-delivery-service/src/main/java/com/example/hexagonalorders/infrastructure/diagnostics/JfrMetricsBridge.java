@@ -0,0 +1,76 @@
+package com.example.hexagonalorders.infrastructure.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Traslada los eventos JFR propios del servicio a Micrometer mediante event streaming.
+ * Cada tipo de evento alimenta un timer {@code delivery.jfr.stage} registrado de
+ * antemano y etiquetado con la etapa, de modo que las duraciones medidas por JFR
+ * aparecen como histogramas en Prometheus sin código de medición adicional.
+ *
+ * El stream se ejecuta en su propio hilo de JFR y conserva solo una ventana corta
+ * de datos en el repositorio en disco.
+ */
+@Component
+@ConditionalOnProperty(name = "delivery.jfr.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrMetricsBridge implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrMetricsBridge.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Duration maxAge;
+    private RecordingStream stream;
+
+    public JfrMetricsBridge(MeterRegistry meterRegistry,
+                            @Value("${delivery.jfr.metrics.max-age-seconds:30}") long maxAgeSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        RecordingStream newStream = new RecordingStream();
+        newStream.setMaxAge(maxAge);
+        for (Class<? extends Event> type : JfrEventTypes.ALL) {
+            Timer timer = Timer.builder("delivery.jfr.stage")
+                .description("Duración de las etapas capturadas por los eventos JFR propios")
+                .tag("stage", JfrEventTypes.stage(type))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+            newStream.enable(type).withoutThreshold().withoutStackTrace();
+            newStream.onEvent(EventType.getEventType(type).getName(), event -> timer.record(event.getDuration()));
+        }
+        newStream.onError(error -> log.warn("Falló el stream de métricas JFR", error));
+        newStream.startAsync();
+        stream = newStream;
+        log.info("Puente de métricas JFR iniciado para {} tipos de evento", JfrEventTypes.ALL.size());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.hexagonalorders.infrastructure.diagnostics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Endpoint de Actuator que controla una grabación de Flight Recorder bajo demanda.
+ * Esta clase forma parte de la capa de adaptadores y expone:
+ * - POST /actuator/jfr para iniciar una grabación ({"settings": "profile"|"default", "maxAgeMinutes": n})
+ * - DELETE /actuator/jfr para detenerla
+ * - GET /actuator/jfr para descargar los datos grabados como fichero .jfr
+ *
+ * La grabación usa uno de los perfiles de configuración del JDK y además habilita
+ * todos los eventos propios del servicio sin umbral de duración. Solo se gestiona
+ * una grabación a la vez; iniciar una nueva cierra la anterior.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final String DEFAULT_SETTINGS = "profile";
+    private static final int DEFAULT_MAX_AGE_MINUTES = 30;
+
+    private Recording recording;
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable String settings, @Nullable Integer maxAgeMinutes) {
+        String settingsName = settings != null ? settings : DEFAULT_SETTINGS;
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            throw new InvalidEndpointRequestException("Configuración JFR desconocida: " + settingsName, "Configuración JFR desconocida");
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        Recording newRecording = new Recording(configuration);
+        newRecording.setName("delivery-on-demand");
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(Duration.ofMinutes(maxAgeMinutes != null ? maxAgeMinutes : DEFAULT_MAX_AGE_MINUTES));
+        for (Class<? extends Event> type : JfrEventTypes.ALL) {
+            newRecording.enable(type).withoutThreshold();
+        }
+        newRecording.start();
+        recording = newRecording;
+        return status();
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return status();
+    }
+
+    /**
+     * Vuelca la grabación actual (en curso o detenida) a un fichero temporal y lo
+     * envía; el fichero se elimina una vez escrita la respuesta.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download() {
+        if (recording == null || recording.getState() == RecordingState.NEW
+                || recording.getState() == RecordingState.CLOSED) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            Path file = Files.createTempFile("delivery-", ".jfr");
+            recording.dump(file);
+            return new WebEndpointResponse<>(temporaryResource(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo volcar la grabación JFR", e);
+        }
+    }
+
+    private Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", recording != null ? recording.getState().name() : "NONE");
+        if (recording != null) {
+            status.put("name", recording.getName());
+            status.put("startTime", recording.getStartTime());
+            status.put("maxAge", recording.getMaxAge());
+            status.put("size", recording.getSize());
+        }
+        return status;
+    }
+
+    private static Resource temporaryResource(Path file) {
+        return new FileSystemResource(file) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return new FilterInputStream(super.getInputStream()) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            Files.deleteIfExists(file);
+                        }
+                    }
+                };
+            }
+        };
+    }
+}
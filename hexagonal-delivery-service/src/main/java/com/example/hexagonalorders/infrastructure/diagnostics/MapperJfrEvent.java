@@ -0,0 +1,39 @@
+package com.example.hexagonalorders.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de Flight Recorder que cubre una conversión entre el agregado de entrega
+ * y su entidad de persistencia.
+ */
+@Name(MapperJfrEvent.NAME)
+@Label("Mapper")
+@Category({"Hexagonal", "Mapping"})
+@Description("Conversión entre el agregado de entrega y su entidad de persistencia")
+@StackTrace(false)
+public class MapperJfrEvent extends Event {
+
+    public static final String NAME = "hexagonal.delivery.Mapper";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Item Count")
+    private int itemCount;
+
+    /**
+     * Completa los campos clave y confirma el evento si alguna grabación lo solicita.
+     */
+    public void complete(String operation, int itemCount) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.itemCount = itemCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.hexagonalorders.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de Flight Recorder que cubre el procesamiento de un evento de orden
+ * confirmada recibido desde Kafka: deserialización, deduplicación y creación de la entrega.
+ */
+@Name(OrderEventConsumeJfrEvent.NAME)
+@Label("Order Event Consume")
+@Category({"Hexagonal", "Delivery"})
+@Description("Procesamiento de un evento de orden confirmada por el consumidor de Kafka")
+@StackTrace(false)
+public class OrderEventConsumeJfrEvent extends Event {
+
+    public static final String NAME = "hexagonal.delivery.OrderEventConsume";
+
+    @Label("Order Number")
+    private String orderNumber;
+
+    @Label("Outcome")
+    private String outcome;
+
+    @Label("Payload Size")
+    private int payloadSize;
+
+    /**
+     * Completa los campos clave y confirma el evento si alguna grabación lo solicita.
+     */
+    public void complete(String orderNumber, String outcome, int payloadSize) {
+        if (shouldCommit()) {
+            this.orderNumber = orderNumber;
+            this.outcome = outcome;
+            this.payloadSize = payloadSize;
+            commit();
+        }
+    }
+}
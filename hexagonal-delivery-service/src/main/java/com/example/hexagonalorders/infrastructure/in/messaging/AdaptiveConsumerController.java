@@ -0,0 +1,221 @@
+package com.example.hexagonalorders.infrastructure.in.messaging;
+
+import com.example.hexagonalorders.infrastructure.in.messaging.ConsumerScalingEvent.Action;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.search.Search;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ajusta la concurrencia del consumidor de órdenes confirmadas y aplica contrapresión.
+ *
+ * En cada intervalo mide el lag de las particiones del tópico, los hilos que esperan
+ * conexión en el pool de Hikari y el tiempo medio de procesamiento por registro
+ * (a partir de {@code delivery.consumer.record}):
+ * - Si hay conexiones pendientes o la latencia supera su umbral, pausa el contenedor;
+ *   lo reanuda cuando ambas bajan de la mitad del umbral, para no oscilar.
+ * - Sin pausa, añade un consumidor cuando el lag por consumidor supera el umbral alto
+ *   y quita uno cuando queda por debajo del umbral bajo, entre los límites configurados.
+ *
+ * Cambiar la concurrencia exige reiniciar el contenedor (y provoca un rebalanceo), por
+ * eso los cambios van de uno en uno y respetan un periodo de espera. Nunca se escala
+ * hacia arriba si la base de datos es el cuello de botella: más consumidores solo
+ * aumentarían la espera por conexiones.
+ *
+ * Cada decisión incrementa {@code delivery.consumer.adaptive.decisions} y se publica
+ * como {@link ConsumerScalingEvent}.
+ */
+@Component
+@ConditionalOnProperty(name = "delivery.consumer.adaptive.enabled", havingValue = "true", matchIfMissing = true)
+public class AdaptiveConsumerController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveConsumerController.class);
+
+    static final String LISTENER_ID = "order-confirmed-listener";
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String topic;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final long scaleUpLagPerConsumer;
+    private final long scaleDownLagPerConsumer;
+    private final double pausePendingConnections;
+    private final double pauseRecordLatencyMs;
+    private final long cooldownMs;
+    private final Map<Action, Counter> decisionCounters = new EnumMap<>(Action.class);
+    private volatile int concurrency;
+    private volatile boolean paused;
+    private long lastScalingAt;
+    private double lastTotalTimeMs;
+    private long lastCount;
+
+    public AdaptiveConsumerController(KafkaListenerEndpointRegistry listenerRegistry,
+                                      MeterRegistry meterRegistry,
+                                      ApplicationEventPublisher eventPublisher,
+                                      @Value("${kafka.topic.order-confirmed:hexagonal-orders-dev-order-confirmed}") String topic,
+                                      @Value("${delivery.consumer.concurrency.min:1}") int minConcurrency,
+                                      @Value("${delivery.consumer.concurrency.max:6}") int maxConcurrency,
+                                      @Value("${delivery.consumer.adaptive.scale-up-lag-per-consumer:1000}") long scaleUpLagPerConsumer,
+                                      @Value("${delivery.consumer.adaptive.scale-down-lag-per-consumer:50}") long scaleDownLagPerConsumer,
+                                      @Value("${delivery.consumer.adaptive.pause-pending-connections:1}") double pausePendingConnections,
+                                      @Value("${delivery.consumer.adaptive.pause-record-latency-ms:200}") double pauseRecordLatencyMs,
+                                      @Value("${delivery.consumer.adaptive.cooldown-ms:30000}") long cooldownMs) {
+        if (minConcurrency < 1 || maxConcurrency < minConcurrency) {
+            throw new IllegalArgumentException("Límites de concurrencia inválidos: min=" + minConcurrency
+                + ", max=" + maxConcurrency);
+        }
+        this.listenerRegistry = listenerRegistry;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.topic = topic;
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.scaleUpLagPerConsumer = scaleUpLagPerConsumer;
+        this.scaleDownLagPerConsumer = scaleDownLagPerConsumer;
+        this.pausePendingConnections = pausePendingConnections;
+        this.pauseRecordLatencyMs = pauseRecordLatencyMs;
+        this.cooldownMs = cooldownMs;
+        for (Action action : Action.values()) {
+            decisionCounters.put(action, Counter.builder("delivery.consumer.adaptive.decisions")
+                .description("Decisiones del control adaptativo del consumidor")
+                .tag("action", action.name().toLowerCase())
+                .register(meterRegistry));
+        }
+        Gauge.builder("delivery.consumer.concurrency", this, controller -> controller.concurrency)
+            .description("Consumidores activos del tópico de órdenes confirmadas")
+            .register(meterRegistry);
+        Gauge.builder("delivery.consumer.paused", this, controller -> controller.paused ? 1 : 0)
+            .description("1 si el consumo está pausado por contrapresión")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.consumer.adaptive.interval-ms:5000}")
+    public void adjust() {
+        MessageListenerContainer listener = listenerRegistry.getListenerContainer(LISTENER_ID);
+        if (!(listener instanceof ConcurrentMessageListenerContainer<?, ?> container) || !container.isRunning()) {
+            return;
+        }
+        try {
+            concurrency = container.getConcurrency();
+            double latencyMs = recordLatencyMs();
+            double pendingValue = gaugeSum(meterRegistry.find("hikaricp.connections.pending"));
+            double pending = Double.isNaN(pendingValue) ? 0 : pendingValue;
+            // El cliente de Kafka sustituye los puntos del nombre del tópico en sus etiquetas
+            double lagValue = gaugeSum(meterRegistry.find("kafka.consumer.fetch.manager.records.lag")
+                .tag("topic", topic.replace('.', '_')));
+            // Sin lag medido (sin particiones asignadas todavía) no se toman decisiones de escala
+            long lag = Double.isNaN(lagValue) ? -1 : (long) lagValue;
+
+            if (updateBackpressure(container, pending, latencyMs, lag) || paused || lag < 0) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            if (now - lastScalingAt < cooldownMs) {
+                return;
+            }
+            if (lag > (long) concurrency * scaleUpLagPerConsumer && concurrency < maxConcurrency
+                    && latencyMs < pauseRecordLatencyMs) {
+                resize(container, concurrency + 1, Action.SCALE_UP, lag, pending, latencyMs);
+                lastScalingAt = now;
+            } else if (lag < (long) concurrency * scaleDownLagPerConsumer && concurrency > minConcurrency) {
+                resize(container, concurrency - 1, Action.SCALE_DOWN, lag, pending, latencyMs);
+                lastScalingAt = now;
+            }
+        } catch (Exception e) {
+            log.error("Error ajustando la concurrencia del consumidor {}", LISTENER_ID, e);
+        }
+    }
+
+    /**
+     * Pausa o reanuda el contenedor según la presión sobre la base de datos.
+     *
+     * @return true si en esta medición se ha cambiado el estado de pausa
+     */
+    private boolean updateBackpressure(ConcurrentMessageListenerContainer<?, ?> container,
+                                       double pending, double latencyMs, long lag) {
+        if (!paused && (pending >= pausePendingConnections || latencyMs >= pauseRecordLatencyMs)) {
+            container.pause();
+            paused = true;
+            decide(Action.PAUSE, lag, pending, latencyMs);
+            return true;
+        }
+        // En pausa apenas se procesan registros, así que la reanudación depende sobre todo del pool
+        if (paused && pending < pausePendingConnections / 2 && latencyMs < pauseRecordLatencyMs / 2) {
+            container.resume();
+            paused = false;
+            decide(Action.RESUME, lag, pending, latencyMs);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reinicia el contenedor con la nueva concurrencia. La parada espera a que los
+     * consumidores terminen el lote en curso y confirmen sus offsets.
+     */
+    private void resize(ConcurrentMessageListenerContainer<?, ?> container, int target, Action action,
+                        long lag, double pending, double latencyMs) {
+        container.stop();
+        container.setConcurrency(target);
+        container.start();
+        concurrency = target;
+        decide(action, lag, pending, latencyMs);
+    }
+
+    private void decide(Action action, long lag, double pending, double latencyMs) {
+        decisionCounters.get(action).increment();
+        log.info("Consumidor {}: {} (concurrencia={}, lag={}, conexiones pendientes={}, latencia media={} ms)",
+            LISTENER_ID, action, concurrency, lag, pending, String.format("%.1f", latencyMs));
+        eventPublisher.publishEvent(new ConsumerScalingEvent(
+            LISTENER_ID, action, concurrency, lag, pending, latencyMs, Instant.now()));
+    }
+
+    /**
+     * Tiempo medio por registro desde la medición anterior, sumando todos los resultados.
+     */
+    private double recordLatencyMs() {
+        double totalTimeMs = 0;
+        long count = 0;
+        for (Timer timer : meterRegistry.find("delivery.consumer.record").timers()) {
+            totalTimeMs += timer.totalTime(TimeUnit.MILLISECONDS);
+            count += timer.count();
+        }
+        long records = count - lastCount;
+        double latency = records > 0 ? (totalTimeMs - lastTotalTimeMs) / records : 0;
+        lastTotalTimeMs = totalTimeMs;
+        lastCount = count;
+        return latency;
+    }
+
+    /**
+     * Suma los valores de los gauges encontrados; NaN si no hay ninguno con valor.
+     */
+    private static double gaugeSum(Search search) {
+        double sum = Double.NaN;
+        for (Gauge gauge : search.gauges()) {
+            double value = gauge.value();
+            if (!Double.isNaN(value)) {
+                sum = Double.isNaN(sum) ? value : sum + value;
+            }
+        }
+        return sum;
+    }
+}
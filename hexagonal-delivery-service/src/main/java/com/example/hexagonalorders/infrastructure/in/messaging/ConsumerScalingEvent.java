@@ -0,0 +1,33 @@
+package com.example.hexagonalorders.infrastructure.in.messaging;
+
+import java.time.Instant;
+
+/**
+ * Evento publicado cada vez que el controlador adaptativo cambia la concurrencia
+ * del contenedor de escucha o pausa/reanuda su consumo.
+ *
+ * @param listenerId id del contenedor afectado
+ * @param action decisión tomada
+ * @param concurrency concurrencia del contenedor tras la decisión
+ * @param lag suma del lag de las particiones asignadas en la medición
+ * @param pendingConnections hilos esperando conexión del pool de Hikari
+ * @param recordLatencyMs tiempo medio de procesamiento por registro en el intervalo
+ * @param occurredAt momento de la decisión
+ */
+public record ConsumerScalingEvent(
+    String listenerId,
+    Action action,
+    int concurrency,
+    long lag,
+    double pendingConnections,
+    double recordLatencyMs,
+    Instant occurredAt
+) {
+
+    public enum Action {
+        SCALE_UP,
+        SCALE_DOWN,
+        PAUSE,
+        RESUME
+    }
+}
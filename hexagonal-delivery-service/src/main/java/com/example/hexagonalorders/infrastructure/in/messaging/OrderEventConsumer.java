@@ -1,28 +1,61 @@
 package com.example.hexagonalorders.infrastructure.in.messaging;
 
 import com.example.hexagonalorders.application.service.DeliveryService;
+import com.example.hexagonalorders.infrastructure.diagnostics.OrderEventConsumeJfrEvent;
+import com.example.hexagonalorders.infrastructure.logging.RateLimitedLogger;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Consumidor de eventos de integración relacionados con órdenes.
  * Este componente escucha tópicos de Kafka y procesa eventos de órdenes
  * para activar la lógica de negocio relacionada con entregas.
+ *
+ * El tiempo de procesamiento de cada registro se publica en
+ * {@code delivery.consumer.record}, etiquetado por resultado (created, duplicate, failed),
+ * y se emite un {@link OrderEventConsumeJfrEvent} con la orden y el resultado.
+ * El contenedor restaura la traza propagada en las cabeceras del registro; además
+ * se registra el tiempo de espera en el tópico con {@link TopicQueueTracing}.
  */
 @Component
 public class OrderEventConsumer {
     
     private static final Logger logger = LoggerFactory.getLogger(OrderEventConsumer.class);
+    private static final RateLimitedLogger eventLog = new RateLimitedLogger(logger, 10, Duration.ofSeconds(1));
     
     private final DeliveryService deliveryService;
     private final ObjectMapper objectMapper;
+    private final TopicQueueTracing topicQueueTracing;
+    private final Timer createdTimer;
+    private final Timer duplicateTimer;
+    private final Timer failedTimer;
     
-    public OrderEventConsumer(DeliveryService deliveryService, ObjectMapper objectMapper) {
+    public OrderEventConsumer(DeliveryService deliveryService, ObjectMapper objectMapper,
+                              TopicQueueTracing topicQueueTracing, MeterRegistry meterRegistry) {
         this.deliveryService = deliveryService;
         this.objectMapper = objectMapper;
+        this.topicQueueTracing = topicQueueTracing;
+        this.createdTimer = recordTimer(meterRegistry, "created");
+        this.duplicateTimer = recordTimer(meterRegistry, "duplicate");
+        this.failedTimer = recordTimer(meterRegistry, "failed");
+    }
+    
+    private static Timer recordTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("delivery.consumer.record")
+            .description("Tiempo de procesamiento de cada evento de orden confirmada")
+            .tag("topic", "order-confirmed")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
     }
     
     /**
@@ -30,16 +63,34 @@ public class OrderEventConsumer {
      * Este método procesa mensajes OrderConfirmedIntegrationEvent.
      */
     @KafkaListener(
+        id = AdaptiveConsumerController.LISTENER_ID,
         topics = "${kafka.topic.order-confirmed:hexagonal-orders-dev-order-confirmed}",
         groupId = "${kafka.consumer.group-id:delivery-service-group}"
     )
-    public void handleOrderConfirmed(String message) {
+    public void handleOrderConfirmed(ConsumerRecord<String, String> record) {
+        topicQueueTracing.recordQueueTime(record);
+        String message = record.value();
+        long start = System.nanoTime();
+        OrderEventConsumeJfrEvent jfrEvent = new OrderEventConsumeJfrEvent();
+        jfrEvent.begin();
+        Timer outcome = failedTimer;
+        String orderNumber = null;
         try {
-            logger.info("Evento de orden confirmada recibido: {}", message);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Evento de orden confirmada recibido: {}", message);
+            }
             
             // Analizar el evento de integración
             OrderConfirmedIntegrationEvent event = objectMapper.readValue(
                 message, OrderConfirmedIntegrationEvent.class);
+            orderNumber = event.getOrderNumber();
+            
+            // Los eventos pueden llegar repetidos: no se crea una segunda entrega para la misma orden
+            if (deliveryService.existeEntregaParaOrden(event.getOrderNumber())) {
+                eventLog.info("La orden {} ya tiene entrega; evento ignorado", event.getOrderNumber());
+                outcome = duplicateTimer;
+                return;
+            }
             
             // Crear entrega para la orden confirmada
             deliveryService.createDeliveryFromOrder(
@@ -51,12 +102,16 @@ public class OrderEventConsumer {
                 event.getItems()
             );
             
-            logger.info("Evento de orden confirmada procesado exitosamente para la orden: {}", 
+            eventLog.info("Evento de orden confirmada procesado exitosamente para la orden: {}", 
                 event.getOrderNumber());
+            outcome = createdTimer;
             
         } catch (Exception e) {
             logger.error("Error procesando evento de orden confirmada: {}", message, e);
             // Considerar implementar cola de mensajes muertos o mecanismo de reintento
+        } finally {
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            jfrEvent.complete(orderNumber, outcome.getId().getTag("outcome"), message != null ? message.length() : 0);
         }
     }
     
@@ -0,0 +1,60 @@
+package com.example.hexagonalorders.infrastructure.in.messaging;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.record.TimestampType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registra como span el tiempo que un registro pasó en el tópico de Kafka.
+ * El span va desde la marca de tiempo de creación del registro hasta su recepción,
+ * y cuelga del span de productor propagado en las cabeceras, junto al span de
+ * consumo que abre el contenedor de escucha.
+ *
+ * Sin trazado habilitado se usan el tracer y el propagador no-op y no se registra nada.
+ */
+@Component
+public class TopicQueueTracing {
+
+    private static final Propagator.Getter<Headers> HEADER_GETTER = (headers, key) -> {
+        Header header = headers.lastHeader(key);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    };
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    public TopicQueueTracing(ObjectProvider<Tracer> tracer, ObjectProvider<Propagator> propagator) {
+        this.tracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+        this.propagator = propagator.getIfAvailable(() -> Propagator.NOOP);
+    }
+
+    /**
+     * Registra el span de espera en el tópico para el registro recibido.
+     *
+     * @param record el registro consumido
+     */
+    public void recordQueueTime(ConsumerRecord<?, ?> record) {
+        if (tracer == Tracer.NOOP || record.timestampType() != TimestampType.CREATE_TIME
+                || record.headers().lastHeader("traceparent") == null) {
+            return;
+        }
+        Span queueSpan = propagator.extract(record.headers(), HEADER_GETTER)
+            .name("kafka queue")
+            .kind(Span.Kind.CONSUMER)
+            .tag("messaging.destination.name", record.topic())
+            .tag("messaging.kafka.partition", String.valueOf(record.partition()))
+            .tag("messaging.kafka.offset", String.valueOf(record.offset()))
+            .startTimestamp(record.timestamp(), TimeUnit.MILLISECONDS)
+            .start();
+        queueSpan.end(System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -1,21 +1,43 @@
 package com.example.hexagonalorders.infrastructure.in.web;
 
 import com.example.hexagonalorders.domain.model.Delivery;
+import com.example.hexagonalorders.domain.model.DeliveryCriteria;
+import com.example.hexagonalorders.domain.model.DeliveryFilter;
+import com.example.hexagonalorders.domain.model.DeliveryPage;
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.DeliveryTransition;
+import com.example.hexagonalorders.domain.model.TransitionedDelivery;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryDate;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryPersonId;
+import com.example.hexagonalorders.domain.model.valueobject.RouteId;
 import com.example.hexagonalorders.domain.port.in.DeliveryUseCase;
+import com.example.hexagonalorders.infrastructure.in.web.dto.BulkDeliveryTransitionRequest;
+import com.example.hexagonalorders.infrastructure.in.web.dto.BulkDeliveryTransitionResponseDto;
+import com.example.hexagonalorders.infrastructure.in.web.dto.DeliveryAssignmentRequest;
 import com.example.hexagonalorders.infrastructure.in.web.dto.DeliveryDto;
+import com.example.hexagonalorders.infrastructure.in.web.dto.DeliveryPageDto;
 import com.example.hexagonalorders.infrastructure.in.web.dto.DeliveryStatusUpdateRequest;
 import com.example.hexagonalorders.infrastructure.in.web.mapper.DeliveryMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -25,18 +47,28 @@ import java.util.stream.Collectors;
  * 
  * Los endpoints siguen los principios REST representando el recurso "entregas"
  * y usando métodos HTTP apropiados para las operaciones.
+ * 
+ * GET /api/entregas?orden= devuelve la única entrega de esa orden por el índice de número
+ * de orden. El listado paginado y la exportación filtran por orden con otro nombre,
+ * numeroOrden, para que esas peticiones no las capture la consulta directa.
  */
 @RestController
 @RequestMapping("/api/entregas")
 @Tag(name = "Entregas", description = "API de gestión de entregas")
 public class DeliveryController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_PAGE_SIZE = 500;
+
     private final DeliveryUseCase deliveryUseCase;
     private final DeliveryMapper deliveryMapper;
+    private final ObjectMapper objectMapper;
 
-    public DeliveryController(DeliveryUseCase deliveryUseCase, DeliveryMapper deliveryMapper) {
+    public DeliveryController(DeliveryUseCase deliveryUseCase, DeliveryMapper deliveryMapper, ObjectMapper objectMapper) {
         this.deliveryUseCase = deliveryUseCase;
         this.deliveryMapper = deliveryMapper;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Crear una nueva entrega", 
@@ -59,7 +91,8 @@ public class DeliveryController {
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Estado de entrega actualizado exitosamente"),
         @ApiResponse(responseCode = "404", description = "Entrega no encontrada"),
-        @ApiResponse(responseCode = "400", description = "Estado inválido o fecha inválida")
+        @ApiResponse(responseCode = "400", description = "Estado inválido o fecha inválida"),
+        @ApiResponse(responseCode = "409", description = "La entrega fue modificada concurrentemente")
     })
     @PatchMapping("/{deliveryId}")
     public ResponseEntity<DeliveryDto> actualizarEstadoEntrega(
@@ -68,72 +101,255 @@ public class DeliveryController {
         
         Delivery updatedDelivery;
         
-        switch (statusUpdate.getAction()) {
-            case "SCHEDULE":
-                updatedDelivery = deliveryUseCase.programarEntrega(
-                    new DeliveryId(deliveryId), 
-                    new DeliveryDate(statusUpdate.getScheduledDate())
-                );
-                break;
-            case "CONFIRM":
-                updatedDelivery = deliveryUseCase.confirmarEntrega(new DeliveryId(deliveryId));
-                break;
-            case "START":
-                updatedDelivery = deliveryUseCase.iniciarEntrega(new DeliveryId(deliveryId));
-                break;
-            case "COMPLETE":
-                updatedDelivery = deliveryUseCase.completarEntrega(new DeliveryId(deliveryId));
-                break;
-            case "CANCEL":
-                updatedDelivery = deliveryUseCase.cancelarEntrega(new DeliveryId(deliveryId));
-                break;
-            default:
-                return ResponseEntity.badRequest().build();
+        try {
+            switch (statusUpdate.getAction()) {
+                case "SCHEDULE":
+                    updatedDelivery = deliveryUseCase.programarEntrega(
+                        new DeliveryId(deliveryId), 
+                        new DeliveryDate(statusUpdate.getScheduledDate())
+                    );
+                    break;
+                case "CONFIRM":
+                    updatedDelivery = deliveryUseCase.confirmarEntrega(new DeliveryId(deliveryId));
+                    break;
+                case "START":
+                    updatedDelivery = deliveryUseCase.iniciarEntrega(new DeliveryId(deliveryId));
+                    break;
+                case "COMPLETE":
+                    updatedDelivery = deliveryUseCase.completarEntrega(new DeliveryId(deliveryId));
+                    break;
+                case "CANCEL":
+                    updatedDelivery = deliveryUseCase.cancelarEntrega(new DeliveryId(deliveryId));
+                    break;
+                default:
+                    return ResponseEntity.badRequest().build();
+            }
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
         
         return ResponseEntity.ok(deliveryMapper.toDto(updatedDelivery));
     }
 
+    @Operation(summary = "Asignar una entrega", 
+               description = "Asigna una entrega activa a una ruta y/o a un repartidor.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Entrega asignada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Asignación vacía"),
+        @ApiResponse(responseCode = "409", description = "La entrega está cerrada o fue modificada concurrentemente")
+    })
+    @PatchMapping("/{deliveryId}/asignacion")
+    public ResponseEntity<DeliveryDto> asignarEntrega(
+            @PathVariable String deliveryId,
+            @RequestBody DeliveryAssignmentRequest request) {
+        Delivery updatedDelivery;
+        try {
+            updatedDelivery = deliveryUseCase.asignarEntrega(
+                new DeliveryId(deliveryId),
+                request.getRouteId() != null ? new RouteId(request.getRouteId()) : null,
+                request.getDeliveryPersonId() != null ? new DeliveryPersonId(request.getDeliveryPersonId()) : null
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(deliveryMapper.toDto(updatedDelivery));
+    }
+
+    @Operation(summary = "Actualizar el estado de varias entregas", 
+               description = "Aplica la misma transición a las entregas indicadas por identificador y/o filtro (ruta, repartidor, estado). "
+                   + "Las entregas cuyo estado no permite la transición se ignoran.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Transición aplicada"),
+        @ApiResponse(responseCode = "400", description = "Acción, estado, fecha o criterio inválidos")
+    })
+    @PostMapping("/transiciones")
+    public ResponseEntity<BulkDeliveryTransitionResponseDto> actualizarEstadoEntregas(
+            @RequestBody BulkDeliveryTransitionRequest request) {
+        DeliveryTransition transition;
+        DeliveryStatus status;
+        DeliveryDate scheduledDate;
+        try {
+            transition = DeliveryTransition.valueOf(String.valueOf(request.getAction()).toUpperCase());
+            status = request.getStatus() != null ? DeliveryStatus.valueOf(request.getStatus().toUpperCase()) : null;
+            scheduledDate = request.getScheduledDate() != null ? new DeliveryDate(request.getScheduledDate()) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        DeliveryCriteria criteria = new DeliveryCriteria(
+            request.getDeliveryIds(), request.getRouteId(), request.getDeliveryPersonId(), status);
+
+        List<TransitionedDelivery> transitioned;
+        try {
+            transitioned = deliveryUseCase.aplicarTransicionMasiva(transition, criteria, scheduledDate);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<BulkDeliveryTransitionResponseDto.TransitionedDeliveryDto> deliveries = transitioned.stream()
+                .map(delivery -> new BulkDeliveryTransitionResponseDto.TransitionedDeliveryDto(
+                    delivery.deliveryId().value(),
+                    delivery.orderNumber(),
+                    delivery.previousStatus().name(),
+                    delivery.newStatus().name()))
+                .collect(Collectors.toList());
+        List<String> skipped = List.of();
+        if (request.getDeliveryIds() != null) {
+            Set<String> remaining = new LinkedHashSet<>(request.getDeliveryIds());
+            deliveries.forEach(delivery -> remaining.remove(delivery.getDeliveryId()));
+            skipped = List.copyOf(remaining);
+        }
+        return ResponseEntity.ok(new BulkDeliveryTransitionResponseDto(transition.name(), deliveries, skipped));
+    }
+
     @Operation(summary = "Obtener detalles de una entrega", 
                description = "Obtiene los detalles completos de una entrega específica.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Entrega encontrada"),
+        @ApiResponse(responseCode = "304", description = "La entrega no ha cambiado respecto al ETag enviado"),
         @ApiResponse(responseCode = "404", description = "Entrega no encontrada")
     })
     @GetMapping("/{deliveryId}")
-    public ResponseEntity<DeliveryDto> obtenerEntrega(@PathVariable String deliveryId) {
-        return deliveryUseCase.obtenerEntrega(new DeliveryId(deliveryId))
-                .map(deliveryMapper::toDto)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<DeliveryDto> obtenerEntrega(
+            @PathVariable String deliveryId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        DeliveryId id = new DeliveryId(deliveryId);
+        // Lectura condicional: solo se consulta la versión, sin hidratar el agregado
+        if (ifNoneMatch != null) {
+            var version = deliveryUseCase.obtenerVersionEntrega(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            String etag = ETags.of(version.get());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        return deliveryUseCase.obtenerEntrega(id)
+                .map(delivery -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (delivery.getVersion() != null) {
+                        response.eTag(ETags.of(delivery.getVersion()));
+                    }
+                    return response.body(deliveryMapper.toDto(delivery));
+                })
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    @Operation(summary = "Obtener todas las entregas", 
-               description = "Obtiene una lista de todas las entregas en el sistema.")
+    @Operation(summary = "Buscar entregas", 
+               description = "Obtiene una página de entregas filtradas por estado, número de orden (numeroOrden), "
+                   + "intervalo de fecha programada, ciudad o código postal. Para la página siguiente se envía el "
+                   + "nextCursor recibido. Para obtener directamente la entrega de una orden se usa el parámetro orden.")
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "Lista de entregas obtenida exitosamente")
+        @ApiResponse(responseCode = "200", description = "Página de entregas obtenida exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Filtro, cursor o tamaño de página inválidos")
     })
     @GetMapping
-    public ResponseEntity<List<DeliveryDto>> obtenerTodasLasEntregas() {
-        List<DeliveryDto> deliveries = deliveryUseCase.obtenerTodasLasEntregas()
-                .stream()
+    public ResponseEntity<DeliveryPageDto> buscarEntregas(
+            @RequestParam(name = "estado", required = false) List<String> estados,
+            @RequestParam(name = "numeroOrden", required = false) String orderNumber,
+            @RequestParam(name = "desde", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(name = "hasta", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(name = "ciudad", required = false) String city,
+            @RequestParam(name = "codigoPostal", required = false) String postalCode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        DeliveryPage page;
+        try {
+            if (size < 1 || size > MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest().build();
+            }
+            DeliveryFilter filter = toFilter(estados, orderNumber, desde, hasta, city, postalCode);
+            page = deliveryUseCase.buscarEntregas(filter, cursor, size);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<DeliveryDto> items = page.items().stream()
                 .map(deliveryMapper::toDto)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(deliveries);
+        return ResponseEntity.ok(new DeliveryPageDto(items, page.nextCursor()));
+    }
+
+    @Operation(summary = "Obtener la entrega de una orden", 
+               description = "Obtiene la entrega asociada a un número de orden, indicado en el parámetro orden.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Entrega encontrada"),
+        @ApiResponse(responseCode = "404", description = "La orden no tiene entrega")
+    })
+    @GetMapping(params = "orden")
+    public ResponseEntity<DeliveryDto> obtenerEntregaPorOrden(@RequestParam(name = "orden") String orderNumber) {
+        return deliveryUseCase.obtenerEntregaPorOrden(orderNumber)
+                .map(delivery -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (delivery.getVersion() != null) {
+                        response.eTag(ETags.of(delivery.getVersion()));
+                    }
+                    return response.body(deliveryMapper.toDto(delivery));
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Exportar entregas como NDJSON", 
+               description = "Devuelve todas las entregas que cumplen el filtro, una por línea (application/x-ndjson). "
+                   + "Se recorren por páginas, por lo que la memoria usada no depende del número de entregas.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Entregas exportadas"),
+        @ApiResponse(responseCode = "400", description = "Filtro inválido")
+    })
+    @GetMapping(produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportarEntregas(
+            @RequestParam(name = "estado", required = false) List<String> estados,
+            @RequestParam(name = "numeroOrden", required = false) String orderNumber,
+            @RequestParam(name = "desde", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(name = "hasta", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(name = "ciudad", required = false) String city,
+            @RequestParam(name = "codigoPostal", required = false) String postalCode) {
+        DeliveryFilter filter;
+        try {
+            filter = toFilter(estados, orderNumber, desde, hasta, city, postalCode);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> {
+            String cursor = null;
+            do {
+                DeliveryPage page = deliveryUseCase.buscarEntregas(filter, cursor, STREAM_PAGE_SIZE);
+                for (Delivery delivery : page.items()) {
+                    out.write(objectMapper.writeValueAsBytes(deliveryMapper.toDto(delivery)));
+                    out.write('\n');
+                }
+                out.flush();
+                cursor = page.nextCursor();
+            } while (cursor != null);
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
     @Operation(summary = "Obtener entregas por estado", 
-               description = "Obtiene una lista de entregas filtradas por estado.")
+               description = "Obtiene una página de entregas filtradas por estado.")
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "Lista de entregas obtenida exitosamente")
+        @ApiResponse(responseCode = "200", description = "Página de entregas obtenida exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Estado, cursor o tamaño de página inválidos")
     })
     @GetMapping("/estado/{status}")
-    public ResponseEntity<List<DeliveryDto>> obtenerEntregasPorEstado(@PathVariable String status) {
-        List<DeliveryDto> deliveries = deliveryUseCase.obtenerEntregasPorEstado(status)
-                .stream()
-                .map(deliveryMapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(deliveries);
+    public ResponseEntity<DeliveryPageDto> obtenerEntregasPorEstado(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return buscarEntregas(List.of(status), null, null, null, null, null, null, cursor, size);
+    }
+
+    private static DeliveryFilter toFilter(List<String> estados, String orderNumber, LocalDateTime desde,
+                                           LocalDateTime hasta, String city, String postalCode) {
+        Set<DeliveryStatus> statuses = null;
+        if (estados != null && !estados.isEmpty()) {
+            statuses = EnumSet.noneOf(DeliveryStatus.class);
+            for (String estado : estados) {
+                statuses.add(DeliveryStatus.valueOf(estado.toUpperCase()));
+            }
+        }
+        return new DeliveryFilter(statuses, orderNumber, desde, hasta, city, postalCode);
     }
 
     @Operation(summary = "Eliminar una entrega", description = "Elimina una entrega por su identificador.")
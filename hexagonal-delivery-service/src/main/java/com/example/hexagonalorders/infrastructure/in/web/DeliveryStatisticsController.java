@@ -0,0 +1,48 @@
+package com.example.hexagonalorders.infrastructure.in.web;
+
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.port.in.DeliveryStatisticsUseCase;
+import com.example.hexagonalorders.infrastructure.in.web.dto.DeliveryStatisticsDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controlador REST para las estadísticas de entregas.
+ * Se sirven desde contadores en memoria, por lo que no consultan la base de datos.
+ */
+@RestController
+@RequestMapping("/api/entregas")
+@Tag(name = "Entregas", description = "API de gestión de entregas")
+public class DeliveryStatisticsController {
+
+    private final DeliveryStatisticsUseCase statisticsUseCase;
+
+    public DeliveryStatisticsController(DeliveryStatisticsUseCase statisticsUseCase) {
+        this.statisticsUseCase = statisticsUseCase;
+    }
+
+    @Operation(summary = "Obtener estadísticas de entregas",
+               description = "Obtiene el número de entregas en cada estado y el total.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente")
+    })
+    @GetMapping("/estadisticas")
+    public ResponseEntity<DeliveryStatisticsDto> obtenerEstadisticas() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<DeliveryStatus, Long> entry : statisticsUseCase.obtenerEntregasPorEstado().entrySet()) {
+            byStatus.put(entry.getKey().name(), entry.getValue());
+            total += entry.getValue();
+        }
+        return ResponseEntity.ok(new DeliveryStatisticsDto(total, byStatus, statisticsUseCase.obtenerUltimaReconciliacion()));
+    }
+}
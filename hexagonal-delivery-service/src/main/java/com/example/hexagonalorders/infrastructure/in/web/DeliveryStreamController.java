@@ -0,0 +1,71 @@
+package com.example.hexagonalorders.infrastructure.in.web;
+
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
+import com.example.hexagonalorders.domain.port.in.DeliveryUseCase;
+import com.example.hexagonalorders.infrastructure.in.web.dto.DeliveryStatusEventDto;
+import com.example.hexagonalorders.infrastructure.in.web.stream.DeliveryStatusStreamListener;
+import com.example.hexagonalorders.infrastructure.in.web.stream.DeliveryStatusStreamRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Controlador REST para la suscripción a cambios de estado de entregas mediante
+ * Server-Sent Events, como alternativa a consultar periódicamente DeliveryController.
+ */
+@RestController
+@RequestMapping("/api/entregas")
+@Tag(name = "Entregas", description = "API de gestión de entregas")
+public class DeliveryStreamController {
+
+    private final DeliveryUseCase deliveryUseCase;
+    private final DeliveryStatusStreamRegistry registry;
+
+    public DeliveryStreamController(DeliveryUseCase deliveryUseCase, DeliveryStatusStreamRegistry registry) {
+        this.deliveryUseCase = deliveryUseCase;
+        this.registry = registry;
+    }
+
+    @Operation(summary = "Suscribirse a los cambios de estado de una entrega",
+               description = "Abre un flujo SSE que envía el estado actual y cada cambio posterior de la entrega. "
+                   + "Un cambio puede llegar antes que el estado actual o repetirse: cada evento lleva la versión "
+                   + "de la entrega y el cliente ignora los que no superan la última versión recibida.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Flujo de eventos abierto"),
+        @ApiResponse(responseCode = "404", description = "Entrega no encontrada")
+    })
+    @GetMapping(value = "/{deliveryId}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> suscribirEntrega(@PathVariable String deliveryId) {
+        // Se registra antes de leer el estado para no perder cambios confirmados entre ambos pasos
+        return registry.subscribeToDelivery(deliveryId, DeliveryStatusStreamListener.STATUS_EVENT,
+                    () -> deliveryUseCase.obtenerEntrega(new DeliveryId(deliveryId))
+                        .map(delivery -> new DeliveryStatusEventDto(
+                            delivery.getDeliveryId().value(),
+                            delivery.getOrderNumber(),
+                            delivery.getStatus().name(),
+                            LocalDateTime.now(),
+                            delivery.getVersion())))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Suscribirse a los cambios de estado de las entregas de una orden",
+               description = "Abre un flujo SSE que envía cada cambio de estado de las entregas asociadas a la orden.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Flujo de eventos abierto")
+    })
+    @GetMapping(value = "/ordenes/{orderNumber}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribirOrden(@PathVariable String orderNumber) {
+        return registry.subscribeToOrder(orderNumber);
+    }
+}
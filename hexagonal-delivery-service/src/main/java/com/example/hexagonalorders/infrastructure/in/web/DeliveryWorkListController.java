@@ -0,0 +1,138 @@
+package com.example.hexagonalorders.infrastructure.in.web;
+
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.DeliveryWorkItem;
+import com.example.hexagonalorders.domain.model.DeliveryWorkList;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryPersonId;
+import com.example.hexagonalorders.domain.model.valueobject.RouteId;
+import com.example.hexagonalorders.domain.port.in.DeliveryUseCase;
+import com.example.hexagonalorders.infrastructure.in.web.dto.DeliveryWorkItemDto;
+import com.example.hexagonalorders.infrastructure.in.web.dto.DeliveryWorkListDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Controlador REST para las hojas de trabajo de rutas y repartidores.
+ * Las páginas se construyen con proyecciones, sin reconstruir los agregados Delivery
+ * ni cargar sus ítems.
+ */
+@RestController
+@RequestMapping("/api/entregas")
+@Tag(name = "Entregas", description = "API de gestión de entregas")
+public class DeliveryWorkListController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final Set<DeliveryStatus> ACTIVE_STATUSES =
+        EnumSet.complementOf(EnumSet.of(DeliveryStatus.COMPLETED, DeliveryStatus.CANCELLED));
+
+    private final DeliveryUseCase deliveryUseCase;
+
+    public DeliveryWorkListController(DeliveryUseCase deliveryUseCase) {
+        this.deliveryUseCase = deliveryUseCase;
+    }
+
+    @Operation(summary = "Obtener la hoja de ruta",
+               description = "Obtiene las entregas de una ruta programadas entre dos fechas (por defecto, el día actual). "
+                   + "Sin estados indicados se devuelven las entregas activas.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Hoja de ruta obtenida exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Estado, intervalo o paginación inválidos")
+    })
+    @GetMapping("/rutas/{routeId}")
+    public ResponseEntity<DeliveryWorkListDto> obtenerHojaDeRuta(
+            @PathVariable String routeId,
+            @RequestParam(name = "estado", required = false) List<String> estados,
+            @RequestParam(name = "desde", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(name = "hasta", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        LocalDateTime from = desde != null ? desde : LocalDate.now().atStartOfDay();
+        LocalDateTime to = hasta != null ? hasta : from.plusDays(1);
+        DeliveryWorkList workList;
+        try {
+            checkPage(page, size);
+            workList = deliveryUseCase.obtenerHojaDeRuta(
+                new RouteId(routeId), toStatuses(estados), from, to, page, size);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(toDto(workList));
+    }
+
+    @Operation(summary = "Obtener las entregas de un repartidor",
+               description = "Obtiene las entregas asignadas a un repartidor. Sin estados indicados se devuelven las entregas activas.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Entregas obtenidas exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Estado o paginación inválidos")
+    })
+    @GetMapping("/repartidores/{deliveryPersonId}")
+    public ResponseEntity<DeliveryWorkListDto> obtenerEntregasDeRepartidor(
+            @PathVariable String deliveryPersonId,
+            @RequestParam(name = "estado", required = false) List<String> estados,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        DeliveryWorkList workList;
+        try {
+            checkPage(page, size);
+            workList = deliveryUseCase.obtenerEntregasDeRepartidor(
+                new DeliveryPersonId(deliveryPersonId), toStatuses(estados), page, size);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(toDto(workList));
+    }
+
+    private static void checkPage(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Paginación inválida");
+        }
+    }
+
+    private static Set<DeliveryStatus> toStatuses(List<String> estados) {
+        if (estados == null || estados.isEmpty()) {
+            return ACTIVE_STATUSES;
+        }
+        Set<DeliveryStatus> statuses = EnumSet.noneOf(DeliveryStatus.class);
+        for (String estado : estados) {
+            statuses.add(DeliveryStatus.valueOf(estado.toUpperCase()));
+        }
+        return statuses;
+    }
+
+    private static DeliveryWorkListDto toDto(DeliveryWorkList workList) {
+        List<DeliveryWorkItemDto> items = workList.items().stream()
+                .map(DeliveryWorkListController::toDto)
+                .collect(Collectors.toList());
+        return new DeliveryWorkListDto(items, workList.page(), workList.size(), workList.hasNext());
+    }
+
+    private static DeliveryWorkItemDto toDto(DeliveryWorkItem item) {
+        return new DeliveryWorkItemDto(
+            item.deliveryId(),
+            item.orderNumber(),
+            item.status().name(),
+            item.scheduledDate(),
+            item.street(),
+            item.city(),
+            item.postalCode(),
+            item.routeId(),
+            item.deliveryPersonId()
+        );
+    }
+}
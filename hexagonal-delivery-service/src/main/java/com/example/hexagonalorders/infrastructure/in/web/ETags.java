@@ -0,0 +1,45 @@
+package com.example.hexagonalorders.infrastructure.in.web;
+
+/**
+ * Utilidad para construir ETags a partir de la versión del agregado
+ * y evaluar la cabecera If-None-Match.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Construye el ETag fuerte correspondiente a una versión.
+     *
+     * @param version la versión de persistencia
+     * @return el ETag entre comillas
+     */
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Indica si la cabecera If-None-Match coincide con el ETag actual.
+     * Se usa comparación débil, como exige If-None-Match.
+     *
+     * @param ifNoneMatch el valor de la cabecera, posiblemente una lista separada por comas
+     * @param etag el ETag actual entre comillas
+     * @return true si la copia del cliente sigue vigente
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag)) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO para aplicar una transición de estado a varias entregas a la vez.
+ * Las entregas se seleccionan por identificadores y/o por filtros; los filtros se combinan con AND.
+ */
+public class BulkDeliveryTransitionRequest {
+
+    @Schema(description = "Acción a realizar sobre las entregas.",
+            example = "START",
+            allowableValues = {"SCHEDULE", "CONFIRM", "START", "COMPLETE", "CANCEL"},
+            required = true)
+    private String action;
+
+    @Schema(description = "Fecha y hora programada para las entregas (solo requerido para SCHEDULE).",
+            example = "2024-07-08T14:00:00")
+    private LocalDateTime scheduledDate;
+
+    @Schema(description = "Identificadores de las entregas a modificar.")
+    private List<String> deliveryIds;
+
+    @Schema(description = "Filtro por ruta asignada.", example = "ROUTE-001")
+    private String routeId;
+
+    @Schema(description = "Filtro por repartidor asignado.", example = "COURIER-001")
+    private String deliveryPersonId;
+
+    @Schema(description = "Filtro por estado actual.", example = "CONFIRMED")
+    private String status;
+
+    public BulkDeliveryTransitionRequest() {}
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public LocalDateTime getScheduledDate() { return scheduledDate; }
+    public void setScheduledDate(LocalDateTime scheduledDate) { this.scheduledDate = scheduledDate; }
+
+    public List<String> getDeliveryIds() { return deliveryIds; }
+    public void setDeliveryIds(List<String> deliveryIds) { this.deliveryIds = deliveryIds; }
+
+    public String getRouteId() { return routeId; }
+    public void setRouteId(String routeId) { this.routeId = routeId; }
+
+    public String getDeliveryPersonId() { return deliveryPersonId; }
+    public void setDeliveryPersonId(String deliveryPersonId) { this.deliveryPersonId = deliveryPersonId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
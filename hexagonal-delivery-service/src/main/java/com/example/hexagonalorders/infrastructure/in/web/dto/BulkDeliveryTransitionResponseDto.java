@@ -0,0 +1,61 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta de una transición en bloque.
+ * Incluye las entregas modificadas y, si se enviaron identificadores, los que no se modificaron
+ * (inexistentes o en un estado que no permite la transición).
+ */
+public class BulkDeliveryTransitionResponseDto {
+    private String action;
+    private int updated;
+    private List<TransitionedDeliveryDto> deliveries;
+    private List<String> skippedDeliveryIds;
+
+    public BulkDeliveryTransitionResponseDto() {}
+
+    public BulkDeliveryTransitionResponseDto(String action, List<TransitionedDeliveryDto> deliveries, List<String> skippedDeliveryIds) {
+        this.action = action;
+        this.updated = deliveries.size();
+        this.deliveries = deliveries;
+        this.skippedDeliveryIds = skippedDeliveryIds;
+    }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+    public int getUpdated() { return updated; }
+    public void setUpdated(int updated) { this.updated = updated; }
+    public List<TransitionedDeliveryDto> getDeliveries() { return deliveries; }
+    public void setDeliveries(List<TransitionedDeliveryDto> deliveries) { this.deliveries = deliveries; }
+    public List<String> getSkippedDeliveryIds() { return skippedDeliveryIds; }
+    public void setSkippedDeliveryIds(List<String> skippedDeliveryIds) { this.skippedDeliveryIds = skippedDeliveryIds; }
+
+    /**
+     * Entrega modificada por la transición en bloque.
+     */
+    public static class TransitionedDeliveryDto {
+        private String deliveryId;
+        private String orderNumber;
+        private String previousStatus;
+        private String status;
+
+        public TransitionedDeliveryDto() {}
+
+        public TransitionedDeliveryDto(String deliveryId, String orderNumber, String previousStatus, String status) {
+            this.deliveryId = deliveryId;
+            this.orderNumber = orderNumber;
+            this.previousStatus = previousStatus;
+            this.status = status;
+        }
+
+        public String getDeliveryId() { return deliveryId; }
+        public void setDeliveryId(String deliveryId) { this.deliveryId = deliveryId; }
+        public String getOrderNumber() { return orderNumber; }
+        public void setOrderNumber(String orderNumber) { this.orderNumber = orderNumber; }
+        public String getPreviousStatus() { return previousStatus; }
+        public void setPreviousStatus(String previousStatus) { this.previousStatus = previousStatus; }
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO para asignar una entrega a una ruta y/o a un repartidor.
+ * Los campos omitidos conservan la asignación actual.
+ */
+public class DeliveryAssignmentRequest {
+
+    @Schema(description = "Ruta a la que se asigna la entrega.", example = "RUTA-NORTE-01")
+    private String routeId;
+
+    @Schema(description = "Repartidor al que se asigna la entrega.", example = "REP-042")
+    private String deliveryPersonId;
+
+    public DeliveryAssignmentRequest() {}
+
+    public DeliveryAssignmentRequest(String routeId, String deliveryPersonId) {
+        this.routeId = routeId;
+        this.deliveryPersonId = deliveryPersonId;
+    }
+
+    public String getRouteId() { return routeId; }
+    public void setRouteId(String routeId) { this.routeId = routeId; }
+
+    public String getDeliveryPersonId() { return deliveryPersonId; }
+    public void setDeliveryPersonId(String deliveryPersonId) { this.deliveryPersonId = deliveryPersonId; }
+}
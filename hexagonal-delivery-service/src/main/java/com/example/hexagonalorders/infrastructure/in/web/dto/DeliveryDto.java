@@ -37,6 +37,14 @@ public class DeliveryDto {
     @Schema(description = "Lista de ítems de la entrega.")
     private List<DeliveryItemDto> items;
 
+    @Schema(description = "Ruta asignada a la entrega.", 
+            example = "RUTA-NORTE-01", accessMode = Schema.AccessMode.READ_ONLY)
+    private String routeId;
+
+    @Schema(description = "Repartidor asignado a la entrega.", 
+            example = "REP-042", accessMode = Schema.AccessMode.READ_ONLY)
+    private String deliveryPersonId;
+
     public DeliveryDto() {}
 
     public DeliveryDto(String deliveryId, String orderNumber, DeliveryAddressDto deliveryAddress, 
@@ -58,6 +66,8 @@ public class DeliveryDto {
     public String getStatus() { return status; }
     public String getDeliveryNotes() { return deliveryNotes; }
     public List<DeliveryItemDto> getItems() { return items; }
+    public String getRouteId() { return routeId; }
+    public String getDeliveryPersonId() { return deliveryPersonId; }
 
     // Setters manuales para evitar problemas con Lombok
     public void setDeliveryId(String deliveryId) { this.deliveryId = deliveryId; }
@@ -67,4 +77,6 @@ public class DeliveryDto {
     public void setStatus(String status) { this.status = status; }
     public void setDeliveryNotes(String deliveryNotes) { this.deliveryNotes = deliveryNotes; }
     public void setItems(List<DeliveryItemDto> items) { this.items = items; }
+    public void setRouteId(String routeId) { this.routeId = routeId; }
+    public void setDeliveryPersonId(String deliveryPersonId) { this.deliveryPersonId = deliveryPersonId; }
 } 
\ No newline at end of file
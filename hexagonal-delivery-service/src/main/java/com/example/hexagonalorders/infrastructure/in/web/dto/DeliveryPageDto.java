@@ -0,0 +1,24 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+import java.util.List;
+
+/**
+ * DTO con una página del listado de entregas.
+ * Para obtener la página siguiente se envía nextCursor como parámetro "cursor".
+ */
+public class DeliveryPageDto {
+    private List<DeliveryDto> items;
+    private String nextCursor;
+
+    public DeliveryPageDto() {}
+
+    public DeliveryPageDto(List<DeliveryDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<DeliveryDto> getItems() { return items; }
+    public void setItems(List<DeliveryDto> items) { this.items = items; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,28 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO con el número de entregas por estado.
+ */
+public class DeliveryStatisticsDto {
+    private long total;
+    private Map<String, Long> byStatus;
+    private LocalDateTime lastReconciledAt;
+
+    public DeliveryStatisticsDto() {}
+
+    public DeliveryStatisticsDto(long total, Map<String, Long> byStatus, LocalDateTime lastReconciledAt) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.lastReconciledAt = lastReconciledAt;
+    }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+    public Map<String, Long> getByStatus() { return byStatus; }
+    public void setByStatus(Map<String, Long> byStatus) { this.byStatus = byStatus; }
+    public LocalDateTime getLastReconciledAt() { return lastReconciledAt; }
+    public void setLastReconciledAt(LocalDateTime lastReconciledAt) { this.lastReconciledAt = lastReconciledAt; }
+}
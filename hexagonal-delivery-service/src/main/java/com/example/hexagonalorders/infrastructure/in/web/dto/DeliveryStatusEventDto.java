@@ -0,0 +1,38 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO enviado a los suscriptores SSE cuando cambia el estado de una entrega.
+ * La versión es la de la entrega tras el cambio; el cliente descarta los eventos
+ * con una versión que ya ha recibido o anterior. Los avisos de vencimiento no llevan versión.
+ */
+public class DeliveryStatusEventDto {
+    private String deliveryId;
+    private String orderNumber;
+    private String status;
+    private LocalDateTime occurredOn;
+    private Long version;
+
+    public DeliveryStatusEventDto() {}
+
+    public DeliveryStatusEventDto(String deliveryId, String orderNumber, String status, LocalDateTime occurredOn,
+                                  Long version) {
+        this.deliveryId = deliveryId;
+        this.orderNumber = orderNumber;
+        this.status = status;
+        this.occurredOn = occurredOn;
+        this.version = version;
+    }
+
+    public String getDeliveryId() { return deliveryId; }
+    public void setDeliveryId(String deliveryId) { this.deliveryId = deliveryId; }
+    public String getOrderNumber() { return orderNumber; }
+    public void setOrderNumber(String orderNumber) { this.orderNumber = orderNumber; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public LocalDateTime getOccurredOn() { return occurredOn; }
+    public void setOccurredOn(LocalDateTime occurredOn) { this.occurredOn = occurredOn; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
@@ -0,0 +1,54 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con los datos de una entrega necesarios para una hoja de trabajo.
+ * No incluye ítems ni notas: se construye a partir de una proyección.
+ */
+public class DeliveryWorkItemDto {
+    private String deliveryId;
+    private String orderNumber;
+    private String status;
+    private LocalDateTime scheduledDate;
+    private String street;
+    private String city;
+    private String postalCode;
+    private String routeId;
+    private String deliveryPersonId;
+
+    public DeliveryWorkItemDto() {}
+
+    public DeliveryWorkItemDto(String deliveryId, String orderNumber, String status, LocalDateTime scheduledDate,
+                               String street, String city, String postalCode,
+                               String routeId, String deliveryPersonId) {
+        this.deliveryId = deliveryId;
+        this.orderNumber = orderNumber;
+        this.status = status;
+        this.scheduledDate = scheduledDate;
+        this.street = street;
+        this.city = city;
+        this.postalCode = postalCode;
+        this.routeId = routeId;
+        this.deliveryPersonId = deliveryPersonId;
+    }
+
+    public String getDeliveryId() { return deliveryId; }
+    public void setDeliveryId(String deliveryId) { this.deliveryId = deliveryId; }
+    public String getOrderNumber() { return orderNumber; }
+    public void setOrderNumber(String orderNumber) { this.orderNumber = orderNumber; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public LocalDateTime getScheduledDate() { return scheduledDate; }
+    public void setScheduledDate(LocalDateTime scheduledDate) { this.scheduledDate = scheduledDate; }
+    public String getStreet() { return street; }
+    public void setStreet(String street) { this.street = street; }
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    public String getPostalCode() { return postalCode; }
+    public void setPostalCode(String postalCode) { this.postalCode = postalCode; }
+    public String getRouteId() { return routeId; }
+    public void setRouteId(String routeId) { this.routeId = routeId; }
+    public String getDeliveryPersonId() { return deliveryPersonId; }
+    public void setDeliveryPersonId(String deliveryPersonId) { this.deliveryPersonId = deliveryPersonId; }
+}
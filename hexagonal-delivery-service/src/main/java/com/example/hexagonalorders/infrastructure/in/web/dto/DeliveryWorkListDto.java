@@ -0,0 +1,31 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+import java.util.List;
+
+/**
+ * DTO con una página de una hoja de trabajo (ruta o repartidor).
+ */
+public class DeliveryWorkListDto {
+    private List<DeliveryWorkItemDto> items;
+    private int page;
+    private int size;
+    private boolean hasNext;
+
+    public DeliveryWorkListDto() {}
+
+    public DeliveryWorkListDto(List<DeliveryWorkItemDto> items, int page, int size, boolean hasNext) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.hasNext = hasNext;
+    }
+
+    public List<DeliveryWorkItemDto> getItems() { return items; }
+    public void setItems(List<DeliveryWorkItemDto> items) { this.items = items; }
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+}
@@ -11,7 +11,6 @@ import com.example.hexagonalorders.infrastructure.in.web.dto.DeliveryItemDto;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryItem;
 import org.springframework.stereotype.Component;
 import java.util.ArrayList;
-import java.util.stream.Collectors;
 import java.util.List;
 
 /**
@@ -26,7 +25,7 @@ public class DeliveryMapper {
         if (delivery == null) {
             return null;
         }
-        return new DeliveryDto(
+        DeliveryDto dto = new DeliveryDto(
             delivery.getDeliveryId().value(),
             delivery.getOrderNumber(),
             toAddressDto(delivery.getDeliveryAddress()),
@@ -35,6 +34,13 @@ public class DeliveryMapper {
             delivery.getDeliveryNotes(),
             toItemDtoList(delivery.getItems())
         );
+        if (delivery.getRouteId() != null) {
+            dto.setRouteId(delivery.getRouteId().value());
+        }
+        if (delivery.getDeliveryPersonId() != null) {
+            dto.setDeliveryPersonId(delivery.getDeliveryPersonId().value());
+        }
+        return dto;
     }
     
     public Delivery toDomain(DeliveryDto dto) {
@@ -83,18 +89,22 @@ public class DeliveryMapper {
 
     private List<DeliveryItemDto> toItemDtoList(List<DeliveryItem> items) {
         if (items == null) return new ArrayList<>();
-        return items.stream()
-            .map(item -> new DeliveryItemDto(item.getProductNumber().value(), item.getQuantity().value()))
-            .collect(Collectors.toList());
+        List<DeliveryItemDto> dtos = new ArrayList<>(items.size());
+        for (DeliveryItem item : items) {
+            dtos.add(new DeliveryItemDto(item.getProductNumber().value(), item.getQuantity().value()));
+        }
+        return dtos;
     }
     private List<DeliveryItem> toDomainItemList(List<DeliveryItemDto> items) {
         if (items == null) return new ArrayList<>();
-        return items.stream()
-            .map(dto -> new DeliveryItem(
+        List<DeliveryItem> domainItems = new ArrayList<>(items.size());
+        for (DeliveryItemDto dto : items) {
+            domainItems.add(new DeliveryItem(
                 new com.example.hexagonalorders.domain.model.valueobject.ProductNumber(dto.getProductNumber()),
                 new com.example.hexagonalorders.domain.model.valueobject.Quantity(dto.getQuantity())
-            ))
-            .collect(Collectors.toList());
+            ));
+        }
+        return domainItems;
     }
 
     public static class DeliveryCreationData {
@@ -0,0 +1,50 @@
+package com.example.hexagonalorders.infrastructure.in.web.stream;
+
+import com.example.hexagonalorders.domain.event.DeliveryOverdueEvent;
+import com.example.hexagonalorders.domain.event.DeliveryStatusChangedEvent;
+import com.example.hexagonalorders.infrastructure.in.web.dto.DeliveryStatusEventDto;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Reenvía los cambios de estado de entregas al registro de suscriptores SSE.
+ * Se ejecuta tras el commit para no notificar cambios que luego se revierten.
+ * También reenvía los avisos de entregas vencidas.
+ */
+@Component
+public class DeliveryStatusStreamListener {
+
+    public static final String STATUS_EVENT = "estado";
+    public static final String OVERDUE_EVENT = "vencida";
+
+    private final DeliveryStatusStreamRegistry registry;
+
+    public DeliveryStatusStreamListener(DeliveryStatusStreamRegistry registry) {
+        this.registry = registry;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(DeliveryStatusChangedEvent event) {
+        DeliveryStatusEventDto payload = new DeliveryStatusEventDto(
+            event.getDeliveryId(),
+            event.getOrderNumber(),
+            event.getNewStatus().name(),
+            event.getOccurredOn(),
+            event.getVersion()
+        );
+        registry.publish(event.getDeliveryId(), event.getOrderNumber(), STATUS_EVENT, payload);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOverdue(DeliveryOverdueEvent event) {
+        DeliveryStatusEventDto payload = new DeliveryStatusEventDto(
+            event.getDeliveryId(),
+            event.getOrderNumber(),
+            event.getStatus().name(),
+            event.getOccurredOn(),
+            null
+        );
+        registry.publish(event.getDeliveryId(), event.getOrderNumber(), OVERDUE_EVENT, payload);
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.hexagonalorders.infrastructure.in.web.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Registro en memoria de suscriptores SSE a cambios de estado de entregas.
+ * 
+ * Cada tópico (una entrega o un número de orden) mantiene un conjunto de suscripciones.
+ * Un suscriptor inactivo solo ocupa su emisor y un buffer acotado: no hay hilos por
+ * suscriptor. Los envíos se realizan desde un pool compartido y cada suscripción se
+ * drena como máximo por un hilo a la vez, conservando el orden de los eventos.
+ * 
+ * Si el buffer de un suscriptor se llena (cliente lento o conexión bloqueada),
+ * la suscripción se descarta y el cliente debe reconectarse. Como un envío bloqueado
+ * en el socket retiene su hilo del pool, un vigilante revisa los envíos en curso
+ * (eventos y keep-alive, que se envían por la misma vía) y descarta la suscripción cuyo
+ * envío supere delivery.stream.write-timeout-ms, interrumpiendo su hilo, para que unos
+ * pocos clientes atascados no detengan el reparto al resto.
+ */
+@Component
+public class DeliveryStatusStreamRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeliveryStatusStreamRegistry.class);
+
+    private static final String DELIVERY_TOPIC = "delivery:";
+    private static final String ORDER_TOPIC = "order:";
+
+    private final Map<String, Set<Subscription>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeat;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+    private final Counter deliveredCounter;
+    private final Counter droppedCounter;
+
+    public DeliveryStatusStreamRegistry(MeterRegistry meterRegistry,
+                                        @Value("${delivery.stream.buffer-size:32}") int bufferSize,
+                                        @Value("${delivery.stream.timeout-ms:1800000}") long timeoutMillis,
+                                        @Value("${delivery.stream.dispatch-threads:4}") int dispatchThreads,
+                                        @Value("${delivery.stream.heartbeat-seconds:30}") long heartbeatSeconds,
+                                        @Value("${delivery.stream.write-timeout-ms:5000}") long writeTimeoutMillis) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, daemon("delivery-stream-"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("delivery-stream-heartbeat-"));
+        this.heartbeat.scheduleAtFixedRate(this::sendHeartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        long watchdogMillis = Math.max(100L, writeTimeoutMillis / 2);
+        this.heartbeat.scheduleAtFixedRate(this::abortStalledSends, watchdogMillis, watchdogMillis, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("delivery.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Suscriptores SSE activos a cambios de estado de entregas")
+                .register(meterRegistry);
+        this.deliveredCounter = Counter.builder("delivery.stream.events.delivered")
+                .description("Eventos de estado enviados a suscriptores SSE")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("delivery.stream.subscribers.dropped")
+                .description("Suscriptores SSE descartados por buffer lleno, envío bloqueado o error de envío")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Suscribe a los cambios de una entrega y le envía su estado actual. La suscripción
+     * se registra antes de leer el estado, así que ningún cambio confirmado entre la
+     * lectura y el registro se pierde; a cambio, un cambio puede llegar antes que el
+     * estado actual o repetirlo, y el cliente descarta los eventos por versión.
+     * Si la entrega no existe, la suscripción se retira y se devuelve vacío.
+     */
+    public Optional<SseEmitter> subscribeToDelivery(String deliveryId, String eventName,
+                                                    Supplier<? extends Optional<?>> currentState) {
+        Subscription subscription = subscribe(DELIVERY_TOPIC + deliveryId);
+        Optional<?> current;
+        try {
+            current = currentState.get();
+        } catch (RuntimeException e) {
+            remove(subscription);
+            throw e;
+        }
+        if (current.isEmpty()) {
+            remove(subscription);
+            return Optional.empty();
+        }
+        subscription.offer(SseEmitter.event().name(eventName).data(current.get()));
+        return Optional.of(subscription.emitter);
+    }
+
+    public SseEmitter subscribeToOrder(String orderNumber) {
+        return subscribe(ORDER_TOPIC + orderNumber).emitter;
+    }
+
+    /**
+     * Publica un cambio de estado a los suscriptores de la entrega y de su orden.
+     */
+    public void publish(String deliveryId, String orderNumber, String eventName, Object payload) {
+        fanOut(DELIVERY_TOPIC + deliveryId, eventName, payload);
+        if (orderNumber != null) {
+            fanOut(ORDER_TOPIC + orderNumber, eventName, payload);
+        }
+    }
+
+    private Subscription subscribe(String topic) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(topic, emitter, bufferSize);
+        topics.computeIfAbsent(topic, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+        subscribers.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(error -> remove(subscription));
+        return subscription;
+    }
+
+    private void fanOut(String topic, String eventName, Object payload) {
+        Set<Subscription> subscriptions = topics.get(topic);
+        if (subscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(SseEmitter.event().name(eventName).data(payload));
+        }
+    }
+
+    private void sendHeartbeat() {
+        for (Set<Subscription> subscriptions : topics.values()) {
+            for (Subscription subscription : subscriptions) {
+                subscription.offer(SseEmitter.event().comment("keep-alive"));
+            }
+        }
+    }
+
+    /**
+     * Descarta las suscripciones cuyo envío en curso supera el tiempo máximo de escritura
+     * e interrumpe el hilo que envía. El emisor no se completa desde aquí, porque eso
+     * esperaría al mismo envío bloqueado: lo completa el hilo del pool cuando el envío
+     * falla por la interrupción o, como tarde, por el timeout de escritura del contenedor.
+     */
+    void abortStalledSends() {
+        long now = System.nanoTime();
+        for (Set<Subscription> subscriptions : topics.values()) {
+            for (Subscription subscription : subscriptions) {
+                if (subscription.interruptSendStartedBefore(now - writeTimeoutNanos) && remove(subscription)) {
+                    logger.debug("Envío bloqueado descartado en el tópico {}", subscription.topic);
+                    droppedCounter.increment();
+                }
+            }
+        }
+    }
+
+    private boolean remove(Subscription subscription) {
+        if (!subscription.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscribers.decrementAndGet();
+        topics.computeIfPresent(subscription.topic, (key, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+        return true;
+    }
+
+    private void drop(Subscription subscription, Throwable cause) {
+        if (remove(subscription)) {
+            droppedCounter.increment();
+        }
+        if (cause != null) {
+            subscription.emitter.completeWithError(cause);
+        } else {
+            subscription.emitter.complete();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        for (Set<Subscription> subscriptions : topics.values()) {
+            for (Subscription subscription : subscriptions) {
+                subscription.emitter.complete();
+            }
+        }
+        topics.clear();
+    }
+
+    private static java.util.concurrent.ThreadFactory daemon(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Suscripción individual con su buffer acotado. El indicador {@code scheduled}
+     * garantiza que como mucho un hilo del pool drena la cola en cada momento. El hilo
+     * que está enviando y el inicio del envío se publican bajo el monitor de la
+     * suscripción, de modo que el vigilante solo interrumpe un hilo mientras envía a
+     * esta suscripción y no cuando ya atiende a otra.
+     */
+    private final class Subscription {
+        private final String topic;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private Thread sendingThread;
+        private long sendStartedNanos;
+
+        private Subscription(String topic, SseEmitter emitter, int bufferSize) {
+            this.topic = topic;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                logger.debug("Suscriptor lento descartado en el tópico {}", topic);
+                drop(this, null);
+                return;
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    beginSend();
+                    try {
+                        emitter.send(event);
+                    } finally {
+                        endSend();
+                    }
+                    deliveredCounter.increment();
+                }
+            } catch (IOException | IllegalStateException e) {
+                drop(this, e);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            // Un evento pudo llegar entre el último poll y la liberación del indicador
+            if (!buffer.isEmpty() && !closed.get() && scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private synchronized void beginSend() {
+            sendingThread = Thread.currentThread();
+            sendStartedNanos = System.nanoTime();
+        }
+
+        private synchronized void endSend() {
+            sendingThread = null;
+            // Una interrupción del vigilante que llegó tras el envío no debe afectar al siguiente
+            Thread.interrupted();
+        }
+
+        /**
+         * Interrumpe el envío en curso si empezó antes del límite indicado.
+         */
+        private synchronized boolean interruptSendStartedBefore(long deadlineNanos) {
+            if (sendingThread == null || sendStartedNanos - deadlineNanos > 0) {
+                return false;
+            }
+            sendingThread.interrupt();
+            return true;
+        }
+    }
+}
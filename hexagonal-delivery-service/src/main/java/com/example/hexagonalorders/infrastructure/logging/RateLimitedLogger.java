@@ -0,0 +1,68 @@
+package com.example.hexagonalorders.infrastructure.logging;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envoltorio de logger para eventos por mensaje en caminos calientes.
+ * Se escriben como máximo {@code permits} mensajes por ventana; el resto se cuenta
+ * y se informa en una única línea de resumen al abrirse la siguiente ventana. La
+ * comprobación de nivel y de permiso se hacen antes de formatear argumentos, por lo
+ * que una llamada suprimida cuesta dos operaciones atómicas.
+ *
+ * Solo debe usarse para tráfico rutinario INFO/DEBUG. Los avisos y errores van por
+ * el logger normal para que nunca se descarten por muestreo.
+ */
+public final class RateLimitedLogger {
+
+    private final Logger logger;
+    private final long windowNanos;
+    private final int permits;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger used = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public RateLimitedLogger(Logger logger, int permits, Duration window) {
+        this.logger = logger;
+        this.permits = permits;
+        this.windowNanos = window.toNanos();
+    }
+
+    public void info(String format, Object arg) {
+        if (logger.isInfoEnabled() && tryAcquire()) {
+            logger.info(format, arg);
+        }
+    }
+
+    public void info(String format, Object arg1, Object arg2) {
+        if (logger.isInfoEnabled() && tryAcquire()) {
+            logger.info(format, arg1, arg2);
+        }
+    }
+
+    public void info(String format, Object... args) {
+        if (logger.isInfoEnabled() && tryAcquire()) {
+            logger.info(format, args);
+        }
+    }
+
+    private boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+            long dropped = suppressed.getAndSet(0);
+            if (dropped > 0) {
+                logger.info("{} mensajes de log similares suprimidos en los últimos {} ms", dropped, windowNanos / 1_000_000);
+            }
+        }
+        if (used.incrementAndGet() <= permits) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+}
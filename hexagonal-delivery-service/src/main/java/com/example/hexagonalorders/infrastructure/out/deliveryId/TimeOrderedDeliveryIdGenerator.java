@@ -0,0 +1,61 @@
+package com.example.hexagonalorders.infrastructure.out.deliveryId;
+
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
+import com.example.hexagonalorders.domain.port.out.DeliveryIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Adaptador secundario que genera identificadores de entrega como UUID ordenados por tiempo (versión 7).
+ * Los primeros bits son el instante de creación en milisegundos, de modo que las inserciones
+ * caen al final del índice único de delivery_id en lugar de en posiciones aleatorias.
+ *
+ * Formato (RFC 9562): 48 bits de milisegundos Unix | versión 7 | contador de 12 bits | variante |
+ * 10 bits de nodo | 52 bits aleatorios. El nodo (delivery.id.node-id) debe ser distinto en
+ * cada réplica. El contador sigue el método 1 del RFC: arranca en un valor aleatorio menor
+ * que 2048 en cada milisegundo nuevo y se incrementa con cada identificador del mismo
+ * milisegundo; si se desborda, el acarreo avanza el instante. Instante y contador se
+ * actualizan juntos con un CAS, así que los identificadores de una instancia son
+ * estrictamente crecientes aunque el reloj retroceda.
+ */
+@Component
+public class TimeOrderedDeliveryIdGenerator implements DeliveryIdGenerator {
+
+    static final int MAX_NODE_ID = (1 << 10) - 1;
+
+    private final long nodeBits;
+    // Instante en los 48 bits altos y contador en los 12 bajos
+    private final AtomicLong lastTick = new AtomicLong();
+
+    public TimeOrderedDeliveryIdGenerator(@Value("${delivery.id.node-id:0}") int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("delivery.id.node-id debe estar entre 0 y " + MAX_NODE_ID);
+        }
+        this.nodeBits = (long) nodeId << 52;
+    }
+
+    @Override
+    public DeliveryId generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long tick = nextTick(random);
+        long mostSignificant = ((tick >>> 12) << 16) | 0x7000L | (tick & 0x0FFFL);
+        long leastSignificant = 0x8000_0000_0000_0000L | nodeBits | (random.nextLong() & 0x000F_FFFF_FFFF_FFFFL);
+        return new DeliveryId(new UUID(mostSignificant, leastSignificant).toString());
+    }
+
+    private long nextTick(ThreadLocalRandom random) {
+        long start = (System.currentTimeMillis() & 0xFFFF_FFFF_FFFFL) << 12;
+        while (true) {
+            long last = lastTick.get();
+            // El bit alto de la semilla queda a cero: al menos 2048 incrementos por milisegundo
+            long next = start > last ? start | random.nextInt(0x0800) : last + 1;
+            if (lastTick.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -17,6 +17,6 @@ public class NoOpMessagePublisher implements MessagePublisher {
    @Override
    public void publish(String topic, String payload) {
        // Aquí iría código para publicar a Kafka u otro bus de mensajes
-       log.info("Would publish message to topic '{}': {}", topic, payload);
+       log.debug("Would publish message to topic '{}': {}", topic, payload);
    }
 } 
\ No newline at end of file
@@ -2,18 +2,33 @@ package com.example.hexagonalorders.infrastructure.out.persistence.entity;
 
 import jakarta.persistence.*;
 import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.ArrayList;
 
 @Entity
-@Table(name = "deliveries")
+@Table(name = "deliveries",
+       indexes = {
+           @Index(name = "idx_deliveries_status_scheduled",
+                  columnList = "status, scheduled_date, delivery_id"),
+           @Index(name = "idx_deliveries_route_status_scheduled",
+                  columnList = "route_id, status, scheduled_date"),
+           @Index(name = "idx_deliveries_person_status",
+                  columnList = "delivery_person_id, status"),
+           @Index(name = "idx_deliveries_order_number",
+                  columnList = "order_number")
+       })
+@DynamicUpdate
 public class DeliveryEntity {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    @NaturalId
     @Column(name = "delivery_id", unique = true, nullable = false)
     private String deliveryId;
     
@@ -51,7 +66,12 @@ public class DeliveryEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @OneToMany(mappedBy = "delivery", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<DeliveryItemEntity> items = new ArrayList<>();
 
     public DeliveryEntity() {}
@@ -179,4 +199,12 @@ public class DeliveryEntity {
 
     public List<DeliveryItemEntity> getItems() { return items; }
     public void setItems(List<DeliveryItemEntity> items) { this.items = items; }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA de la marca de agua de un proceso periódico.
+ */
+@Entity
+@Table(name = "sweep_watermarks")
+public class SweepWatermarkEntity {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "watermark", nullable = false)
+    private LocalDateTime watermark;
+
+    @Column(name = "last_key", length = 64)
+    private String lastKey;
+
+    protected SweepWatermarkEntity() {
+    }
+
+    public SweepWatermarkEntity(String name, LocalDateTime watermark, String lastKey) {
+        this.name = name;
+        this.watermark = watermark;
+        this.lastKey = lastKey;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDateTime getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(LocalDateTime watermark) {
+        this.watermark = watermark;
+    }
+
+    public String getLastKey() {
+        return lastKey;
+    }
+
+    public void setLastKey(String lastKey) {
+        this.lastKey = lastKey;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.hotstore;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Journal local de solo anexado con las transiciones de las entregas activas.
+ *
+ * Cada instantánea se escribe como una línea JSON en el segmento activo antes de
+ * confirmar la transición. La escritura diferida rota el segmento, lleva a la base
+ * de datos las entregas anotadas en él y, si lo consigue, borra los segmentos
+ * sellados. Tras una caída, los segmentos que sigan en disco se reaplican al
+ * arrancar; las instantáneas llevan la versión, por lo que reaplicarlas es idempotente.
+ *
+ * Los métodos que tocan el segmento activo o el conjunto de entregas pendientes
+ * están sincronizados: la rotación ve exactamente las entregas de las líneas selladas.
+ */
+final class DeliveryJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(DeliveryJournal.class);
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final boolean fsync;
+    private final List<Path> recoveredSegments;
+    private FileChannel active;
+    private long activeSequence;
+    private Set<String> pendingIds = new HashSet<>();
+
+    /**
+     * Segmento sellado por una rotación y las entregas anotadas en él.
+     */
+    record Rotation(long sequence, Set<String> deliveryIds) {
+    }
+
+    DeliveryJournal(Path directory, ObjectMapper objectMapper, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        this.recoveredSegments = listSegments();
+        this.activeSequence = recoveredSegments.isEmpty() ? 1 : sequenceOf(recoveredSegments.get(recoveredSegments.size() - 1)) + 1;
+        this.active = openSegment(activeSequence);
+    }
+
+    /**
+     * Lee los segmentos que dejó la ejecución anterior.
+     *
+     * @return la última instantánea de cada entrega, en orden de escritura
+     */
+    List<DeliverySnapshot> readRecovered() throws IOException {
+        Map<String, DeliverySnapshot> latest = new LinkedHashMap<>();
+        for (Path segment : recoveredSegments) {
+            try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        DeliverySnapshot snapshot = objectMapper.readValue(line, DeliverySnapshot.class);
+                        latest.put(snapshot.deliveryId(), snapshot);
+                    } catch (JsonProcessingException e) {
+                        // Solo la última línea de un segmento puede quedar a medias tras una caída
+                        log.warn("Línea ilegible en el journal de entregas {}, se ignora", segment.getFileName());
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    /**
+     * Borra los segmentos de la ejecución anterior una vez reaplicados.
+     */
+    synchronized void completeRecovery() throws IOException {
+        for (Path segment : recoveredSegments) {
+            Files.deleteIfExists(segment);
+        }
+        recoveredSegments.clear();
+    }
+
+    /**
+     * Anota una instantánea en el segmento activo y marca la entrega como pendiente.
+     */
+    synchronized void append(DeliverySnapshot snapshot) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(snapshot);
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            active.write(buffer);
+        }
+        if (fsync) {
+            active.force(false);
+        }
+        pendingIds.add(snapshot.deliveryId());
+    }
+
+    /**
+     * Sella el segmento activo y abre uno nuevo.
+     *
+     * @return el segmento sellado con sus entregas, o null si no había nada pendiente
+     */
+    synchronized Rotation rotate() throws IOException {
+        if (pendingIds.isEmpty()) {
+            return null;
+        }
+        active.close();
+        Rotation rotation = new Rotation(activeSequence, pendingIds);
+        activeSequence++;
+        active = openSegment(activeSequence);
+        pendingIds = new HashSet<>();
+        return rotation;
+    }
+
+    /**
+     * Borra los segmentos sellados hasta el indicado, ya escritos en la base de datos.
+     */
+    synchronized void complete(long sealedSequence) throws IOException {
+        for (Path segment : listSegments()) {
+            long sequence = sequenceOf(segment);
+            if (sequence <= sealedSequence && sequence != activeSequence) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    /**
+     * Devuelve a pendientes las entregas de una rotación que no se pudo escribir.
+     * Su segmento se conserva y se borra con la siguiente escritura correcta.
+     */
+    synchronized void restore(Set<String> deliveryIds) {
+        pendingIds.addAll(deliveryIds);
+    }
+
+    synchronized int pendingCount() {
+        return pendingIds.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        active.close();
+    }
+
+    private FileChannel openSegment(long sequence) throws IOException {
+        return FileChannel.open(directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX)),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files
+                .filter(file -> {
+                    String name = file.getFileName().toString();
+                    return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                })
+                .sorted()
+                .toList());
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.hotstore;
+
+import com.example.hexagonalorders.domain.model.Delivery;
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado mutable de una entrega en una versión concreta. Es lo que se anota en el
+ * journal y lo que la escritura diferida lleva a la base de datos; la dirección y
+ * los ítems no cambian tras la creación y no forman parte de la instantánea.
+ */
+public record DeliverySnapshot(String deliveryId, String orderNumber, DeliveryStatus status,
+                               LocalDateTime scheduledDate, String routeId, String deliveryPersonId,
+                               long version) {
+
+    static DeliverySnapshot of(Delivery delivery, long version) {
+        return new DeliverySnapshot(
+            delivery.getDeliveryId().value(),
+            delivery.getOrderNumber(),
+            delivery.getStatus(),
+            delivery.getScheduledDate().value(),
+            delivery.getRouteId() != null ? delivery.getRouteId().value() : null,
+            delivery.getDeliveryPersonId() != null ? delivery.getDeliveryPersonId().value() : null,
+            version
+        );
+    }
+}
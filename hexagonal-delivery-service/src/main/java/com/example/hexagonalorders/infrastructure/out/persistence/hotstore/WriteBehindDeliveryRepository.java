@@ -0,0 +1,524 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.hotstore;
+
+import com.example.hexagonalorders.domain.model.Delivery;
+import com.example.hexagonalorders.domain.model.DeliveryCriteria;
+import com.example.hexagonalorders.domain.model.DeliveryFilter;
+import com.example.hexagonalorders.domain.model.DeliveryPage;
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.DeliveryTransition;
+import com.example.hexagonalorders.domain.model.DeliveryWorkList;
+import com.example.hexagonalorders.domain.model.OverdueDelivery;
+import com.example.hexagonalorders.domain.model.TransitionedDelivery;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryPersonId;
+import com.example.hexagonalorders.domain.model.valueobject.RouteId;
+import com.example.hexagonalorders.domain.port.out.DeliveryRepository;
+import com.example.hexagonalorders.infrastructure.out.persistence.repository.DeliveryRepositoryAdapter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Decorador del puerto DeliveryRepository que mantiene en memoria las entregas activas
+ * (de CREATED a IN_TRANSIT) y escribe sus transiciones en diferido.
+ *
+ * - Las lecturas por id de una entrega activa se sirven desde memoria, siempre como copia.
+ * - Cada transición de una entrega activa se anota en un journal local
+ *   ({@link DeliveryJournal}) y se lleva a la base de datos en lotes periódicos.
+ * - Las altas y las transiciones a un estado final (COMPLETED, CANCELLED) se escriben
+ *   directamente en la base de datos, dentro de la transacción del llamante; las
+ *   entregas finalizadas salen de memoria.
+ * - Al arrancar se reaplican los segmentos del journal que no llegaron a escribirse.
+ *
+ * Dentro de una transacción los cambios quedan preparados y solo se anotan en el
+ * journal, se guardan en memoria o se expulsan al confirmarse; si la transacción se
+ * revierte se descartan. Mientras tanto la entrega queda reservada para esa
+ * transacción y cualquier otra que intente guardarla recibe un conflicto de versión.
+ *
+ * Las operaciones sobre una misma entrega se serializan con un cerrojo por franja
+ * (stripe) según su id. Las transiciones masivas y los borrados, que escriben
+ * directamente en la base de datos, toman el cerrojo exclusivo: vacían antes lo
+ * pendiente, expulsan después de memoria las entregas afectadas y, como save, dan un
+ * conflicto de versión si alguna está reservada por otra transacción.
+ *
+ * Una transición es duradera en cuanto se anota en el journal tras confirmar la
+ * transacción del llamante; si esa anotación falla, el llamante recibe el error.
+ * Las consultas de listados, hojas de trabajo, conteos y vencidas leen la base de
+ * datos y pueden ir por detrás de la memoria como mucho un intervalo de escritura;
+ * findAll, findByStatus y findPage sustituyen las entregas activas por
+ * su estado en memoria. Solo es válido con una única instancia escribiendo las
+ * entregas, ya que la memoria de cada réplica es la fuente de verdad de las suyas.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "delivery.hot-store.enabled", havingValue = "true")
+public class WriteBehindDeliveryRepository implements DeliveryRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindDeliveryRepository.class);
+
+    private final DeliveryRepositoryAdapter delegate;
+    private final DeliveryJournal journal;
+    private final TransactionTemplate flushTransaction;
+    private final Map<String, Delivery> activeDeliveries = new ConcurrentHashMap<>();
+    private final Map<String, StagedChanges> reservations = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes;
+    private final ReentrantReadWriteLock bulkLock = new ReentrantReadWriteLock();
+    private final Timer flushTimer;
+
+    public WriteBehindDeliveryRepository(DeliveryRepositoryAdapter delegate, ObjectMapper objectMapper,
+                                         PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                         @Value("${delivery.hot-store.journal-dir:data/delivery-journal}") String journalDir,
+                                         @Value("${delivery.hot-store.journal-fsync:true}") boolean journalFsync,
+                                         @Value("${delivery.hot-store.stripes:64}") int stripeCount) {
+        this.delegate = delegate;
+        try {
+            this.journal = new DeliveryJournal(Path.of(journalDir), objectMapper, journalFsync);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el journal de entregas en " + journalDir, e);
+        }
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripeCount))];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.flushTimer = Timer.builder("delivery.hotstore.flush")
+            .description("Tiempo de cada escritura diferida de entregas activas")
+            .register(meterRegistry);
+        Gauge.builder("delivery.hotstore.active", activeDeliveries, Map::size)
+            .description("Entregas activas mantenidas en memoria")
+            .register(meterRegistry);
+        Gauge.builder("delivery.hotstore.pending", journal, DeliveryJournal::pendingCount)
+            .description("Entregas con transiciones anotadas en el journal pendientes de escribir")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Reaplica en la base de datos los segmentos del journal de la ejecución anterior.
+     * Si no se pueden escribir, el arranque falla y los segmentos se conservan.
+     */
+    @PostConstruct
+    void recover() throws IOException {
+        List<DeliverySnapshot> recovered = journal.readRecovered();
+        if (!recovered.isEmpty()) {
+            Integer updated = flushTransaction.execute(status -> delegate.writeSnapshots(recovered));
+            log.info("Journal de entregas reaplicado: {} entregas, {} actualizadas", recovered.size(), updated);
+        }
+        journal.completeRecovery();
+    }
+
+    @Override
+    public Delivery save(Delivery delivery) {
+        String key = delivery.getDeliveryId().value();
+        StagedChanges staged = currentTransactionChanges();
+        bulkLock.readLock().lock();
+        ReentrantLock lock = stripeFor(key);
+        lock.lock();
+        try {
+            StagedChanges owner = reservations.get(key);
+            if (owner != null && owner != staged) {
+                throw new OptimisticLockingFailureException(
+                    "La entrega " + key + " tiene cambios sin confirmar de otra transacción");
+            }
+            Delivery current = staged != null && staged.contains(key) ? staged.deliveryOf(key) : activeDeliveries.get(key);
+            if (current == null) {
+                Delivery saved = delegate.save(delivery);
+                if (saved.isActive()) {
+                    apply(staged, key, Change.cache(copyOf(saved)));
+                }
+                return saved;
+            }
+            long currentVersion = versionOf(current);
+            if (delivery.getVersion() != null && delivery.getVersion() != currentVersion) {
+                throw new OptimisticLockingFailureException(
+                    "La entrega " + key + " ha sido modificada concurrentemente");
+            }
+            if (DeliverySnapshot.of(delivery, currentVersion).equals(DeliverySnapshot.of(current, currentVersion))) {
+                delivery.setVersion(currentVersion);
+                return delivery;
+            }
+            DeliverySnapshot snapshot = DeliverySnapshot.of(delivery, currentVersion + 1);
+            if (delivery.isActive()) {
+                delivery.setVersion(snapshot.version());
+                apply(staged, key, Change.journal(snapshot, copyOf(delivery)));
+            } else {
+                delegate.writeSnapshots(List.of(snapshot));
+                delivery.setVersion(snapshot.version());
+                apply(staged, key, Change.evict());
+            }
+            return delivery;
+        } finally {
+            lock.unlock();
+            bulkLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Delivery> findById(DeliveryId deliveryId) {
+        String key = deliveryId.value();
+        StagedChanges staged = TransactionSynchronizationManager.isSynchronizationActive()
+            ? (StagedChanges) TransactionSynchronizationManager.getResource(this)
+            : null;
+        if (staged != null && staged.contains(key)) {
+            // La transacción ve sus propios cambios; una expulsión se lee de la base de datos
+            Delivery own = staged.deliveryOf(key);
+            return own != null ? Optional.of(copyOf(own)) : delegate.findById(deliveryId);
+        }
+        Delivery cached = activeDeliveries.get(key);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        bulkLock.readLock().lock();
+        ReentrantLock lock = stripeFor(key);
+        lock.lock();
+        try {
+            cached = activeDeliveries.get(key);
+            if (cached != null) {
+                return Optional.of(copyOf(cached));
+            }
+            Optional<Delivery> loaded = delegate.findById(deliveryId);
+            loaded.filter(Delivery::isActive)
+                .ifPresent(delivery -> activeDeliveries.put(key, copyOf(delivery)));
+            return loaded;
+        } finally {
+            lock.unlock();
+            bulkLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Long> findVersionById(DeliveryId deliveryId) {
+        Delivery cached = activeDeliveries.get(deliveryId.value());
+        if (cached != null) {
+            return Optional.of(versionOf(cached));
+        }
+        return delegate.findVersionById(deliveryId);
+    }
+
+    @Override
+    public List<Delivery> findAll() {
+        return overlay(delegate.findAll());
+    }
+
+    @Override
+    public List<Delivery> findByStatus(DeliveryStatus status) {
+        List<Delivery> deliveries = overlay(delegate.findByStatus(status));
+        deliveries.removeIf(delivery -> delivery.getStatus() != status);
+        return deliveries;
+    }
+
+    @Override
+    public Optional<DeliveryId> findIdByOrderNumber(String orderNumber) {
+        return delegate.findIdByOrderNumber(orderNumber);
+    }
+
+    @Override
+    public DeliveryPage findPage(DeliveryFilter filter, String cursor, int limit) {
+        DeliveryPage page = delegate.findPage(filter, cursor, limit);
+        return new DeliveryPage(overlay(page.items()), page.nextCursor());
+    }
+
+    @Override
+    public DeliveryWorkList findRouteWorkList(RouteId routeId, Set<DeliveryStatus> statuses,
+                                              LocalDateTime from, LocalDateTime to, int page, int size) {
+        return delegate.findRouteWorkList(routeId, statuses, from, to, page, size);
+    }
+
+    @Override
+    public DeliveryWorkList findCourierWorkList(DeliveryPersonId deliveryPersonId, Set<DeliveryStatus> statuses,
+                                                int page, int size) {
+        return delegate.findCourierWorkList(deliveryPersonId, statuses, page, size);
+    }
+
+    @Override
+    public Map<DeliveryStatus, Long> countAllByStatus() {
+        return delegate.countAllByStatus();
+    }
+
+    /**
+     * Si alguna de las entregas transicionadas está reservada por otra transacción, la
+     * operación falla con un conflicto de versión y la transacción del llamante revierte
+     * el UPDATE: de lo contrario esa transacción, al confirmarse, devolvería a memoria y
+     * al journal una copia anterior con una versión mayor que la de la fila y la
+     * siguiente escritura diferida pisaría la transición. Los cambios preparados por la
+     * propia transacción sobre esas entregas se sustituyen por su expulsión.
+     */
+    @Override
+    public List<TransitionedDelivery> applyTransition(DeliveryTransition transition, DeliveryCriteria criteria,
+                                                      LocalDateTime scheduledDate) {
+        StagedChanges staged = currentTransactionChanges();
+        bulkLock.writeLock().lock();
+        try {
+            flushPending(true);
+            List<TransitionedDelivery> transitioned = delegate.applyTransition(transition, criteria, scheduledDate);
+            for (TransitionedDelivery delivery : transitioned) {
+                String key = delivery.deliveryId().value();
+                StagedChanges owner = reservations.get(key);
+                if (owner != null && owner != staged) {
+                    throw new OptimisticLockingFailureException(
+                        "La entrega " + key + " tiene cambios sin confirmar de otra transacción");
+                }
+            }
+            for (TransitionedDelivery delivery : transitioned) {
+                String key = delivery.deliveryId().value();
+                if (staged != null && staged.contains(key)) {
+                    staged.put(key, Change.evict());
+                }
+                activeDeliveries.remove(key);
+            }
+            return transitioned;
+        } finally {
+            bulkLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<OverdueDelivery> findOverdue(DeliveryStatus status, LocalDateTime from, LocalDateTime to,
+                                             OverdueDelivery after, int limit) {
+        return delegate.findOverdue(status, from, to, after, limit);
+    }
+
+    @Override
+    public void deleteById(DeliveryId deliveryId) {
+        String key = deliveryId.value();
+        StagedChanges staged = currentTransactionChanges();
+        bulkLock.writeLock().lock();
+        try {
+            StagedChanges owner = reservations.get(key);
+            if (owner != null && owner != staged) {
+                throw new OptimisticLockingFailureException(
+                    "La entrega " + key + " tiene cambios sin confirmar de otra transacción");
+            }
+            delegate.deleteById(deliveryId);
+            apply(staged, key, Change.evict());
+        } finally {
+            bulkLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Escritura diferida periódica de las entregas con transiciones pendientes.
+     */
+    @Scheduled(fixedDelayString = "${delivery.hot-store.flush-interval-ms:500}")
+    public void flush() {
+        flushPending(false);
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        flushPending(false);
+        journal.close();
+    }
+
+    /**
+     * Rota el journal y escribe, en una transacción propia, el estado actual en memoria
+     * de las entregas anotadas en el segmento sellado. Las entregas que ya no están en
+     * memoria se omiten: su estado final se escribió de forma síncrona o fueron borradas.
+     */
+    private void flushPending(boolean failOnError) {
+        bulkLock.readLock().lock();
+        try {
+            DeliveryJournal.Rotation rotation = journal.rotate();
+            if (rotation == null) {
+                return;
+            }
+            List<DeliverySnapshot> snapshots = new ArrayList<>(rotation.deliveryIds().size());
+            for (String key : rotation.deliveryIds()) {
+                Delivery delivery = activeDeliveries.get(key);
+                if (delivery != null) {
+                    snapshots.add(DeliverySnapshot.of(delivery, versionOf(delivery)));
+                }
+            }
+            try {
+                flushTimer.record(() -> flushTransaction.executeWithoutResult(status -> delegate.writeSnapshots(snapshots)));
+                journal.complete(rotation.sequence());
+            } catch (RuntimeException e) {
+                journal.restore(rotation.deliveryIds());
+                if (failOnError) {
+                    throw e;
+                }
+                log.warn("Error en la escritura diferida de {} entregas; se reintentará", snapshots.size(), e);
+            }
+        } catch (IOException e) {
+            if (failOnError) {
+                throw new UncheckedIOException("No se pudo rotar el journal de entregas", e);
+            }
+            log.warn("No se pudo rotar el journal de entregas", e);
+        } finally {
+            bulkLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica el cambio ya, sin transacción, o lo prepara para aplicarlo al confirmar
+     * la transacción en curso, reservando la entrega para ella.
+     */
+    private void apply(StagedChanges staged, String key, Change change) {
+        if (staged == null) {
+            applyNow(key, change);
+            return;
+        }
+        reservations.put(key, staged);
+        staged.put(key, change);
+    }
+
+    private void applyNow(String key, Change change) {
+        try {
+            if (change.snapshot() != null) {
+                journal.append(change.snapshot());
+            }
+            if (change.delivery() != null) {
+                activeDeliveries.put(key, change.delivery());
+            } else {
+                activeDeliveries.remove(key);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo anotar la entrega " + key + " en el journal", e);
+        }
+    }
+
+    /**
+     * Cambios preparados por la transacción en curso, registrados como sincronización
+     * la primera vez; null si no hay sincronización de transacciones activa.
+     */
+    private StagedChanges currentTransactionChanges() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        StagedChanges staged = (StagedChanges) TransactionSynchronizationManager.getResource(this);
+        if (staged == null) {
+            staged = new StagedChanges();
+            TransactionSynchronizationManager.bindResource(this, staged);
+            TransactionSynchronizationManager.registerSynchronization(staged);
+        }
+        return staged;
+    }
+
+    /**
+     * Cambio pendiente sobre una entrega: la instantánea a anotar en el journal (si la
+     * hay) y la copia que queda en memoria, o null si la entrega sale de memoria.
+     */
+    private record Change(DeliverySnapshot snapshot, Delivery delivery) {
+
+        static Change cache(Delivery delivery) {
+            return new Change(null, delivery);
+        }
+
+        static Change journal(DeliverySnapshot snapshot, Delivery delivery) {
+            return new Change(snapshot, delivery);
+        }
+
+        static Change evict() {
+            return new Change(null, null);
+        }
+    }
+
+    /**
+     * Cambios de una transacción, el último por entrega. Se aplican en afterCommit,
+     * de modo que un fallo al anotar el journal llega al llamante, y las reservas se
+     * liberan al completarse la transacción con cualquier resultado.
+     */
+    private final class StagedChanges implements TransactionSynchronization {
+
+        private final Map<String, Change> changes = new LinkedHashMap<>();
+
+        boolean contains(String key) {
+            return changes.containsKey(key);
+        }
+
+        Delivery deliveryOf(String key) {
+            return changes.get(key).delivery();
+        }
+
+        void put(String key, Change change) {
+            changes.put(key, change);
+        }
+
+        @Override
+        public void afterCommit() {
+            bulkLock.readLock().lock();
+            try {
+                for (Map.Entry<String, Change> entry : changes.entrySet()) {
+                    ReentrantLock lock = stripeFor(entry.getKey());
+                    lock.lock();
+                    try {
+                        applyNow(entry.getKey(), entry.getValue());
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            } finally {
+                bulkLock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(WriteBehindDeliveryRepository.this);
+            changes.keySet().forEach(key -> reservations.remove(key, this));
+        }
+    }
+
+    private List<Delivery> overlay(List<Delivery> deliveries) {
+        List<Delivery> result = new ArrayList<>(deliveries.size());
+        for (Delivery delivery : deliveries) {
+            Delivery cached = activeDeliveries.get(delivery.getDeliveryId().value());
+            result.add(cached != null ? copyOf(cached) : delivery);
+        }
+        return result;
+    }
+
+    private ReentrantLock stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static long versionOf(Delivery delivery) {
+        return delivery.getVersion() != null ? delivery.getVersion() : 0L;
+    }
+
+    private static Delivery copyOf(Delivery delivery) {
+        return Delivery.rehydrate(
+            delivery.getDeliveryId(),
+            delivery.getOrderNumber(),
+            delivery.getDeliveryAddress(),
+            delivery.getScheduledDate(),
+            delivery.getStatus(),
+            delivery.getDeliveryNotes(),
+            new ArrayList<>(delivery.getItems()),
+            delivery.getRouteId(),
+            delivery.getDeliveryPersonId(),
+            delivery.getVersion()
+        );
+    }
+}
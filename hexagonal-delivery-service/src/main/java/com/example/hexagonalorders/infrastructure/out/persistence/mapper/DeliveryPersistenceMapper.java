@@ -5,16 +5,20 @@ import com.example.hexagonalorders.domain.model.DeliveryStatus;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryAddress;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryDate;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryPersonId;
+import com.example.hexagonalorders.domain.model.valueobject.RouteId;
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.DeliveryEntity;
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.DeliveryItemEntity;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryItem;
 import com.example.hexagonalorders.domain.model.valueobject.ProductNumber;
 import com.example.hexagonalorders.domain.model.valueobject.Quantity;
+import com.example.hexagonalorders.infrastructure.diagnostics.MapperJfrEvent;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 @Component
 public class DeliveryPersistenceMapper {
@@ -24,6 +28,8 @@ public class DeliveryPersistenceMapper {
             return null;
         }
         
+        MapperJfrEvent jfrEvent = new MapperJfrEvent();
+        jfrEvent.begin();
         // Crear la dirección de entrega usando los campos de la entidad
         DeliveryAddress deliveryAddress = new DeliveryAddress(
             entity.getStreet() != null ? entity.getStreet() : "Dirección por defecto",
@@ -34,23 +40,32 @@ public class DeliveryPersistenceMapper {
         );
         
         // Crear la fecha de entrega
-        DeliveryDate scheduledDate = new DeliveryDate(entity.getScheduledDate());
+        DeliveryDate scheduledDate = DeliveryDate.fromPersisted(entity.getScheduledDate());
         
-        List<DeliveryItem> items = entity.getItems() != null ? entity.getItems().stream()
-            .map(itemEntity -> new DeliveryItem(
+        List<DeliveryItemEntity> itemEntities = entity.getItems() != null ? entity.getItems() : List.of();
+        List<DeliveryItem> items = new ArrayList<>(itemEntities.size());
+        for (DeliveryItemEntity itemEntity : itemEntities) {
+            items.add(new DeliveryItem(
                 new ProductNumber(itemEntity.getProductNumber()),
                 new Quantity(itemEntity.getQuantity())
-            )).collect(Collectors.toList()) : new ArrayList<>();
+            ));
+        }
         
-        return new Delivery(
+        // La reconstrucción desde persistencia no es una creación: no genera DeliveryCreatedEvent
+        Delivery delivery = Delivery.rehydrate(
             new DeliveryId(entity.getDeliveryId()),
             entity.getOrderNumber(),
             deliveryAddress,
             scheduledDate,
             entity.getStatus(),
             "Notas de entrega por defecto",
-            items
+            items,
+            entity.getRouteId() != null ? new RouteId(entity.getRouteId()) : null,
+            entity.getDeliveryPersonId() != null ? new DeliveryPersonId(entity.getDeliveryPersonId()) : null,
+            entity.getVersion()
         );
+        jfrEvent.complete("toDomain", items.size());
+        return delivery;
     }
     
     public DeliveryEntity toEntity(Delivery delivery) {
@@ -58,11 +73,13 @@ public class DeliveryPersistenceMapper {
             return null;
         }
         
+        MapperJfrEvent jfrEvent = new MapperJfrEvent();
+        jfrEvent.begin();
         DeliveryEntity entity = new DeliveryEntity(
             delivery.getDeliveryId().value(),
             delivery.getOrderNumber(),
-            null, // routeId - no disponible en el dominio de momento
-            null, // deliveryPersonId - no disponible en el dominio de momento
+            delivery.getRouteId() != null ? delivery.getRouteId().value() : null,
+            delivery.getDeliveryPersonId() != null ? delivery.getDeliveryPersonId().value() : null,
             delivery.getDeliveryAddress().getStreet(),
             delivery.getDeliveryAddress().getCity(),
             delivery.getDeliveryAddress().getPostalCode(),
@@ -70,26 +87,72 @@ public class DeliveryPersistenceMapper {
             delivery.getStatus(),
             delivery.getScheduledDate().value()
         );
+        entity.setVersion(delivery.getVersion());
         
         // Mapear los ítems de dominio a entidades
-        List<DeliveryItemEntity> itemEntities = delivery.getItems() != null ? delivery.getItems().stream()
-            .map(item -> new DeliveryItemEntity(
+        List<DeliveryItem> items = delivery.getItems() != null ? delivery.getItems() : List.of();
+        List<DeliveryItemEntity> itemEntities = new ArrayList<>(items.size());
+        for (DeliveryItem item : items) {
+            itemEntities.add(new DeliveryItemEntity(
                 item.getProductNumber().value(),
                 item.getQuantity().value(),
                 entity
-            )).collect(Collectors.toList()) : new ArrayList<>();
+            ));
+        }
         entity.setItems(itemEntities);
+        jfrEvent.complete("toEntity", itemEntities.size());
         
         return entity;
     }
     
+    /**
+     * Copia el estado mutable de la entrega sobre una entidad gestionada.
+     * Solo se tocan las columnas que el agregado puede cambiar (estado, fecha,
+     * asignación de ruta y repartidor); los ítems y la
+     * dirección no se modifican tras la creación, por lo que no se reescriben.
+     * 
+     * @return true si alguna columna ha cambiado
+     */
+    public boolean updateEntity(Delivery delivery, DeliveryEntity entity) {
+        boolean changed = false;
+        if (entity.getStatus() != delivery.getStatus()) {
+            entity.setStatus(delivery.getStatus());
+            changed = true;
+        }
+        LocalDateTime scheduledDate = delivery.getScheduledDate().value();
+        if (!Objects.equals(entity.getScheduledDate(), scheduledDate)) {
+            entity.setScheduledDate(scheduledDate);
+            changed = true;
+        }
+        if (!Objects.equals(entity.getOrderNumber(), delivery.getOrderNumber())) {
+            entity.setOrderNumber(delivery.getOrderNumber());
+            changed = true;
+        }
+        String routeId = delivery.getRouteId() != null ? delivery.getRouteId().value() : null;
+        if (!Objects.equals(entity.getRouteId(), routeId)) {
+            entity.setRouteId(routeId);
+            changed = true;
+        }
+        String deliveryPersonId = delivery.getDeliveryPersonId() != null ? delivery.getDeliveryPersonId().value() : null;
+        if (!Objects.equals(entity.getDeliveryPersonId(), deliveryPersonId)) {
+            entity.setDeliveryPersonId(deliveryPersonId);
+            changed = true;
+        }
+        if (changed) {
+            entity.setUpdatedAt(LocalDateTime.now());
+        }
+        return changed;
+    }
+    
     public List<Delivery> toDomainList(List<DeliveryEntity> entities) {
         if (entities == null) {
             return List.of();
         }
         
-        return entities.stream()
-            .map(this::toDomain)
-            .collect(Collectors.toList());
+        List<Delivery> deliveries = new ArrayList<>(entities.size());
+        for (DeliveryEntity entity : entities) {
+            deliveries.add(toDomain(entity));
+        }
+        return deliveries;
     }
 } 
\ No newline at end of file
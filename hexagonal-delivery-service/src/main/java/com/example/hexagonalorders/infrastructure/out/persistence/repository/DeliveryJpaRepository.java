@@ -2,12 +2,17 @@ package com.example.hexagonalorders.infrastructure.out.persistence.repository;
 
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.DeliveryEntity;
 import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.DeliveryWorkItem;
+import com.example.hexagonalorders.domain.model.OverdueDelivery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,18 +23,84 @@ public interface DeliveryJpaRepository extends JpaRepository<DeliveryEntity, Lon
     
     List<DeliveryEntity> findByRouteId(String routeId);
     
+    /**
+     * Hoja de trabajo de una ruta proyectada directamente desde JPQL.
+     * Usa idx_deliveries_route_status_scheduled.
+     */
+    @Query("SELECT new com.example.hexagonalorders.domain.model.DeliveryWorkItem(" +
+           "d.deliveryId, d.orderNumber, d.status, d.scheduledDate, d.street, d.city, d.postalCode, d.routeId, d.deliveryPersonId) " +
+           "FROM DeliveryEntity d WHERE d.routeId = :routeId AND d.status IN :statuses " +
+           "AND d.scheduledDate >= :from AND d.scheduledDate < :to " +
+           "ORDER BY d.scheduledDate, d.deliveryId")
+    Slice<DeliveryWorkItem> findRouteWorkList(@Param("routeId") String routeId,
+                                              @Param("statuses") Collection<DeliveryStatus> statuses,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to,
+                                              Pageable pageable);
+    
+    /**
+     * Hoja de trabajo de un repartidor proyectada directamente desde JPQL.
+     * Usa idx_deliveries_person_status.
+     */
+    @Query("SELECT new com.example.hexagonalorders.domain.model.DeliveryWorkItem(" +
+           "d.deliveryId, d.orderNumber, d.status, d.scheduledDate, d.street, d.city, d.postalCode, d.routeId, d.deliveryPersonId) " +
+           "FROM DeliveryEntity d WHERE d.deliveryPersonId = :deliveryPersonId AND d.status IN :statuses " +
+           "ORDER BY d.scheduledDate, d.deliveryId")
+    Slice<DeliveryWorkItem> findCourierWorkList(@Param("deliveryPersonId") String deliveryPersonId,
+                                                @Param("statuses") Collection<DeliveryStatus> statuses,
+                                                Pageable pageable);
+    
     List<DeliveryEntity> findByDeliveryPersonId(String deliveryPersonId);
     
     List<DeliveryEntity> findByOrderNumber(String orderNumber);
     
+    /**
+     * Resuelve el identificador de entrega de una orden sin cargar la entidad.
+     * Usa idx_deliveries_order_number.
+     */
+    @Query("SELECT d.deliveryId FROM DeliveryEntity d WHERE d.orderNumber = :orderNumber ORDER BY d.id")
+    List<String> findDeliveryIdsByOrderNumber(@Param("orderNumber") String orderNumber, Pageable pageable);
+    
     List<DeliveryEntity> findByStatus(DeliveryStatus status);
     
     List<DeliveryEntity> findByScheduledDateBetween(LocalDateTime startDate, LocalDateTime endDate);
     
-    @Query("SELECT d FROM DeliveryEntity d WHERE d.scheduledDate < :now AND d.status NOT IN ('DELIVERED', 'CANCELLED')")
+    @Query("SELECT d FROM DeliveryEntity d WHERE d.scheduledDate < :now AND d.status NOT IN " +
+           "(com.example.hexagonalorders.domain.model.DeliveryStatus.COMPLETED, com.example.hexagonalorders.domain.model.DeliveryStatus.CANCELLED)")
     List<DeliveryEntity> findOverdueDeliveries(@Param("now") LocalDateTime now);
     
+    /**
+     * Primera página de entregas de un estado cuyo vencimiento cae en (from, to],
+     * ordenadas por (scheduledDate, deliveryId). Usa idx_deliveries_status_scheduled.
+     */
+    @Query("SELECT new com.example.hexagonalorders.domain.model.OverdueDelivery(d.deliveryId, d.orderNumber, d.status, d.scheduledDate) " +
+           "FROM DeliveryEntity d WHERE d.status = :status AND d.scheduledDate > :from AND d.scheduledDate <= :to " +
+           "ORDER BY d.scheduledDate, d.deliveryId")
+    List<OverdueDelivery> findOverdueWindow(@Param("status") DeliveryStatus status,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to,
+                                            Pageable pageable);
+    
+    /**
+     * Página siguiente de findOverdueWindow a partir de la última fila devuelta (keyset).
+     */
+    @Query("SELECT new com.example.hexagonalorders.domain.model.OverdueDelivery(d.deliveryId, d.orderNumber, d.status, d.scheduledDate) " +
+           "FROM DeliveryEntity d WHERE d.status = :status AND d.scheduledDate <= :to " +
+           "AND (d.scheduledDate > :afterDate OR (d.scheduledDate = :afterDate AND d.deliveryId > :afterId)) " +
+           "ORDER BY d.scheduledDate, d.deliveryId")
+    List<OverdueDelivery> findOverdueWindowAfter(@Param("status") DeliveryStatus status,
+                                                 @Param("to") LocalDateTime to,
+                                                 @Param("afterDate") LocalDateTime afterDate,
+                                                 @Param("afterId") String afterId,
+                                                 Pageable pageable);
+    
     boolean existsByDeliveryId(String deliveryId);
+
+    @Query("SELECT d.version FROM DeliveryEntity d WHERE d.deliveryId = :deliveryId")
+    Optional<Long> findVersionByDeliveryId(@Param("deliveryId") String deliveryId);
     
     long countByStatus(DeliveryStatus status);
+    
+    @Query("SELECT d.status, COUNT(d) FROM DeliveryEntity d GROUP BY d.status")
+    List<Object[]> countGroupedByStatus();
 } 
\ No newline at end of file
@@ -1,41 +1,198 @@
 package com.example.hexagonalorders.infrastructure.out.persistence.repository;
 
 import com.example.hexagonalorders.domain.model.Delivery;
+import com.example.hexagonalorders.domain.model.DeliveryCriteria;
 import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.DeliveryFilter;
+import com.example.hexagonalorders.domain.model.DeliveryPage;
+import com.example.hexagonalorders.domain.model.DeliveryTransition;
+import com.example.hexagonalorders.domain.model.DeliveryWorkItem;
+import com.example.hexagonalorders.domain.model.DeliveryWorkList;
+import com.example.hexagonalorders.domain.model.OverdueDelivery;
+import com.example.hexagonalorders.domain.model.TransitionedDelivery;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryPersonId;
+import com.example.hexagonalorders.domain.model.valueobject.RouteId;
 import com.example.hexagonalorders.domain.port.out.DeliveryRepository;
 import com.example.hexagonalorders.infrastructure.out.persistence.mapper.DeliveryPersistenceMapper;
-import org.springframework.context.annotation.Primary;
+import com.example.hexagonalorders.infrastructure.out.persistence.entity.DeliveryEntity;
+import com.example.hexagonalorders.infrastructure.out.persistence.hotstore.DeliverySnapshot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-@Primary
 public class DeliveryRepositoryAdapter implements DeliveryRepository {
     
     private final DeliveryJpaRepository jpaRepository;
     private final DeliveryPersistenceMapper mapper;
+    private final EntityManager entityManager;
+    private final int transitionBatchSize;
+    private final Cache<String, DeliveryId> deliveryIdsByOrder;
     
-    public DeliveryRepositoryAdapter(DeliveryJpaRepository jpaRepository, DeliveryPersistenceMapper mapper) {
+    public DeliveryRepositoryAdapter(DeliveryJpaRepository jpaRepository, DeliveryPersistenceMapper mapper,
+                                     EntityManager entityManager, MeterRegistry meterRegistry,
+                                     @Value("${delivery.bulk.batch-size:500}") int transitionBatchSize,
+                                     @Value("${delivery.order-lookup.cache-size:10000}") long orderLookupCacheSize) {
         this.jpaRepository = jpaRepository;
         this.mapper = mapper;
+        this.entityManager = entityManager;
+        this.transitionBatchSize = transitionBatchSize;
+        this.deliveryIdsByOrder = CaffeineCacheMetrics.monitor(meterRegistry,
+            Caffeine.newBuilder()
+                .maximumSize(orderLookupCacheSize)
+                .recordStats()
+                .<String, DeliveryId>build(),
+            "delivery-order-lookup");
     }
     
+    /**
+     * Inserta las entregas nuevas y actualiza en sitio las existentes: la entidad
+     * gestionada se carga una sola vez (por id natural, resuelto desde el contexto de
+     * persistencia si ya se leyó en la misma transacción), se copian solo las columnas
+     * cambiadas y el flush emite un único UPDATE sin tocar los ítems.
+     * Devuelve el mismo agregado con la versión actualizada.
+     */
     @Override
+    @Transactional
     public Delivery save(Delivery delivery) {
-        var entity = mapper.toEntity(delivery);
-        var savedEntity = jpaRepository.save(entity);
-        return mapper.toDomain(savedEntity);
+        DeliveryEntity entity = loadManaged(delivery.getDeliveryId());
+        if (entity == null) {
+            DeliveryEntity savedEntity = jpaRepository.save(mapper.toEntity(delivery));
+            delivery.setVersion(savedEntity.getVersion());
+            rememberOrderAfterCommit(delivery.getOrderNumber(), delivery.getDeliveryId());
+            return delivery;
+        }
+        if (delivery.getVersion() != null && !delivery.getVersion().equals(entity.getVersion())) {
+            throw new OptimisticLockingFailureException(
+                "La entrega " + delivery.getDeliveryId().value() + " ha sido modificada concurrentemente");
+        }
+        String previousOrderNumber = entity.getOrderNumber();
+        if (mapper.updateEntity(delivery, entity)) {
+            entityManager.flush();
+            if (!Objects.equals(previousOrderNumber, entity.getOrderNumber())) {
+                deliveryIdsByOrder.invalidate(previousOrderNumber);
+            }
+        }
+        delivery.setVersion(entity.getVersion());
+        return delivery;
+    }
+    
+    /**
+     * Escribe el estado mutable de varias entregas con un UPDATE por entrega que fija
+     * la versión de la instantánea. Solo se aplica si la versión guardada es menor, de
+     * modo que reescribir una instantánea repetida o ya superada no tiene efecto.
+     * La usa la escritura diferida del almacén en memoria de entregas activas.
+     * 
+     * @param snapshots las instantáneas a escribir
+     * @return el número de entregas actualizadas
+     */
+    @Transactional
+    public int writeSnapshots(List<DeliverySnapshot> snapshots) {
+        int updated = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (DeliverySnapshot snapshot : snapshots) {
+            updated += entityManager.createQuery(
+                    "UPDATE DeliveryEntity d SET d.status = :status, d.scheduledDate = :scheduledDate, " +
+                    "d.orderNumber = :orderNumber, d.routeId = :routeId, d.deliveryPersonId = :deliveryPersonId, " +
+                    "d.updatedAt = :now, d.version = :version " +
+                    "WHERE d.deliveryId = :deliveryId AND COALESCE(d.version, 0) < :version")
+                .setParameter("status", snapshot.status())
+                .setParameter("scheduledDate", snapshot.scheduledDate())
+                .setParameter("orderNumber", snapshot.orderNumber())
+                .setParameter("routeId", snapshot.routeId())
+                .setParameter("deliveryPersonId", snapshot.deliveryPersonId())
+                .setParameter("now", now)
+                .setParameter("version", snapshot.version())
+                .setParameter("deliveryId", snapshot.deliveryId())
+                .executeUpdate();
+        }
+        return updated;
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Optional<Delivery> findById(DeliveryId deliveryId) {
-        return jpaRepository.findByDeliveryId(deliveryId.value())
+        return Optional.ofNullable(loadManaged(deliveryId))
             .map(mapper::toDomain);
     }
     
+    private DeliveryEntity loadManaged(DeliveryId deliveryId) {
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(DeliveryEntity.class)
+            .load(deliveryId.value());
+    }
+    
+    /**
+     * Resuelve orden → entrega desde una caché acotada y, si no está, con una
+     * consulta de solo el identificador sobre idx_deliveries_order_number.
+     * Solo se cachean resultados positivos: una orden sin entrega puede tenerla
+     * en cuanto se procese su evento de confirmación.
+     */
+    @Override
+    public Optional<DeliveryId> findIdByOrderNumber(String orderNumber) {
+        DeliveryId cached = deliveryIdsByOrder.getIfPresent(orderNumber);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        List<String> ids = jpaRepository.findDeliveryIdsByOrderNumber(orderNumber, PageRequest.of(0, 1));
+        if (ids.isEmpty()) {
+            return Optional.empty();
+        }
+        DeliveryId deliveryId = new DeliveryId(ids.get(0));
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            deliveryIdsByOrder.put(orderNumber, deliveryId);
+        }
+        return Optional.of(deliveryId);
+    }
+    
+    /**
+     * Registra la entrada orden → entrega cuando la transacción confirma, para que
+     * una inserción revertida no deje una entrada que apunte a una entrega inexistente.
+     */
+    private void rememberOrderAfterCommit(String orderNumber, DeliveryId deliveryId) {
+        if (orderNumber == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deliveryIdsByOrder.put(orderNumber, deliveryId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deliveryIdsByOrder.put(orderNumber, deliveryId);
+            }
+        });
+    }
+    
+    @Override
+    public Optional<Long> findVersionById(DeliveryId deliveryId) {
+        return jpaRepository.findVersionByDeliveryId(deliveryId.value());
+    }
+    
     @Override
     public List<Delivery> findAll() {
         var entities = jpaRepository.findAll();
@@ -48,9 +205,224 @@ public class DeliveryRepositoryAdapter implements DeliveryRepository {
         return mapper.toDomainList(entities);
     }
     
+    /**
+     * Pagina por el id sustituto (clave primaria) con keyset: cada página es un
+     * rango "id > cursor" limitado, independiente de la profundidad. Se pide una fila
+     * de más para saber si hay página siguiente sin ejecutar un COUNT. Los ítems se
+     * cargan en lotes (@BatchSize) al mapear, y las entidades se desacoplan del
+     * contexto de persistencia para que la memoria no crezca entre páginas.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public DeliveryPage findPage(DeliveryFilter filter, String cursor, int limit) {
+        long lastId = decodeCursor(cursor);
+        StringBuilder jpql = new StringBuilder("SELECT d FROM DeliveryEntity d WHERE d.id > :lastId");
+        if (filter.statuses() != null) {
+            jpql.append(" AND d.status IN :statuses");
+        }
+        if (filter.orderNumber() != null) {
+            jpql.append(" AND d.orderNumber = :orderNumber");
+        }
+        if (filter.scheduledFrom() != null) {
+            jpql.append(" AND d.scheduledDate >= :scheduledFrom");
+        }
+        if (filter.scheduledTo() != null) {
+            jpql.append(" AND d.scheduledDate < :scheduledTo");
+        }
+        if (filter.city() != null) {
+            jpql.append(" AND d.city = :city");
+        }
+        if (filter.postalCode() != null) {
+            jpql.append(" AND d.postalCode = :postalCode");
+        }
+        jpql.append(" ORDER BY d.id");
+
+        TypedQuery<DeliveryEntity> query = entityManager.createQuery(jpql.toString(), DeliveryEntity.class)
+            .setParameter("lastId", lastId)
+            .setMaxResults(limit + 1);
+        if (filter.statuses() != null) {
+            query.setParameter("statuses", filter.statuses());
+        }
+        if (filter.orderNumber() != null) {
+            query.setParameter("orderNumber", filter.orderNumber());
+        }
+        if (filter.scheduledFrom() != null) {
+            query.setParameter("scheduledFrom", filter.scheduledFrom());
+        }
+        if (filter.scheduledTo() != null) {
+            query.setParameter("scheduledTo", filter.scheduledTo());
+        }
+        if (filter.city() != null) {
+            query.setParameter("city", filter.city());
+        }
+        if (filter.postalCode() != null) {
+            query.setParameter("postalCode", filter.postalCode());
+        }
+
+        List<DeliveryEntity> entities = query.getResultList();
+        boolean hasNext = entities.size() > limit;
+        if (hasNext) {
+            entities = entities.subList(0, limit);
+        }
+        List<Delivery> deliveries = mapper.toDomainList(entities);
+        String nextCursor = hasNext ? encodeCursor(entities.get(entities.size() - 1).getId()) : null;
+        entities.forEach(entityManager::detach);
+        return new DeliveryPage(deliveries, nextCursor);
+    }
+    
+    private static String encodeCursor(long id) {
+        return Long.toString(id, Character.MAX_RADIX);
+    }
+    
+    private static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(cursor, Character.MAX_RADIX);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+    }
+    
+    @Override
+    public DeliveryWorkList findRouteWorkList(RouteId routeId, Set<DeliveryStatus> statuses,
+                                              LocalDateTime from, LocalDateTime to, int page, int size) {
+        Slice<DeliveryWorkItem> slice = jpaRepository.findRouteWorkList(
+            routeId.value(), statuses, from, to, PageRequest.of(page, size));
+        return new DeliveryWorkList(slice.getContent(), page, size, slice.hasNext());
+    }
+    
+    @Override
+    public DeliveryWorkList findCourierWorkList(DeliveryPersonId deliveryPersonId, Set<DeliveryStatus> statuses,
+                                                int page, int size) {
+        Slice<DeliveryWorkItem> slice = jpaRepository.findCourierWorkList(
+            deliveryPersonId.value(), statuses, PageRequest.of(page, size));
+        return new DeliveryWorkList(slice.getContent(), page, size, slice.hasNext());
+    }
+    
+    @Override
+    public Map<DeliveryStatus, Long> countAllByStatus() {
+        Map<DeliveryStatus, Long> counts = new EnumMap<>(DeliveryStatus.class);
+        for (Object[] row : jpaRepository.countGroupedByStatus()) {
+            counts.put((DeliveryStatus) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+    
+    /**
+     * Recorre las entregas candidatas por lotes ordenados por id (keyset), bloqueando
+     * cada lote, y las actualiza con un UPDATE por lote protegido de nuevo por los
+     * estados de origen permitidos. Se incrementa la versión para invalidar los ETags
+     * y detectar escrituras concurrentes basadas en el agregado.
+     */
+    @Override
+    @Transactional
+    public List<TransitionedDelivery> applyTransition(DeliveryTransition transition, DeliveryCriteria criteria,
+                                                      LocalDateTime scheduledDate) {
+        Set<DeliveryStatus> allowedFrom = transition.getAllowedFrom();
+        if (criteria.status() != null) {
+            allowedFrom.retainAll(Set.of(criteria.status()));
+        }
+        List<TransitionedDelivery> transitioned = new ArrayList<>();
+        if (allowedFrom.isEmpty()) {
+            return transitioned;
+        }
+
+        long lastId = 0L;
+        while (true) {
+            List<Object[]> batch = selectCandidates(criteria, allowedFrom, lastId);
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (Object[] row : batch) {
+                ids.add((Long) row[0]);
+                transitioned.add(new TransitionedDelivery(
+                    new DeliveryId((String) row[1]),
+                    (String) row[2],
+                    (DeliveryStatus) row[3],
+                    transition.getTargetStatus(),
+                    // Las filas están bloqueadas: el UPDATE incrementa exactamente esta versión
+                    (row[4] != null ? (Long) row[4] : 0L) + 1));
+            }
+            updateBatch(ids, transition, allowedFrom, scheduledDate);
+            lastId = ids.get(ids.size() - 1);
+            if (batch.size() < transitionBatchSize) {
+                break;
+            }
+        }
+        return transitioned;
+    }
+    
+    private List<Object[]> selectCandidates(DeliveryCriteria criteria, Set<DeliveryStatus> allowedFrom, long lastId) {
+        StringBuilder jpql = new StringBuilder(
+            "SELECT d.id, d.deliveryId, d.orderNumber, d.status, d.version FROM DeliveryEntity d " +
+            "WHERE d.id > :lastId AND d.status IN :allowedFrom");
+        if (criteria.deliveryIds() != null && !criteria.deliveryIds().isEmpty()) {
+            jpql.append(" AND d.deliveryId IN :deliveryIds");
+        }
+        if (criteria.routeId() != null) {
+            jpql.append(" AND d.routeId = :routeId");
+        }
+        if (criteria.deliveryPersonId() != null) {
+            jpql.append(" AND d.deliveryPersonId = :deliveryPersonId");
+        }
+        jpql.append(" ORDER BY d.id");
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class)
+            .setParameter("lastId", lastId)
+            .setParameter("allowedFrom", allowedFrom)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .setMaxResults(transitionBatchSize);
+        if (criteria.deliveryIds() != null && !criteria.deliveryIds().isEmpty()) {
+            query.setParameter("deliveryIds", criteria.deliveryIds());
+        }
+        if (criteria.routeId() != null) {
+            query.setParameter("routeId", criteria.routeId());
+        }
+        if (criteria.deliveryPersonId() != null) {
+            query.setParameter("deliveryPersonId", criteria.deliveryPersonId());
+        }
+        return query.getResultList();
+    }
+    
+    private void updateBatch(List<Long> ids, DeliveryTransition transition, Set<DeliveryStatus> allowedFrom,
+                             LocalDateTime scheduledDate) {
+        boolean reschedule = transition == DeliveryTransition.SCHEDULE && scheduledDate != null;
+        String jpql = "UPDATE DeliveryEntity d SET d.status = :target, d.updatedAt = :now, " +
+            "d.version = COALESCE(d.version, 0) + 1" +
+            (reschedule ? ", d.scheduledDate = :scheduledDate" : "") +
+            " WHERE d.id IN :ids AND d.status IN :allowedFrom";
+        var update = entityManager.createQuery(jpql)
+            .setParameter("target", transition.getTargetStatus())
+            .setParameter("now", LocalDateTime.now())
+            .setParameter("ids", ids)
+            .setParameter("allowedFrom", allowedFrom);
+        if (reschedule) {
+            update.setParameter("scheduledDate", scheduledDate);
+        }
+        update.executeUpdate();
+    }
+    
+    @Override
+    public List<OverdueDelivery> findOverdue(DeliveryStatus status, LocalDateTime from, LocalDateTime to,
+                                             OverdueDelivery after, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        if (after == null) {
+            return jpaRepository.findOverdueWindow(status, from, to, page);
+        }
+        return jpaRepository.findOverdueWindowAfter(status, to, after.scheduledDate(), after.deliveryId(), page);
+    }
+    
     @Override
     public void deleteById(DeliveryId deliveryId) {
         jpaRepository.findByDeliveryId(deliveryId.value())
-            .ifPresent(jpaRepository::delete);
+            .ifPresent(entity -> {
+                jpaRepository.delete(entity);
+                if (entity.getOrderNumber() != null) {
+                    deliveryIdsByOrder.invalidate(entity.getOrderNumber());
+                }
+            });
     }
-} 
\ No newline at end of file
+}
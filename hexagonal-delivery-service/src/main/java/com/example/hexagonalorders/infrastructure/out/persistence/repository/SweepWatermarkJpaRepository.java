@@ -0,0 +1,19 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.infrastructure.out.persistence.entity.SweepWatermarkEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SweepWatermarkJpaRepository extends JpaRepository<SweepWatermarkEntity, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM SweepWatermarkEntity w WHERE w.name = :name")
+    Optional<SweepWatermarkEntity> findForUpdate(@Param("name") String name);
+}
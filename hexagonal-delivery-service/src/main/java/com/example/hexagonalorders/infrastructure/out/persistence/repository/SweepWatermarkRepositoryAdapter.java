@@ -0,0 +1,74 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.domain.model.SweepWatermark;
+import com.example.hexagonalorders.domain.port.out.SweepWatermarkRepository;
+import com.example.hexagonalorders.infrastructure.out.persistence.entity.SweepWatermarkEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Adaptador JPA de las marcas de agua, guardadas en la tabla sweep_watermarks y
+ * bloqueadas con SELECT ... FOR UPDATE.
+ */
+@Repository
+public class SweepWatermarkRepositoryAdapter implements SweepWatermarkRepository {
+
+    private final SweepWatermarkJpaRepository jpaRepository;
+    private final TransactionTemplate createTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SweepWatermarkRepositoryAdapter(SweepWatermarkJpaRepository jpaRepository,
+                                           PlatformTransactionManager transactionManager) {
+        this.jpaRepository = jpaRepository;
+        this.createTransaction = new TransactionTemplate(transactionManager);
+        this.createTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public SweepWatermark lock(String name, SweepWatermark initial) {
+        SweepWatermarkEntity entity = jpaRepository.findForUpdate(name)
+            .orElseGet(() -> {
+                create(name, initial);
+                return jpaRepository.findForUpdate(name).orElseThrow();
+            });
+        return new SweepWatermark(entity.getWatermark(), entity.getLastKey());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void advance(String name, SweepWatermark watermark) {
+        SweepWatermarkEntity entity = jpaRepository.findById(name)
+            .orElseThrow(() -> new IllegalStateException("Marca de agua inexistente: " + name));
+        entity.setWatermark(watermark.watermark());
+        entity.setLastKey(watermark.lastKey());
+    }
+
+    /**
+     * Crea la marca en su propia transacción; si otra réplica la creó a la vez, se usa la suya.
+     * La llamada es interna y no pasa por la traducción de excepciones de @Repository, así
+     * que el fallo del flush llega como la PersistenceException de JPA; el del commit, ya
+     * traducido por el gestor de transacciones.
+     */
+    private void create(String name, SweepWatermark initial) {
+        try {
+            createTransaction.executeWithoutResult(status -> {
+                // persist y no merge: si la fila ya existe debe fallar, no sobrescribirla
+                entityManager.persist(new SweepWatermarkEntity(name, initial.watermark(), initial.lastKey()));
+                entityManager.flush();
+            });
+        } catch (PersistenceException | DataIntegrityViolationException e) {
+            // Ya existe: el bloqueo posterior la lee
+        }
+    }
+}
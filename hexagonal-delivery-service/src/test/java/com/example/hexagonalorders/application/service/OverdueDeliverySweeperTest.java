@@ -0,0 +1,122 @@
+package com.example.hexagonalorders.application.service;
+
+import com.example.hexagonalorders.domain.event.DeliveryOverdueEvent;
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.OverdueDelivery;
+import com.example.hexagonalorders.domain.model.SweepWatermark;
+import com.example.hexagonalorders.domain.port.out.DeliveryRepository;
+import com.example.hexagonalorders.domain.port.out.SweepWatermarkRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Barrido de entregas vencidas por bloques: cada bloque confirma sus eventos y su
+ * marca de agua, de modo que un fallo a mitad de ventana se reanuda en el bloque
+ * siguiente sin reemitir los anteriores.
+ */
+class OverdueDeliverySweeperTest {
+
+    private static final Comparator<OverdueDelivery> KEYSET =
+        Comparator.comparing(OverdueDelivery::scheduledDate).thenComparing(OverdueDelivery::deliveryId);
+
+    private final List<OverdueDelivery> confirmed = new ArrayList<>();
+    private final Map<String, SweepWatermark> watermarks = new HashMap<>();
+    private final List<Object> events = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DeliveryRepository deliveryRepository;
+    private OverdueDeliverySweeper sweeper;
+    private int failOnQuery;
+    private int queries;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime base = LocalDateTime.now().minusMinutes(10);
+        for (int i = 0; i < 5; i++) {
+            // Las entregas 2 y 3 vencen a la vez: el cursor desempata por id
+            LocalDateTime scheduledDate = base.plusSeconds(i == 3 ? 2 : i);
+            confirmed.add(new OverdueDelivery("entrega-" + i, "orden-" + i, DeliveryStatus.CONFIRMED, scheduledDate));
+        }
+        deliveryRepository = mock(DeliveryRepository.class);
+        when(deliveryRepository.findOverdue(any(), any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            if (invocation.getArgument(0) != DeliveryStatus.CONFIRMED) {
+                return List.of();
+            }
+            if (++queries == failOnQuery) {
+                throw new IllegalStateException("base de datos caída");
+            }
+            LocalDateTime from = invocation.getArgument(1);
+            LocalDateTime to = invocation.getArgument(2);
+            OverdueDelivery after = invocation.getArgument(3);
+            int limit = invocation.getArgument(4);
+            return confirmed.stream()
+                .filter(delivery -> after != null
+                    ? KEYSET.compare(delivery, after) > 0
+                    : delivery.scheduledDate().isAfter(from))
+                .filter(delivery -> !delivery.scheduledDate().isAfter(to))
+                .sorted(KEYSET)
+                .limit(limit)
+                .toList();
+        });
+        sweeper = new OverdueDeliverySweeper(deliveryRepository, new InMemoryWatermarks(), events::add,
+            mock(PlatformTransactionManager.class), meterRegistry, 2, 60);
+    }
+
+    @Test
+    void failureMidWindowResumesAfterTheLastCommittedChunk() {
+        failOnQuery = 3;
+
+        sweeper.sweep();
+
+        assertThat(overdueIds()).containsExactly("entrega-0", "entrega-1", "entrega-2", "entrega-3");
+        assertThat(watermarks.get("overdue-deliveries:CONFIRMED"))
+            .isEqualTo(new SweepWatermark(confirmed.get(3).scheduledDate(), "entrega-3"));
+
+        sweeper.sweep();
+
+        assertThat(overdueIds()).containsExactly("entrega-0", "entrega-1", "entrega-2", "entrega-3", "entrega-4");
+        assertThat(watermarks.get("overdue-deliveries:CONFIRMED").lastKey()).isNull();
+        assertThat(meterRegistry.counter("delivery.overdue.detected").count()).isEqualTo(5.0);
+    }
+
+    @Test
+    void completedWindowIsNotSweptAgain() {
+        sweeper.sweep();
+        sweeper.sweep();
+
+        assertThat(overdueIds()).hasSize(5).doesNotHaveDuplicates();
+    }
+
+    private List<String> overdueIds() {
+        return events.stream()
+            .map(event -> ((DeliveryOverdueEvent) event).getDeliveryId())
+            .toList();
+    }
+
+    private final class InMemoryWatermarks implements SweepWatermarkRepository {
+
+        @Override
+        public SweepWatermark lock(String name, SweepWatermark initial) {
+            return watermarks.computeIfAbsent(name, key -> initial);
+        }
+
+        @Override
+        public void advance(String name, SweepWatermark watermark) {
+            watermarks.put(name, watermark);
+        }
+    }
+}
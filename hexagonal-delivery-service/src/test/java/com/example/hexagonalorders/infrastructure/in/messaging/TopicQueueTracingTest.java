@@ -0,0 +1,114 @@
+package com.example.hexagonalorders.infrastructure.in.messaging;
+
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelBaggageManager;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.micrometer.tracing.propagation.Propagator;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exporta a memoria el span de espera en el tópico y comprueba que continúa la traza
+ * del productor recibida en las cabeceras del registro, con el mismo formato W3C que
+ * escribe el relay del outbox de orders (ver OutboxTracingTest en ese servicio).
+ */
+class TopicQueueTracingTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PRODUCER_SPAN_ID = "00f067aa0ba902b7";
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    private SdkTracerProvider tracerProvider;
+    private TopicQueueTracing topicQueueTracing;
+
+    @BeforeEach
+    void setUp() {
+        tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+            .build();
+        io.opentelemetry.api.trace.Tracer otelTracer = tracerProvider.get("topic-queue-tracing-test");
+        OtelCurrentTraceContext currentTraceContext = new OtelCurrentTraceContext();
+        Tracer tracer = new OtelTracer(otelTracer, currentTraceContext, event -> { },
+            new OtelBaggageManager(currentTraceContext, List.of(), List.of()));
+        Propagator propagator = new OtelPropagator(
+            ContextPropagators.create(W3CTraceContextPropagator.getInstance()), otelTracer);
+        topicQueueTracing = new TopicQueueTracing(provider(Tracer.class, tracer), provider(Propagator.class, propagator));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void queueSpanContinuesTheProducerTraceFromRecordHeaders() {
+        long createdAt = System.currentTimeMillis() - 1500;
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("traceparent", ("00-" + TRACE_ID + "-" + PRODUCER_SPAN_ID + "-01").getBytes(StandardCharsets.UTF_8));
+
+        topicQueueTracing.recordQueueTime(record(TimestampType.CREATE_TIME, createdAt, headers));
+
+        assertThat(exporter.getFinishedSpanItems()).hasSize(1);
+        SpanData span = exporter.getFinishedSpanItems().get(0);
+        assertThat(span.getName()).isEqualTo("kafka queue");
+        assertThat(span.getKind()).isEqualTo(SpanKind.CONSUMER);
+        assertThat(span.getTraceId()).isEqualTo(TRACE_ID);
+        assertThat(span.getParentSpanId()).isEqualTo(PRODUCER_SPAN_ID);
+        assertThat(span.getStartEpochNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(createdAt));
+        assertThat(span.getEndEpochNanos()).isGreaterThan(span.getStartEpochNanos());
+        assertThat(span.getAttributes().get(AttributeKey.stringKey("messaging.destination.name")))
+            .isEqualTo("hexagonal-orders-dev-order-confirmed");
+        assertThat(span.getAttributes().get(AttributeKey.stringKey("messaging.kafka.offset"))).isEqualTo("42");
+    }
+
+    @Test
+    void recordWithoutTraceContextIsNotTraced() {
+        topicQueueTracing.recordQueueTime(record(TimestampType.CREATE_TIME, System.currentTimeMillis(), new RecordHeaders()));
+
+        assertThat(exporter.getFinishedSpanItems()).isEmpty();
+    }
+
+    @Test
+    void brokerTimestampIsNotUsedAsQueueStart() {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("traceparent", ("00-" + TRACE_ID + "-" + PRODUCER_SPAN_ID + "-01").getBytes(StandardCharsets.UTF_8));
+
+        topicQueueTracing.recordQueueTime(record(TimestampType.LOG_APPEND_TIME, System.currentTimeMillis(), headers));
+
+        assertThat(exporter.getFinishedSpanItems()).isEmpty();
+    }
+
+    private static ConsumerRecord<String, String> record(TimestampType timestampType, long timestamp,
+                                                         RecordHeaders headers) {
+        return new ConsumerRecord<>("hexagonal-orders-dev-order-confirmed", 0, 42L, timestamp, timestampType,
+            ConsumerRecord.NULL_SIZE, ConsumerRecord.NULL_SIZE, "key", "{}", headers, Optional.empty());
+    }
+
+    private static <T> ObjectProvider<T> provider(Class<T> type, T bean) {
+        return new StaticListableBeanFactory(Map.of(type.getSimpleName(), bean)).getBeanProvider(type);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.hexagonalorders.infrastructure.out.deliveryId;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Los identificadores de entrega son UUID versión 7 (RFC 9562) que se ordenan en el
+ * orden en que se generan, también cuando muchos caen en el mismo milisegundo.
+ */
+class TimeOrderedDeliveryIdGeneratorTest {
+
+    private static final int CALLS = 10_000;
+
+    @Test
+    void deliveryIdsAreVersion7AndStrictlyIncreasing() {
+        TimeOrderedDeliveryIdGenerator generator = new TimeOrderedDeliveryIdGenerator(5);
+
+        String previous = null;
+        for (int i = 0; i < CALLS; i++) {
+            String value = generator.generate().value();
+            UUID uuid = UUID.fromString(value);
+            assertThat(uuid.version()).isEqualTo(7);
+            assertThat(uuid.variant()).isEqualTo(2);
+            assertThat((uuid.getLeastSignificantBits() >>> 52) & TimeOrderedDeliveryIdGenerator.MAX_NODE_ID).isEqualTo(5);
+            if (previous != null) {
+                // El índice único compara la forma textual
+                assertThat(value).isGreaterThan(previous);
+            }
+            previous = value;
+        }
+    }
+
+    @Test
+    void timestampIsTheCurrentTimeInMilliseconds() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UUID.fromString(new TimeOrderedDeliveryIdGenerator(0).generate().value());
+        long after = System.currentTimeMillis();
+
+        assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, after);
+    }
+
+    @Test
+    void nodeIdOutOfRangeIsRejected() {
+        assertThatThrownBy(() -> new TimeOrderedDeliveryIdGenerator(TimeOrderedDeliveryIdGenerator.MAX_NODE_ID + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
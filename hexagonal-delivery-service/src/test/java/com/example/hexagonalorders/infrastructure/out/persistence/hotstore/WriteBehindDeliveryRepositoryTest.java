@@ -0,0 +1,285 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.hotstore;
+
+import com.example.hexagonalorders.domain.model.Delivery;
+import com.example.hexagonalorders.domain.model.DeliveryCriteria;
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.DeliveryTransition;
+import com.example.hexagonalorders.domain.model.TransitionedDelivery;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryAddress;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryDate;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryItem;
+import com.example.hexagonalorders.domain.model.valueobject.ProductNumber;
+import com.example.hexagonalorders.domain.model.valueobject.Quantity;
+import com.example.hexagonalorders.infrastructure.out.persistence.repository.DeliveryRepositoryAdapter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Recuperación del journal de entregas activas: lo anotado y no escrito antes de
+ * una caída se reaplica al arrancar otra instancia sobre el mismo directorio.
+ * La "caída" consiste en arrancar la siguiente instancia sin haber llamado a shutdown
+ * en la anterior, que habría vaciado lo pendiente.
+ */
+class WriteBehindDeliveryRepositoryTest {
+
+    @TempDir
+    Path journalDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final List<WriteBehindDeliveryRepository> repositories = new ArrayList<>();
+    private DeliveryRepositoryAdapter delegate;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(DeliveryRepositoryAdapter.class);
+        when(delegate.save(any())).thenAnswer(invocation -> {
+            Delivery delivery = invocation.getArgument(0);
+            delivery.setVersion(0L);
+            return delivery;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        for (WriteBehindDeliveryRepository repository : repositories) {
+            repository.shutdown();
+        }
+    }
+
+    @Test
+    void journaledTransitionIsReplayedAfterACrash() throws IOException {
+        WriteBehindDeliveryRepository crashed = start();
+        DeliveryId deliveryId = createAndConfirm(crashed);
+        verify(delegate, never()).writeSnapshots(anyList());
+
+        start();
+
+        List<DeliverySnapshot> replayed = replayedSnapshots(1);
+        assertThat(replayed).singleElement().satisfies(snapshot -> {
+            assertThat(snapshot.deliveryId()).isEqualTo(deliveryId.value());
+            assertThat(snapshot.status()).isEqualTo(DeliveryStatus.CONFIRMED);
+            assertThat(snapshot.version()).isEqualTo(1L);
+        });
+
+        // Los segmentos reaplicados se borran: un nuevo arranque no vuelve a escribir nada
+        start();
+        verify(delegate, times(1)).writeSnapshots(anyList());
+    }
+
+    @Test
+    void onlyTheLatestSnapshotOfEachDeliveryIsReplayed() throws IOException {
+        WriteBehindDeliveryRepository crashed = start();
+        DeliveryId deliveryId = createAndConfirm(crashed);
+        Delivery confirmed = crashed.findById(deliveryId).orElseThrow();
+        confirmed.startDelivery();
+        crashed.save(confirmed);
+
+        start();
+
+        assertThat(replayedSnapshots(1)).singleElement().satisfies(snapshot -> {
+            assertThat(snapshot.status()).isEqualTo(DeliveryStatus.IN_TRANSIT);
+            assertThat(snapshot.version()).isEqualTo(2L);
+        });
+    }
+
+    @Test
+    void tornLastLineIsIgnoredOnRecovery() throws IOException {
+        WriteBehindDeliveryRepository crashed = start();
+        DeliveryId deliveryId = createAndConfirm(crashed);
+        Path segment = segments().get(0);
+        Files.writeString(segment, "{\"deliveryId\":\"" + deliveryId.value() + "\",\"sta",
+            StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        start();
+
+        assertThat(replayedSnapshots(1)).singleElement()
+            .satisfies(snapshot -> assertThat(snapshot.status()).isEqualTo(DeliveryStatus.CONFIRMED));
+    }
+
+    @Test
+    void failedRecoveryKeepsTheSegmentsForTheNextStart() throws IOException {
+        WriteBehindDeliveryRepository crashed = start();
+        createAndConfirm(crashed);
+        when(delegate.writeSnapshots(anyList())).thenThrow(new IllegalStateException("base de datos caída"));
+
+        assertThatThrownBy(this::start).isInstanceOf(IllegalStateException.class);
+
+        doReturn(1).when(delegate).writeSnapshots(anyList());
+        start();
+        assertThat(replayedSnapshots(2)).hasSize(1);
+    }
+
+    @Test
+    void rolledBackTransitionIsNeitherJournaledNorKeptInMemory() throws IOException {
+        WriteBehindDeliveryRepository repository = start();
+        DeliveryId deliveryId = create(repository);
+
+        TransactionSynchronizationManager.initSynchronization();
+        Delivery delivery = repository.findById(deliveryId).orElseThrow();
+        delivery.confirmDelivery();
+        repository.save(delivery);
+        assertThat(repository.findById(deliveryId)).get()
+            .satisfies(own -> assertThat(own.getStatus()).isEqualTo(DeliveryStatus.CONFIRMED));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization ->
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(repository.findById(deliveryId)).get()
+            .satisfies(current -> assertThat(current.getStatus()).isEqualTo(DeliveryStatus.CREATED));
+        start();
+        verify(delegate, never()).writeSnapshots(anyList());
+    }
+
+    @Test
+    void committedTransitionIsJournaledAfterCommit() throws IOException {
+        WriteBehindDeliveryRepository repository = start();
+        DeliveryId deliveryId = create(repository);
+
+        TransactionSynchronizationManager.initSynchronization();
+        Delivery delivery = repository.findById(deliveryId).orElseThrow();
+        delivery.confirmDelivery();
+        repository.save(delivery);
+        assertThat(Files.size(segments().get(0))).isZero();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization ->
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        start();
+        assertThat(replayedSnapshots(1)).singleElement()
+            .satisfies(snapshot -> assertThat(snapshot.status()).isEqualTo(DeliveryStatus.CONFIRMED));
+    }
+
+    @Test
+    void bulkTransitionConflictsWithATransitionStagedByAnotherTransaction() throws IOException {
+        WriteBehindDeliveryRepository repository = start();
+        DeliveryId deliveryId = create(repository);
+        when(delegate.applyTransition(any(), any(), any())).thenReturn(List.of(new TransitionedDelivery(
+            deliveryId, "orden-1", DeliveryStatus.CREATED, DeliveryStatus.CANCELLED, 1L)));
+        DeliveryCriteria criteria = new DeliveryCriteria(List.of(deliveryId.value()), null, null, null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        Delivery delivery = repository.findById(deliveryId).orElseThrow();
+        delivery.confirmDelivery();
+        repository.save(delivery);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // La operación masiva corre en otra transacción mientras la primera sigue abierta
+        assertThatThrownBy(() -> repository.applyTransition(DeliveryTransition.CANCEL, criteria, null))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization ->
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(repository.findById(deliveryId)).get()
+            .satisfies(current -> assertThat(current.getStatus()).isEqualTo(DeliveryStatus.CONFIRMED));
+
+        // Liberada la reserva, la operación masiva se aplica y expulsa la entrega de memoria
+        assertThat(repository.applyTransition(DeliveryTransition.CANCEL, criteria, null)).hasSize(1);
+        assertThat(repository.findById(deliveryId)).isEmpty();
+    }
+
+    @Test
+    void bulkTransitionReplacesTheChangeStagedByItsOwnTransaction() throws IOException {
+        WriteBehindDeliveryRepository repository = start();
+        DeliveryId deliveryId = create(repository);
+        when(delegate.applyTransition(any(), any(), any())).thenReturn(List.of(new TransitionedDelivery(
+            deliveryId, "orden-1", DeliveryStatus.CONFIRMED, DeliveryStatus.CANCELLED, 2L)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        Delivery delivery = repository.findById(deliveryId).orElseThrow();
+        delivery.confirmDelivery();
+        repository.save(delivery);
+        repository.applyTransition(DeliveryTransition.CANCEL,
+            new DeliveryCriteria(List.of(deliveryId.value()), null, null, null), null);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization ->
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(Files.size(segments().get(0))).isZero();
+        assertThat(repository.findById(deliveryId)).isEmpty();
+    }
+
+    private WriteBehindDeliveryRepository start() throws IOException {
+        WriteBehindDeliveryRepository repository = new WriteBehindDeliveryRepository(delegate, objectMapper,
+            transactionManager, new SimpleMeterRegistry(), journalDir.toString(), false, 4);
+        repositories.add(repository);
+        repository.recover();
+        return repository;
+    }
+
+    private DeliveryId create(WriteBehindDeliveryRepository repository) {
+        DeliveryId deliveryId = new DeliveryId(UUID.randomUUID().toString());
+        repository.save(new Delivery(
+            deliveryId,
+            UUID.randomUUID().toString(),
+            new DeliveryAddress("Calle Mayor 1", "Madrid", "Madrid", "28013", "España"),
+            new DeliveryDate(LocalDateTime.now().plusDays(1)),
+            DeliveryStatus.CREATED,
+            null,
+            List.of(new DeliveryItem(new ProductNumber("P-1"), new Quantity(1)))));
+        return deliveryId;
+    }
+
+    private DeliveryId createAndConfirm(WriteBehindDeliveryRepository repository) {
+        DeliveryId deliveryId = create(repository);
+        Delivery delivery = repository.findById(deliveryId).orElseThrow();
+        delivery.confirmDelivery();
+        repository.save(delivery);
+        return deliveryId;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DeliverySnapshot> replayedSnapshots(int invocations) {
+        ArgumentCaptor<List<DeliverySnapshot>> captor = ArgumentCaptor.forClass(List.class);
+        verify(delegate, times(invocations)).writeSnapshots(captor.capture());
+        return captor.getValue();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.domain.model.Delivery;
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryAddress;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryDate;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryItem;
+import com.example.hexagonalorders.domain.model.valueobject.ProductNumber;
+import com.example.hexagonalorders.domain.model.valueobject.Quantity;
+import com.example.hexagonalorders.infrastructure.out.persistence.mapper.DeliveryPersistenceMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comprueba con las estadísticas de Hibernate que una transición de estado se
+ * guarda como un único UPDATE sobre la entrega, sin tocar sus ítems.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({DeliveryRepositoryAdapter.class, DeliveryPersistenceMapper.class,
+         DeliveryRepositoryAdapterTest.MetricsConfiguration.class})
+class DeliveryRepositoryAdapterTest {
+
+    @TestConfiguration
+    static class MetricsConfiguration {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private DeliveryRepositoryAdapter adapter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private DeliveryId deliveryId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        deliveryId = new DeliveryId(UUID.randomUUID().toString());
+        adapter.save(new Delivery(
+            deliveryId,
+            UUID.randomUUID().toString(),
+            new DeliveryAddress("Calle Mayor 1", "Madrid", "Madrid", "28013", "España"),
+            new DeliveryDate(LocalDateTime.now().plusDays(1)),
+            DeliveryStatus.CREATED,
+            null,
+            List.of(new DeliveryItem(new ProductNumber("P-1"), new Quantity(2)),
+                    new DeliveryItem(new ProductNumber("P-2"), new Quantity(1)))));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void transitionIsSavedAsSingleUpdateWithoutTouchingItems() {
+        Delivery delivery = adapter.findById(deliveryId).orElseThrow();
+        long version = delivery.getVersion();
+        delivery.confirmDelivery();
+
+        statistics.clear();
+        adapter.save(delivery);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionUpdateCount()).isZero();
+        assertThat(statistics.getCollectionRecreateCount()).isZero();
+        assertThat(statistics.getCollectionRemoveCount()).isZero();
+        assertThat(delivery.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void transitionOnDetachedAggregateLoadsTheRowOnceAndUpdatesIt() {
+        Delivery delivery = adapter.findById(deliveryId).orElseThrow();
+        entityManager.clear();
+        delivery.confirmDelivery();
+
+        statistics.clear();
+        adapter.save(delivery);
+
+        // Una lectura por id natural y un UPDATE; los ítems son perezosos y no se cargan
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(statistics.getCollectionUpdateCount()).isZero();
+        assertThat(statistics.getCollectionRecreateCount()).isZero();
+    }
+
+    @Test
+    void unchangedAggregateIssuesNoStatements() {
+        Delivery delivery = adapter.findById(deliveryId).orElseThrow();
+        long version = delivery.getVersion();
+
+        statistics.clear();
+        adapter.save(delivery);
+        entityManager.flush();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(delivery.getVersion()).isEqualTo(version);
+    }
+}
@@ -11,8 +11,12 @@ import com.example.hexagonalorders.domain.port.out.OrderRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.example.hexagonalorders.infrastructure.config.DomainEventConfiguration;
 import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -21,6 +25,9 @@ import java.util.stream.Collectors;
 * Event handler for domain events that need to be mapped to integration events.
 * This class centralizes the business logic for deciding which domain events
 * should trigger external integration events.
+*
+* Handlers that write to the outbox run synchronously inside the publishing transaction;
+* the rest run asynchronously after commit (see DomainEventConfiguration).
 */
 @Component
 public class DomainEventHandler {
@@ -40,6 +47,7 @@ public class DomainEventHandler {
    /**
     * Handles OrderConfirmedEvent by creating and persisting the corresponding integration event.
     * This method is automatically called by Spring's event system when an OrderConfirmedEvent is published.
+    * It runs inside the publishing transaction so the outbox row commits atomically with the order.
     *
     * @param event the OrderConfirmedEvent that was raised
     */
@@ -69,7 +77,7 @@ public class DomainEventHandler {
                    items);
           
            // Persist to outbox for reliable delivery
-           persistToOutbox(integrationEvent, "Order", event.getOrderNumber().value());
+           persistToOutbox(integrationEvent, "Order", event.getOrderNumber().asUuid());
           
            log.debug("DOMAIN EVENT HANDLER: Successfully created integration event for order confirmation: {}",
                     event.getOrderNumber());
@@ -83,10 +91,12 @@ public class DomainEventHandler {
    /**
     * Generic handler for domain events that don't require integration events.
     * This method logs the event for debugging purposes but doesn't create integration events.
+    * It runs after commit on the domain event executor, off the request thread.
     *
     * @param event any domain event that doesn't have a specific handler
     */
-   @EventListener
+   @Async(DomainEventConfiguration.DOMAIN_EVENT_EXECUTOR)
+   @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
    public void handleGenericDomainEvent(DomainEvent event) {
        log.debug("DOMAIN EVENT HANDLER: Received domain event: {} - no integration event required",
                 event.getClass().getSimpleName());
@@ -97,20 +107,16 @@ public class DomainEventHandler {
     *
     * @param event the integration event to persist
     * @param aggregateType the type of aggregate that produced the event
-    * @param aggregateId the identifier of the aggregate
+    * @param aggregateId the identifier of the aggregate (the order number UUID)
     */
-   private void persistToOutbox(Object event, String aggregateType, String aggregateId) {
+   private void persistToOutbox(Object event, String aggregateType, UUID aggregateId) {
        try {
            String payload = objectMapper.writeValueAsString(event);
            String eventType = event.getClass().getSimpleName();
           
-           // Generate a deterministic UUID based on the aggregateId string
-           // This ensures the same aggregate always gets the same UUID
-           UUID uuid = UUID.nameUUIDFromBytes(aggregateId.getBytes());
-          
            OutboxMessage outboxMessage = OutboxMessage.createPendingMessage(
                aggregateType,
-               uuid,
+               aggregateId,
                eventType,
                payload
            );
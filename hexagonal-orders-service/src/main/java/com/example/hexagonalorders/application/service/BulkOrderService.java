@@ -0,0 +1,188 @@
+package com.example.hexagonalorders.application.service;
+
+import com.example.hexagonalorders.domain.event.DomainEvent;
+import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.domain.model.OrderItem;
+import com.example.hexagonalorders.domain.model.OutboxMessage;
+import com.example.hexagonalorders.domain.port.in.BulkOrderUseCase;
+import com.example.hexagonalorders.domain.port.out.OrderNumberGenerator;
+import com.example.hexagonalorders.domain.port.out.OrderRepository;
+import com.example.hexagonalorders.domain.port.out.OutboxRepository;
+import com.example.hexagonalorders.domain.service.OrderValidationService;
+import com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper.OrderCreationData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Application service implementing bulk order creation.
+ * It is part of the application layer and is responsible for:
+ * - Building and validating every order of the request in parallel
+ * - Persisting valid orders in chunks, each chunk in its own transaction, so that
+ *   inserts and outbox rows are sent to the database as JDBC batches
+ * - Reporting a per-item result instead of failing the whole request
+ *
+ * If a chunk fails to persist, its orders are retried one by one so that only the
+ * offending items are reported as failed. Every attempt saves unsaved copies of the
+ * built orders: a rolled-back save has already applied the generated id, version and
+ * item ids to the aggregates it was given and cleared their events, and reusing them
+ * would turn the retry into an update of rows that do not exist.
+ */
+@Service
+public class BulkOrderService implements BulkOrderUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkOrderService.class);
+
+    private final OrderRepository orderRepository;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final OrderValidationService orderValidationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BulkOrderService(OrderRepository orderRepository,
+                            OrderNumberGenerator orderNumberGenerator,
+                            OrderValidationService orderValidationService,
+                            ApplicationEventPublisher eventPublisher,
+                            OutboxRepository outboxRepository,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${orders.bulk.chunk-size:500}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.orderNumberGenerator = orderNumberGenerator;
+        this.orderValidationService = orderValidationService;
+        this.eventPublisher = eventPublisher;
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public List<ItemResult> createOrders(List<OrderCreationData> orders) {
+        int size = orders.size();
+        Order[] built = new Order[size];
+        ItemResult[] results = new ItemResult[size];
+
+        // Construcción y validación en paralelo: no toca la base de datos
+        IntStream.range(0, size).parallel().forEach(i -> {
+            try {
+                OrderCreationData data = orders.get(i);
+                Order order = new Order(
+                    orderNumberGenerator.generate(),
+                    data.getCustomerId(),
+                    data.getAddress(),
+                    data.getOrderDate(),
+                    data.getItems(),
+                    data.getStatus()
+                );
+                orderValidationService.validateOrder(order);
+                built[i] = order;
+            } catch (RuntimeException e) {
+                results[i] = ItemResult.failed(e.getMessage());
+            }
+        });
+
+        List<Integer> chunk = new ArrayList<>(Math.min(chunkSize, size));
+        for (int i = 0; i < size; i++) {
+            if (built[i] == null) {
+                continue;
+            }
+            chunk.add(i);
+            if (chunk.size() == chunkSize) {
+                persistChunk(chunk, built, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(chunk, built, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    private void persistChunk(List<Integer> indexes, Order[] built, ItemResult[] results) {
+        List<Order> orders = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            orders.add(unsavedCopy(built[index]));
+        }
+        try {
+            List<Order> saved = transactionTemplate.execute(status -> persist(orders));
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = ItemResult.created(saved.get(i));
+            }
+        } catch (RuntimeException chunkFailure) {
+            log.warn("Bulk chunk of {} orders failed, retrying item by item: {}", orders.size(), chunkFailure.getMessage());
+            for (int index : indexes) {
+                try {
+                    List<Order> saved = transactionTemplate.execute(status -> persist(List.of(unsavedCopy(built[index]))));
+                    results[index] = ItemResult.created(saved.get(0));
+                } catch (RuntimeException e) {
+                    results[index] = ItemResult.failed(e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Persists the orders and their outbox rows in the current transaction and
+     * publishes their domain events, mirroring the single order creation flow.
+     */
+    private List<Order> persist(List<Order> orders) {
+        List<Order> saved = orderRepository.saveAll(orders);
+        List<OutboxMessage> outboxMessages = new ArrayList<>();
+        for (Order order : orders) {
+            for (DomainEvent event : order.getDomainEvents()) {
+                eventPublisher.publishEvent(event);
+                // Solo persistir en el outbox si es un evento de integración
+                if (event.getClass().getSimpleName().equals("OrderConfirmedIntegrationEvent")) {
+                    outboxMessages.add(toOutboxMessage(event, "Order", order.getOrderNumber().asUuid()));
+                }
+            }
+            order.clearDomainEvents();
+        }
+        if (!outboxMessages.isEmpty()) {
+            outboxRepository.saveAll(outboxMessages);
+        }
+        return saved;
+    }
+
+    /**
+     * Copies a built order, and its items, for one persistence attempt. The copy is
+     * created like the original, so it carries its own OrderCreatedEvent.
+     */
+    private static Order unsavedCopy(Order order) {
+        List<OrderItem> items = new ArrayList<>(order.getItems().size());
+        for (OrderItem item : order.getItems()) {
+            items.add(new OrderItem(item.getProductNumber(), item.getQuantity(), item.getUnitPrice()));
+        }
+        return new Order(order.getOrderNumber(), order.getCustomerId(), order.getAddress(),
+            order.getOrderDate(), items, order.getStatus());
+    }
+
+    private OutboxMessage toOutboxMessage(DomainEvent event, String aggregateType, UUID aggregateId) {
+        try {
+            return OutboxMessage.createPendingMessage(
+                aggregateType,
+                aggregateId,
+                event.getClass().getSimpleName(),
+                objectMapper.writeValueAsString(event)
+            );
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to persist event to outbox", e);
+        }
+    }
+}
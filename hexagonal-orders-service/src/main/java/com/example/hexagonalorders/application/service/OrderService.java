@@ -3,6 +3,7 @@ package com.example.hexagonalorders.application.service;
 import com.example.hexagonalorders.application.event.OrderConfirmedIntegrationEvent;
 import com.example.hexagonalorders.domain.event.DomainEvent;
 import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.domain.model.OrderStatus;
 import com.example.hexagonalorders.domain.model.OutboxMessage;
 import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
 import com.example.hexagonalorders.domain.port.in.OrderUseCase;
@@ -10,7 +11,13 @@ import com.example.hexagonalorders.domain.port.out.OrderNumberGenerator;
 import com.example.hexagonalorders.domain.port.out.OrderRepository;
 import com.example.hexagonalorders.domain.port.out.OutboxRepository;
 import com.example.hexagonalorders.domain.service.OrderValidationService;
+import com.example.hexagonalorders.infrastructure.diagnostics.OrderConfirmJfrEvent;
+import com.example.hexagonalorders.infrastructure.diagnostics.OrderCreateJfrEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,36 +32,70 @@ import java.util.UUID;
  * - Implementing use cases defined by the domain
  * - Coordinating between domain objects and services
  * - Managing transactions and use case flow
+ *
+ * Every use case is timed under {@code orders.usecase}, tagged with the use case name.
+ * Timers are registered once in the constructor so the request path never resolves
+ * meters through the registry. Creation and confirmation also emit JFR events
+ * ({@link OrderCreateJfrEvent}, {@link OrderConfirmJfrEvent}) for low-overhead profiling.
  */
 @Service
 // @RequiredArgsConstructor
 public class OrderService implements OrderUseCase {
+    private static final Logger log = LoggerFactory.getLogger(OrderService.class);
+
     private final OrderRepository orderRepository;
     private final OrderNumberGenerator orderNumberGenerator;
     private final OrderValidationService orderValidationService;
     private final ApplicationEventPublisher eventPublisher;
     private final OutboxRepository outboxRepository;
     private final ObjectMapper objectMapper;
+    private final Timer createOrderTimer;
+    private final Timer getOrderTimer;
+    private final Timer getOrderVersionTimer;
+    private final Timer getAllOrdersTimer;
+    private final Timer deleteOrderTimer;
+    private final Timer confirmOrderTimer;
 
     public OrderService(OrderRepository orderRepository, 
                        OrderNumberGenerator orderNumberGenerator, 
                        OrderValidationService orderValidationService, 
                        ApplicationEventPublisher eventPublisher, 
                        OutboxRepository outboxRepository, 
-                       ObjectMapper objectMapper) {
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry) {
         this.orderRepository = orderRepository;
         this.orderNumberGenerator = orderNumberGenerator;
         this.orderValidationService = orderValidationService;
         this.eventPublisher = eventPublisher;
         this.outboxRepository = outboxRepository;
         this.objectMapper = objectMapper;
+        this.createOrderTimer = useCaseTimer(meterRegistry, "createOrder");
+        this.getOrderTimer = useCaseTimer(meterRegistry, "getOrder");
+        this.getOrderVersionTimer = useCaseTimer(meterRegistry, "getOrderVersion");
+        this.getAllOrdersTimer = useCaseTimer(meterRegistry, "getAllOrders");
+        this.deleteOrderTimer = useCaseTimer(meterRegistry, "deleteOrder");
+        this.confirmOrderTimer = useCaseTimer(meterRegistry, "confirmOrder");
+    }
+
+    private static Timer useCaseTimer(MeterRegistry meterRegistry, String useCase) {
+        return Timer.builder("orders.usecase")
+            .description("Execution time of the order use cases")
+            .tag("usecase", useCase)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
     }
 
     @Override
     @Transactional
     public Order createOrder(com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper.OrderCreationData orderData) {
+        return createOrderTimer.record(() -> doCreateOrder(orderData));
+    }
+
+    private Order doCreateOrder(com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper.OrderCreationData orderData) {
+        OrderCreateJfrEvent jfrEvent = new OrderCreateJfrEvent();
+        jfrEvent.begin();
         OrderNumber orderNumber = orderNumberGenerator.generate();
-        System.out.println("[DEBUG] Creando orden con número: " + orderNumber.value());
+        log.debug("Creando orden con número: {}", orderNumber);
 
         // Crear la orden con el número generado y los datos recibidos
         Order order = new Order(
@@ -69,27 +110,32 @@ public class OrderService implements OrderUseCase {
         // Validar la orden usando el servicio de dominio
         orderValidationService.validateOrder(order);
 
-        // Usar el método que devuelve el id
-        var orderWithId = ((com.example.hexagonalorders.infrastructure.out.persistence.repository.OrderRepositoryAdapter) orderRepository).saveWithId(order);
-        Order savedOrder = orderWithId.getOrder();
+        Order savedOrder = orderRepository.save(order);
 
         // Procesar eventos de dominio: publicar internamente y persistir en outbox
         for (DomainEvent event : savedOrder.getDomainEvents()) {
             eventPublisher.publishEvent(event);
             // Solo persistir en el outbox si es un evento de integración
             if (event.getClass().getSimpleName().equals("OrderConfirmedIntegrationEvent")) {
-                persistToOutbox(event, "Order", orderNumber.value());
+                persistToOutbox(event, "Order", orderNumber.asUuid());
             }
         }
 
         savedOrder.clearDomainEvents();
+        jfrEvent.complete(orderNumber.value(), savedOrder.getCustomerId(), savedOrder.getItems().size());
 
         return savedOrder;
     }
     
     public com.example.hexagonalorders.infrastructure.out.persistence.repository.OrderRepositoryAdapter.OrderWithId createOrderWithId(com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper.OrderCreationData orderData) {
+        return createOrderTimer.record(() -> doCreateOrderWithId(orderData));
+    }
+
+    private com.example.hexagonalorders.infrastructure.out.persistence.repository.OrderRepositoryAdapter.OrderWithId doCreateOrderWithId(com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper.OrderCreationData orderData) {
+        OrderCreateJfrEvent jfrEvent = new OrderCreateJfrEvent();
+        jfrEvent.begin();
         OrderNumber orderNumber = orderNumberGenerator.generate();
-        System.out.println("[DEBUG] Creando orden con número: " + orderNumber.value());
+        log.debug("Creando orden con número: {}", orderNumber);
 
         // Crear la orden con el número generado y los datos recibidos
         Order order = new Order(
@@ -104,62 +150,74 @@ public class OrderService implements OrderUseCase {
         // Validar la orden usando el servicio de dominio
         orderValidationService.validateOrder(order);
 
-        // Usar el método que devuelve el id
-        var orderWithId = ((com.example.hexagonalorders.infrastructure.out.persistence.repository.OrderRepositoryAdapter) orderRepository).saveWithId(order);
-        Order savedOrder = orderWithId.getOrder();
+        Order savedOrder = orderRepository.save(order);
+        var orderWithId = new com.example.hexagonalorders.infrastructure.out.persistence.repository.OrderRepositoryAdapter.OrderWithId(savedOrder, savedOrder.getId());
 
         // Procesar eventos de dominio: publicar internamente y persistir en outbox
         for (DomainEvent event : savedOrder.getDomainEvents()) {
             eventPublisher.publishEvent(event);
             // Solo persistir en el outbox si es un evento de integración
             if (event.getClass().getSimpleName().equals("OrderConfirmedIntegrationEvent")) {
-                persistToOutbox(event, "Order", orderNumber.value());
+                persistToOutbox(event, "Order", orderNumber.asUuid());
             }
         }
 
         savedOrder.clearDomainEvents();
+        jfrEvent.complete(orderNumber.value(), savedOrder.getCustomerId(), savedOrder.getItems().size());
 
         return orderWithId;
     }
 
     @Override
     public Optional<Order> getOrder(OrderNumber orderNumber) {
-        return orderRepository.findByOrderNumber(orderNumber);
+        return getOrderTimer.record(() -> orderRepository.findByOrderNumber(orderNumber));
+    }
+    
+    @Override
+    public Optional<Long> getOrderVersion(OrderNumber orderNumber) {
+        return getOrderVersionTimer.record(() -> orderRepository.findVersionByOrderNumber(orderNumber));
     }
     
     public Optional<com.example.hexagonalorders.infrastructure.out.persistence.repository.OrderRepositoryAdapter.OrderWithId> getOrderWithId(OrderNumber orderNumber) {
-        return ((com.example.hexagonalorders.infrastructure.out.persistence.repository.OrderRepositoryAdapter) orderRepository)
-            .findByOrderNumberWithId(orderNumber);
+        return getOrderTimer.record(() -> orderRepository.findByOrderNumber(orderNumber)
+            .map(order -> new com.example.hexagonalorders.infrastructure.out.persistence.repository.OrderRepositoryAdapter.OrderWithId(order, order.getId())));
     }
 
     @Override
     public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+        return getAllOrdersTimer.record(orderRepository::findAll);
     }
 
     @Override
     @Transactional
     public void deleteOrder(OrderNumber orderNumber) {
-        orderRepository.deleteByOrderNumber(orderNumber);
+        deleteOrderTimer.record(() -> orderRepository.deleteByOrderNumber(orderNumber));
     }
 
     @Override
     @Transactional
     public void confirmOrder(OrderNumber orderNumber) {
+        confirmOrderTimer.record(() -> doConfirmOrder(orderNumber));
+    }
+
+    private void doConfirmOrder(OrderNumber orderNumber) {
+        OrderConfirmJfrEvent jfrEvent = new OrderConfirmJfrEvent();
+        jfrEvent.begin();
         Order order = orderRepository.findByOrderNumber(orderNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Orden no encontrada: " + orderNumber.value()));
-        System.out.println("[DEBUG] Estado antes de confirmar: " + order.getStatus());
+        OrderStatus previousStatus = order.getStatus();
         order.confirm();
-        System.out.println("[DEBUG] Estado después de confirmar: " + order.getStatus());
+        log.debug("Orden {} confirmada: {} -> {}", orderNumber, previousStatus, order.getStatus());
         orderRepository.save(order);
         for (DomainEvent event : order.getDomainEvents()) {
             eventPublisher.publishEvent(event);
             // Solo persistir en el outbox si es un evento de integración
             if (event.getClass().getSimpleName().equals("OrderConfirmedIntegrationEvent")) {
-                persistToOutbox(event, "Order", orderNumber.value());
+                persistToOutbox(event, "Order", orderNumber.asUuid());
             }
         }
         order.clearDomainEvents();
+        jfrEvent.complete(orderNumber.value(), order.getItems().size(), order.getVersion());
     }
 
     /**
@@ -167,20 +225,16 @@ public class OrderService implements OrderUseCase {
      *
      * @param event the domain event
      * @param aggregateType the type of aggregate that produced the event
-     * @param aggregateId the identifier of the aggregate
+     * @param aggregateId the identifier of the aggregate (the order number UUID)
      */
-    protected void persistToOutbox(DomainEvent event, String aggregateType, String aggregateId) {
+    protected void persistToOutbox(DomainEvent event, String aggregateType, UUID aggregateId) {
         try {
             String payload = objectMapper.writeValueAsString(event);
             String eventType = event.getClass().getSimpleName();
            
-            // Generate a deterministic UUID based on the aggregateId string
-            // This ensures the same aggregate always gets the same UUID
-            UUID uuid = UUID.nameUUIDFromBytes(aggregateId.getBytes());
-           
             OutboxMessage outboxMessage = OutboxMessage.createPendingMessage(
                 aggregateType,
-                uuid,
+                aggregateId,
                 eventType,
                 payload
             );
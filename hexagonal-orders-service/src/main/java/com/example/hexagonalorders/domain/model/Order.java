@@ -31,7 +31,9 @@ public class Order {
     private final LocalDateTime orderDate;
     private final List<OrderItem> items;
     private OrderStatus status;
-    private final List<DomainEvent> domainEvents = new ArrayList<>();
+    private Long version;
+    // Allocated on the first raised event; rehydrated orders usually never raise one
+    private List<DomainEvent> domainEvents;
 
     public Order(Long id, OrderNumber orderNumber, String customerId, Address address, LocalDateTime orderDate, List<OrderItem> items, OrderStatus status) {
         this(orderNumber, customerId, address, orderDate, items, status);
@@ -39,6 +41,13 @@ public class Order {
     }
 
     public Order(OrderNumber orderNumber, String customerId, Address address, LocalDateTime orderDate, List<OrderItem> items, OrderStatus status) {
+        this(null, orderNumber, customerId, address, orderDate, items, status, null);
+        // Add domain event for order creation
+        raise(new OrderCreatedEvent(null, orderNumber));
+    }
+
+    private Order(Long id, OrderNumber orderNumber, String customerId, Address address, LocalDateTime orderDate,
+                  List<OrderItem> items, OrderStatus status, Long version) {
         if (orderNumber == null) {
             throw new IllegalArgumentException("Order number cannot be null");
         }
@@ -63,8 +72,17 @@ public class Order {
         this.orderDate = orderDate;
         this.items = items;
         this.status = status;
-        // Add domain event for order creation
-        domainEvents.add(new OrderCreatedEvent(null, orderNumber));
+        this.id = id;
+        this.version = version;
+    }
+
+    /**
+     * Rebuilds an order that already exists, e.g. from persistence or a cache.
+     * Unlike the public constructors this is not a creation, so no OrderCreatedEvent is raised.
+     */
+    public static Order rehydrate(Long id, OrderNumber orderNumber, String customerId, Address address,
+                                  LocalDateTime orderDate, List<OrderItem> items, OrderStatus status, Long version) {
+        return new Order(id, orderNumber, customerId, address, orderDate, items, status, version);
     }
 
     public Long getId() {
@@ -98,12 +116,31 @@ public class Order {
         return status;
     }
 
+    /**
+     * Persistence version of the aggregate, used for optimistic locking.
+     * It is null until the order has been stored for the first time.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<DomainEvent> getDomainEvents() {
-        return Collections.unmodifiableList(domainEvents);
+        return domainEvents == null ? List.of() : Collections.unmodifiableList(domainEvents);
     }
 
     public void clearDomainEvents() {
-        domainEvents.clear();
+        domainEvents = null;
+    }
+
+    private void raise(DomainEvent event) {
+        if (domainEvents == null) {
+            domainEvents = new ArrayList<>(2);
+        }
+        domainEvents.add(event);
     }
 
     /**
@@ -117,7 +154,7 @@ public class Order {
         }
         // TODO: Enforce business rules here (e.g., no duplicate products, min/max quantity, etc.)
         this.items.add(item);
-        domainEvents.add(new OrderItemAddedEvent(orderId, itemId, item.getProductNumber(), item.getQuantity()));
+        raise(new OrderItemAddedEvent(orderId, itemId, item.getProductNumber(), item.getQuantity()));
     }
 
     /**
@@ -140,7 +177,7 @@ public class Order {
             throw new IllegalStateException("La orden ya está confirmada");
         }
         this.status = OrderStatus.CONFIRMED;
-        domainEvents.add(new com.example.hexagonalorders.domain.event.OrderConfirmedEvent(this.orderNumber));
+        raise(new com.example.hexagonalorders.domain.event.OrderConfirmedEvent(this.orderNumber));
     }
 
     // equals, hashCode, and toString can be added as needed
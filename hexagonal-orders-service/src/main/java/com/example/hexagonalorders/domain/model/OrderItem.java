@@ -8,7 +8,7 @@ public class OrderItem {
     private final ProductNumber productNumber;
     private final Quantity quantity;
     private final BigDecimal unitPrice;
-    private final Long id;
+    private Long id;
 
     public OrderItem(ProductNumber productNumber, Quantity quantity, BigDecimal unitPrice) {
         this(productNumber, quantity, unitPrice, null);
@@ -45,4 +45,11 @@ public class OrderItem {
     public Long getId() {
         return id;
     }
+
+    /**
+     * Assigns the identifier generated by the persistence layer on first save.
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
 } 
\ No newline at end of file
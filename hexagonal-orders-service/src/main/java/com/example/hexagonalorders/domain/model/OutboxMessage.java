@@ -1,6 +1,7 @@
 package com.example.hexagonalorders.domain.model;
 
 import java.time.Instant;
+import java.util.Map;
 import java.util.UUID;
 
 public class OutboxMessage {
@@ -13,6 +14,11 @@ public class OutboxMessage {
     private Instant createdAt;
     private Instant processedAt;
     private String errorMessage;
+    /**
+     * Propagation headers captured when the message was written (e.g. W3C trace
+     * context), forwarded unchanged as message headers when it is relayed.
+     */
+    private Map<String, String> headers = Map.of();
 
     public OutboxMessage(UUID id, String aggregateType, UUID aggregateId, String eventType, 
                         String payload, Status status, Instant createdAt, Instant processedAt) {
@@ -49,6 +55,7 @@ public class OutboxMessage {
     public Instant getCreatedAt() { return createdAt; }
     public Instant getProcessedAt() { return processedAt; }
     public String getErrorMessage() { return errorMessage; }
+    public Map<String, String> getHeaders() { return headers; }
 
     // Setters
     public void setId(UUID id) { this.id = id; }
@@ -60,6 +67,7 @@ public class OutboxMessage {
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public void setProcessedAt(Instant processedAt) { this.processedAt = processedAt; }
     public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    public void setHeaders(Map<String, String> headers) { this.headers = headers != null ? headers : Map.of(); }
 
     // Business methods
     public void markAsProcessing() {
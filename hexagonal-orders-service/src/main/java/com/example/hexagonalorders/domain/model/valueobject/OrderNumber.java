@@ -1,5 +1,7 @@
 package com.example.hexagonalorders.domain.model.valueobject;
 
+import java.util.UUID;
+
 /**
  * Value object representing an order number.
  * This encapsulates the business rules and validation for order numbers.
@@ -11,6 +13,38 @@ public record OrderNumber(String value) {
         }
     }
 
+    /**
+     * Creates an order number from its UUID.
+     * @param uuid the UUID
+     * @return the order number
+     */
+    public static OrderNumber of(UUID uuid) {
+        return new OrderNumber(uuid.toString());
+    }
+
+    /**
+     * Returns the order number as a UUID, which is how it is stored and used as outbox aggregate id.
+     * @return the UUID
+     * @throws IllegalArgumentException if the order number is not a UUID
+     */
+    public UUID asUuid() {
+        return UUID.fromString(value);
+    }
+
+    /**
+     * Tells whether the order number is a well-formed UUID. Numbers that are not can never
+     * match a stored order, so lookups can short-circuit.
+     * @return true if {@link #asUuid()} succeeds
+     */
+    public boolean isUuid() {
+        try {
+            asUuid();
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     @Override
     public String toString() {
         return value;
@@ -0,0 +1,39 @@
+package com.example.hexagonalorders.domain.port.in;
+
+import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper.OrderCreationData;
+
+import java.util.List;
+
+/**
+ * Input port for creating orders in bulk.
+ * Items are validated independently and persisted in batched chunks, so a
+ * failing item does not prevent the rest of the request from being created.
+ */
+public interface BulkOrderUseCase {
+
+    /**
+     * Creates many orders at once
+     * @param orders the order data to create (without order numbers), in request order
+     * @return one result per input item, in the same order
+     */
+    List<ItemResult> createOrders(List<OrderCreationData> orders);
+
+    /**
+     * Outcome of a single item of a bulk request: either the created order or the failure reason.
+     */
+    record ItemResult(Order order, String error) {
+
+        public static ItemResult created(Order order) {
+            return new ItemResult(order, null);
+        }
+
+        public static ItemResult failed(String error) {
+            return new ItemResult(null, error);
+        }
+
+        public boolean isCreated() {
+            return order != null;
+        }
+    }
+}
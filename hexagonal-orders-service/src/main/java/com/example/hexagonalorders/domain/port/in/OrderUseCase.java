@@ -27,6 +27,13 @@ public interface OrderUseCase {
      */
     Optional<Order> getOrder(OrderNumber orderNumber);
 
+    /**
+     * Retrieves the current version of an order, used to answer conditional reads
+     * @param orderNumber the order number
+     * @return the version if the order exists
+     */
+    Optional<Long> getOrderVersion(OrderNumber orderNumber);
+
     /**
      * Retrieves all orders
      * @return list of all orders
@@ -12,4 +12,15 @@ public interface MessagePublisher {
      * @param payload the message payload to publish
      */
     void publish(String topic, String payload);
+
+    /**
+     * Runs a group of {@link #publish} calls as one unit. Implementations that support it
+     * make the group atomic: consumers see either all of its messages or none of them.
+     * By default the publications simply run one after another.
+     *
+     * @param publications the code that publishes the messages of the group
+     */
+    default void publishAtomically(Runnable publications) {
+        publications.run();
+    }
 } 
\ No newline at end of file
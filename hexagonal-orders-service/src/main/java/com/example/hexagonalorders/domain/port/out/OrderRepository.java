@@ -26,6 +26,20 @@ public interface OrderRepository {
      */
     Optional<Order> findByOrderNumber(OrderNumber orderNumber);
 
+    /**
+     * Saves several orders in a single round of batched inserts
+     * @param orders the orders to save
+     * @return the saved orders, in the same order
+     */
+    List<Order> saveAll(List<Order> orders);
+
+    /**
+     * Finds the current persistence version of an order without loading the aggregate
+     * @param orderNumber the order number
+     * @return the version if the order exists
+     */
+    Optional<Long> findVersionByOrderNumber(OrderNumber orderNumber);
+
     /**
      * Retrieves all orders
      * @return list of all orders
@@ -2,13 +2,22 @@ package com.example.hexagonalorders.domain.port.out;
 
 import com.example.hexagonalorders.domain.model.OutboxMessage;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface OutboxRepository {
     
     void save(OutboxMessage outboxMessage);
     
+    /**
+     * Saves several outbox messages as a single batch insert.
+     * 
+     * @param outboxMessages the messages to save
+     */
+    void saveAll(List<OutboxMessage> outboxMessages);
+    
     List<OutboxMessage> findPending(int limit);
     
     /**
@@ -18,7 +27,35 @@ public interface OutboxRepository {
      */
     List<OutboxMessage> findPendingMessages();
     
+    /**
+     * Counts the outbox messages still waiting to be relayed.
+     * 
+     * @return number of pending messages
+     */
+    long countPending();
+    
+    /**
+     * Finds the creation time of the oldest pending message, used to measure relay lag.
+     * 
+     * @return the oldest pending creation time, or empty when the outbox is drained
+     */
+    Optional<Instant> findOldestPendingCreatedAt();
+    
     void markProcessed(UUID id);
     
     void markFailed(UUID id);
+    
+    /**
+     * Moves the given messages to PROCESSING with a single set-based update.
+     * 
+     * @param ids the ids of the messages claimed by the relay
+     */
+    void markAllProcessing(List<UUID> ids);
+    
+    /**
+     * Moves the given messages to PROCESSED with a single set-based update.
+     * 
+     * @param ids the ids of the messages handed to the broker
+     */
+    void markAllProcessed(List<UUID> ids);
 } 
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.example.hexagonalorders.infrastructure.config;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.util.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration for domain event dispatch.
+ * This class is part of the infrastructure layer and is responsible for:
+ * - Enabling asynchronous execution of after-commit event listeners
+ * - Providing the bounded executor those listeners run on
+ * - Exporting the executor's queue depth, task latency and queue wait time as metrics
+ * - Propagating the publisher's trace context to the listener thread
+ *
+ * Listeners are classified by phase:
+ * - In-transaction listeners (plain @EventListener, e.g. outbox writes) run synchronously
+ *   on the publishing thread so their writes commit or roll back with the aggregate
+ * - Everything else is an @Async @TransactionalEventListener(AFTER_COMMIT) on
+ *   {@link #DOMAIN_EVENT_EXECUTOR}, so it neither extends the transaction nor blocks the request
+ *
+ * When the queue is full the task runs on the publishing thread (caller-runs), which
+ * applies back-pressure instead of dropping events.
+ */
+@Configuration
+@EnableAsync
+public class DomainEventConfiguration {
+
+    public static final String DOMAIN_EVENT_EXECUTOR = "domainEventExecutor";
+
+    @Bean(name = DOMAIN_EVENT_EXECUTOR)
+    public ExecutorService domainEventExecutor(MeterRegistry meterRegistry,
+                                               @Value("${orders.events.async.core-size:2}") int coreSize,
+                                               @Value("${orders.events.async.max-size:4}") int maxSize,
+                                               @Value("${orders.events.async.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                coreSize,
+                maxSize,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("domain-events-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        // executor.queued (queue depth), executor.execution (listener latency), executor.idle (queue wait)
+        ExecutorService monitored = ExecutorServiceMetrics.monitor(meterRegistry, executor, "orders.domain-events");
+        ContextSnapshotFactory snapshotFactory = ContextSnapshotFactory.builder().build();
+        return ContextExecutorService.wrap(monitored, snapshotFactory::captureAll);
+    }
+}
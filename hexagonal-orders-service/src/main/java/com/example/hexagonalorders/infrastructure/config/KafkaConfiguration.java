@@ -1,5 +1,6 @@
 package com.example.hexagonalorders.infrastructure.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,6 +8,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 
 import java.util.HashMap;
@@ -34,8 +36,14 @@ public class KafkaConfiguration {
    @Value("${spring.kafka.producer.buffer-memory:33554432}")
    private int bufferMemory;
 
+   @Value("${orders.outbox.relay.transactional:false}")
+   private boolean transactional;
+
+   @Value("${orders.outbox.relay.transaction-id-prefix:orders-outbox-tx-}")
+   private String transactionIdPrefix;
+
    @Bean
-   public ProducerFactory<String, String> producerFactory() {
+   public ProducerFactory<String, String> producerFactory(MeterRegistry meterRegistry) {
        Map<String, Object> configProps = new HashMap<>();
        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
@@ -51,11 +59,23 @@ public class KafkaConfiguration {
        // Set linger.ms for better batching
        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
       
-       return new DefaultKafkaProducerFactory<>(configProps);
+       DefaultKafkaProducerFactory<String, String> factory = new DefaultKafkaProducerFactory<>(configProps);
+       if (transactional) {
+           // Each relay page is published in one Kafka transaction; the prefix must be unique per instance
+           factory.setTransactionIdPrefix(transactionIdPrefix);
+       }
+       // Export the producer client metrics (record-send-rate, request latency, errors)
+       factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+       return factory;
    }
 
    @Bean
-   public KafkaTemplate<String, String> kafkaTemplate() {
-       return new KafkaTemplate<>(producerFactory());
+   public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> producerFactory) {
+       KafkaTemplate<String, String> kafkaTemplate = new KafkaTemplate<>(producerFactory);
+       // Producer spans and W3C trace headers on every record
+       kafkaTemplate.setObservationEnabled(true);
+       // Sends outside an explicit transaction keep working when the factory is transactional
+       kafkaTemplate.setAllowNonTransactional(true);
+       return kafkaTemplate;
    }
 } 
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.example.hexagonalorders.infrastructure.diagnostics;
+
+import jdk.jfr.Event;
+
+import java.util.List;
+
+/**
+ * The custom Flight Recorder events emitted by this service, shared by the
+ * recording endpoint and the metrics bridge so both enable the same set.
+ */
+final class JfrEventTypes {
+
+    static final List<Class<? extends Event>> ALL = List.of(
+        OrderCreateJfrEvent.class,
+        OrderConfirmJfrEvent.class,
+        OutboxClaimJfrEvent.class,
+        OutboxPublishBatchJfrEvent.class,
+        MapperJfrEvent.class
+    );
+
+    private JfrEventTypes() {
+    }
+
+    /**
+     * Short, tag-friendly name of an event type, e.g. "OrderConfirm".
+     */
+    static String stage(Class<? extends Event> type) {
+        String name = type.getSimpleName();
+        return name.substring(0, name.length() - "JfrEvent".length());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.hexagonalorders.infrastructure.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Streams the custom Flight Recorder events of this service into Micrometer.
+ * Each event type feeds a pre-registered {@code orders.jfr.stage} timer tagged
+ * with the stage name, so the durations measured by JFR show up as Prometheus
+ * histograms without any additional timing code on the hot path.
+ *
+ * The stream runs on its own JFR thread and keeps only a short window of data
+ * in the disk repository.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.jfr.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrMetricsBridge implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrMetricsBridge.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Duration maxAge;
+    private RecordingStream stream;
+
+    public JfrMetricsBridge(MeterRegistry meterRegistry,
+                            @Value("${orders.jfr.metrics.max-age-seconds:30}") long maxAgeSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        RecordingStream newStream = new RecordingStream();
+        newStream.setMaxAge(maxAge);
+        for (Class<? extends Event> type : JfrEventTypes.ALL) {
+            Timer timer = Timer.builder("orders.jfr.stage")
+                .description("Stage durations captured by the custom JFR events")
+                .tag("stage", JfrEventTypes.stage(type))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+            newStream.enable(type).withoutThreshold().withoutStackTrace();
+            newStream.onEvent(EventType.getEventType(type).getName(), event -> timer.record(event.getDuration()));
+        }
+        newStream.onError(error -> log.warn("JFR metrics stream failed", error));
+        newStream.startAsync();
+        stream = newStream;
+        log.info("JFR metrics bridge started for {} event types", JfrEventTypes.ALL.size());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+}
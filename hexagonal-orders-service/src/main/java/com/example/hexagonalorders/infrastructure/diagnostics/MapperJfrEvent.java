@@ -0,0 +1,38 @@
+package com.example.hexagonalorders.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering a single aggregate/entity mapping on the persistence path.
+ */
+@Name(MapperJfrEvent.NAME)
+@Label("Mapper")
+@Category({"Hexagonal", "Mapping"})
+@Description("Conversion between the order aggregate and its persistence entity")
+@StackTrace(false)
+public class MapperJfrEvent extends Event {
+
+    public static final String NAME = "hexagonal.orders.Mapper";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Item Count")
+    private int itemCount;
+
+    /**
+     * Fills in the key fields and commits the event if a recording wants it.
+     */
+    public void complete(String operation, int itemCount) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.itemCount = itemCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.hexagonalorders.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering the order confirmation use case: load, state
+ * transition, save and outbox write. Only committed when the order was confirmed.
+ */
+@Name(OrderConfirmJfrEvent.NAME)
+@Label("Order Confirm")
+@Category({"Hexagonal", "Orders"})
+@Description("Confirmation of an order, including persistence and outbox write")
+@StackTrace(false)
+public class OrderConfirmJfrEvent extends Event {
+
+    public static final String NAME = "hexagonal.orders.OrderConfirm";
+
+    @Label("Order Number")
+    private String orderNumber;
+
+    @Label("Item Count")
+    private int itemCount;
+
+    @Label("Version")
+    private long version;
+
+    /**
+     * Fills in the key fields and commits the event if a recording wants it.
+     */
+    public void complete(String orderNumber, int itemCount, Long version) {
+        if (shouldCommit()) {
+            this.orderNumber = orderNumber;
+            this.itemCount = itemCount;
+            this.version = version != null ? version : -1L;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.hexagonalorders.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering the order creation use case, from number
+ * generation to the outbox write. Only committed when the order was saved.
+ */
+@Name(OrderCreateJfrEvent.NAME)
+@Label("Order Create")
+@Category({"Hexagonal", "Orders"})
+@Description("Creation of an order, including validation, persistence and outbox write")
+@StackTrace(false)
+public class OrderCreateJfrEvent extends Event {
+
+    public static final String NAME = "hexagonal.orders.OrderCreate";
+
+    @Label("Order Number")
+    private String orderNumber;
+
+    @Label("Customer Id")
+    private String customerId;
+
+    @Label("Item Count")
+    private int itemCount;
+
+    /**
+     * Fills in the key fields and commits the event if a recording wants it.
+     */
+    public void complete(String orderNumber, String customerId, int itemCount) {
+        if (shouldCommit()) {
+            this.orderNumber = orderNumber;
+            this.customerId = customerId;
+            this.itemCount = itemCount;
+            commit();
+        }
+    }
+}
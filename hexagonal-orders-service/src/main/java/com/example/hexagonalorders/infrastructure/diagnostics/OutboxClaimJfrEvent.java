@@ -0,0 +1,34 @@
+package com.example.hexagonalorders.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering the query that picks up pending outbox messages.
+ */
+@Name(OutboxClaimJfrEvent.NAME)
+@Label("Outbox Claim")
+@Category({"Hexagonal", "Outbox"})
+@Description("Loading of pending outbox messages by the relay")
+@StackTrace(false)
+public class OutboxClaimJfrEvent extends Event {
+
+    public static final String NAME = "hexagonal.orders.OutboxClaim";
+
+    @Label("Claimed Messages")
+    private int claimed;
+
+    /**
+     * Fills in the key fields and commits the event if a recording wants it.
+     */
+    public void complete(int claimed) {
+        if (shouldCommit()) {
+            this.claimed = claimed;
+            commit();
+        }
+    }
+}
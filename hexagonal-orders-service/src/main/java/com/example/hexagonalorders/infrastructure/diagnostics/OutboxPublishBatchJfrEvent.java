@@ -0,0 +1,42 @@
+package com.example.hexagonalorders.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering one relay pass over a batch of claimed outbox messages.
+ */
+@Name(OutboxPublishBatchJfrEvent.NAME)
+@Label("Outbox Publish Batch")
+@Category({"Hexagonal", "Outbox"})
+@Description("Publication of a batch of outbox messages to the message broker")
+@StackTrace(false)
+public class OutboxPublishBatchJfrEvent extends Event {
+
+    public static final String NAME = "hexagonal.orders.OutboxPublishBatch";
+
+    @Label("Batch Size")
+    private int batchSize;
+
+    @Label("Published")
+    private int published;
+
+    @Label("Failed")
+    private int failed;
+
+    /**
+     * Fills in the key fields and commits the event if a recording wants it.
+     */
+    public void complete(int batchSize, int published, int failed) {
+        if (shouldCommit()) {
+            this.batchSize = batchSize;
+            this.published = published;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
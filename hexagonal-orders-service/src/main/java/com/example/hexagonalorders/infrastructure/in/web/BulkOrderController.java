@@ -0,0 +1,126 @@
+package com.example.hexagonalorders.infrastructure.in.web;
+
+import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.domain.port.in.BulkOrderUseCase;
+import com.example.hexagonalorders.infrastructure.in.web.dto.BulkOrderItemResultDto;
+import com.example.hexagonalorders.infrastructure.in.web.dto.BulkOrderResponseDto;
+import com.example.hexagonalorders.infrastructure.in.web.dto.OrderDto;
+import com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * REST controller for bulk order creation.
+ * This is an input adapter in the infrastructure layer that accepts many orders in a
+ * single request, either as a JSON array or as an NDJSON stream (one order per line),
+ * and delegates to the application core through the BulkOrderUseCase port.
+ */
+@RestController
+@RequestMapping("/api/orders")
+@Tag(name = "Orders", description = "Order management API")
+public class BulkOrderController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final BulkOrderUseCase bulkOrderUseCase;
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
+    private final int maxItems;
+
+    public BulkOrderController(BulkOrderUseCase bulkOrderUseCase,
+                               OrderMapper orderMapper,
+                               ObjectMapper objectMapper,
+                               @Value("${orders.bulk.max-items:10000}") int maxItems) {
+        this.bulkOrderUseCase = bulkOrderUseCase;
+        this.orderMapper = orderMapper;
+        this.objectMapper = objectMapper;
+        this.maxItems = maxItems;
+    }
+
+    @Operation(summary = "Create orders in bulk", description = "Creates many orders from a JSON array and reports a result per item.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Request processed, see per-item results"),
+        @ApiResponse(responseCode = "413", description = "Too many items in a single request")
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkOrderResponseDto> createOrders(@RequestBody List<OrderDto> orderDtos) {
+        if (orderDtos.size() > maxItems) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok(process(orderDtos));
+    }
+
+    @Operation(summary = "Create orders in bulk from NDJSON", description = "Creates many orders from an NDJSON stream (one order per line) and reports a result per item.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Request processed, see per-item results"),
+        @ApiResponse(responseCode = "400", description = "Malformed NDJSON line"),
+        @ApiResponse(responseCode = "413", description = "Too many items in a single request")
+    })
+    @PostMapping(value = "/bulk", consumes = NDJSON)
+    public ResponseEntity<BulkOrderResponseDto> createOrdersFromStream(InputStream body) {
+        List<OrderDto> orderDtos = new ArrayList<>();
+        try (MappingIterator<OrderDto> iterator = objectMapper.readerFor(OrderDto.class).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                if (orderDtos.size() == maxItems) {
+                    return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+                }
+                orderDtos.add(iterator.nextValue());
+            }
+        } catch (IOException | RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(process(orderDtos));
+    }
+
+    private BulkOrderResponseDto process(List<OrderDto> orderDtos) {
+        BulkOrderItemResultDto[] results = new BulkOrderItemResultDto[orderDtos.size()];
+        List<OrderMapper.OrderCreationData> accepted = new ArrayList<>(orderDtos.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(orderDtos.size());
+
+        for (int i = 0; i < orderDtos.size(); i++) {
+            OrderDto dto = orderDtos.get(i);
+            if (dto == null) {
+                results[i] = BulkOrderItemResultDto.failed(i, "Order cannot be null");
+            } else if (dto.getOrderNumber() != null && !dto.getOrderNumber().trim().isEmpty()) {
+                results[i] = BulkOrderItemResultDto.failed(i, "Order number is generated by the backend and must not be sent");
+            } else {
+                try {
+                    accepted.add(orderMapper.createOrderData(dto));
+                    acceptedIndexes.add(i);
+                } catch (IllegalArgumentException e) {
+                    results[i] = BulkOrderItemResultDto.failed(i, e.getMessage());
+                }
+            }
+        }
+
+        List<BulkOrderUseCase.ItemResult> created = bulkOrderUseCase.createOrders(accepted);
+        for (int j = 0; j < created.size(); j++) {
+            int index = acceptedIndexes.get(j);
+            BulkOrderUseCase.ItemResult result = created.get(j);
+            if (result.isCreated()) {
+                Order order = result.order();
+                results[index] = BulkOrderItemResultDto.created(index, order.getId(), order.getOrderNumber().value());
+            } else {
+                results[index] = BulkOrderItemResultDto.failed(index, result.error());
+            }
+        }
+        return new BulkOrderResponseDto(List.of(results));
+    }
+}
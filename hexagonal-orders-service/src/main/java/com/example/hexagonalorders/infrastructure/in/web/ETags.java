@@ -0,0 +1,45 @@
+package com.example.hexagonalorders.infrastructure.in.web;
+
+/**
+ * Helper for evaluating If-None-Match headers against entity tags derived
+ * from the aggregate version.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Builds the strong entity tag for an aggregate version.
+     *
+     * @param version the persistence version
+     * @return the quoted entity tag
+     */
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Checks whether an If-None-Match header matches the given entity tag.
+     * Weak comparison is used, as mandated for If-None-Match.
+     *
+     * @param ifNoneMatch the raw header value, possibly a comma separated list
+     * @param etag the current quoted entity tag
+     * @return true if the client copy is still current
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag)) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -12,6 +12,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -55,16 +58,35 @@ public class OrderController {
     @Operation(summary = "Get an order by order number", description = "Retrieves an order by its order number.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Order found"),
+        @ApiResponse(responseCode = "304", description = "Order not modified since the supplied ETag"),
         @ApiResponse(responseCode = "404", description = "Order not found")
     })
     @GetMapping("/{orderNumber}")
-    public ResponseEntity<OrderResponseDto> getOrder(@PathVariable String orderNumber) {
+    public ResponseEntity<OrderResponseDto> getOrder(@PathVariable String orderNumber,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Lectura condicional: se resuelve solo con la versión, sin cargar el agregado
+        if (ifNoneMatch != null) {
+            var version = orderUseCase.getOrderVersion(new OrderNumber(orderNumber));
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            String etag = ETags.of(version.get());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+
         // Usar el método que devuelve el id
         var orderWithId = ((com.example.hexagonalorders.application.service.OrderService) orderUseCase)
             .getOrderWithId(new OrderNumber(orderNumber));
         
         if (orderWithId.isPresent()) {
-            return ResponseEntity.ok(orderMapper.toResponseDto(orderWithId.get().getOrder(), orderWithId.get().getId()));
+            Order order = orderWithId.get().getOrder();
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (order.getVersion() != null) {
+                response.eTag(ETags.of(order.getVersion()));
+            }
+            return response.body(orderMapper.toResponseDto(order, orderWithId.get().getId()));
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -106,6 +128,8 @@ public class OrderController {
             return ResponseEntity.notFound().build();
         } catch (IllegalStateException e) {
             return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+/**
+ * Data Transfer Object for the result of a single item of a bulk order request.
+ * The index refers to the position of the item in the request.
+ */
+public class BulkOrderItemResultDto {
+    private int index;
+    private String status;
+    private Long id;
+    private String orderNumber;
+    private String error;
+
+    public BulkOrderItemResultDto() {}
+
+    public BulkOrderItemResultDto(int index, String status, Long id, String orderNumber, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.orderNumber = orderNumber;
+        this.error = error;
+    }
+
+    public static BulkOrderItemResultDto created(int index, Long id, String orderNumber) {
+        return new BulkOrderItemResultDto(index, "CREATED", id, orderNumber, null);
+    }
+
+    public static BulkOrderItemResultDto failed(int index, String error) {
+        return new BulkOrderItemResultDto(index, "FAILED", null, null, error);
+    }
+
+    // Getters
+    public int getIndex() { return index; }
+    public String getStatus() { return status; }
+    public Long getId() { return id; }
+    public String getOrderNumber() { return orderNumber; }
+    public String getError() { return error; }
+
+    // Setters
+    public void setIndex(int index) { this.index = index; }
+    public void setStatus(String status) { this.status = status; }
+    public void setId(Long id) { this.id = id; }
+    public void setOrderNumber(String orderNumber) { this.orderNumber = orderNumber; }
+    public void setError(String error) { this.error = error; }
+}
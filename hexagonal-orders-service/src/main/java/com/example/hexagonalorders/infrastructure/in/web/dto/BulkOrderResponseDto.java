@@ -0,0 +1,36 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the response of a bulk order request.
+ * Contains the totals and one result per submitted item, in request order.
+ */
+public class BulkOrderResponseDto {
+    private int created;
+    private int failed;
+    private List<BulkOrderItemResultDto> results;
+
+    public BulkOrderResponseDto() {}
+
+    public BulkOrderResponseDto(List<BulkOrderItemResultDto> results) {
+        this.results = results;
+        for (BulkOrderItemResultDto result : results) {
+            if ("CREATED".equals(result.getStatus())) {
+                created++;
+            } else {
+                failed++;
+            }
+        }
+    }
+
+    // Getters
+    public int getCreated() { return created; }
+    public int getFailed() { return failed; }
+    public List<BulkOrderItemResultDto> getResults() { return results; }
+
+    // Setters
+    public void setCreated(int created) { this.created = created; }
+    public void setFailed(int failed) { this.failed = failed; }
+    public void setResults(List<BulkOrderItemResultDto> results) { this.results = results; }
+}
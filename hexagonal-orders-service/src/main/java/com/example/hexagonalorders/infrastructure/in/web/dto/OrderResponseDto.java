@@ -7,8 +7,8 @@ import com.example.hexagonalorders.domain.model.valueobject.Address;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Data Transfer Object for Order response data.
@@ -44,9 +44,11 @@ public class OrderResponseDto {
         this.customerId = order.getCustomerId();
         this.orderDate = order.getOrderDate();
         this.status = order.getStatus().name();
-        this.items = order.getItems().stream()
-                .map(OrderItemResponseDto::new)
-                .collect(Collectors.toList());
+        List<OrderItem> orderItems = order.getItems();
+        this.items = new ArrayList<>(orderItems.size());
+        for (OrderItem item : orderItems) {
+            this.items.add(new OrderItemResponseDto(item));
+        }
         Address addr = order.getAddress();
         if (addr != null) {
             this.address = new AddressDto(addr.street(), addr.city(), addr.postalCode(), addr.country());
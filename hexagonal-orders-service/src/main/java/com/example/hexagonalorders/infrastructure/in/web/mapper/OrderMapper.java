@@ -14,8 +14,8 @@ import com.example.hexagonalorders.infrastructure.in.web.dto.AddressDto;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Mapper class responsible for converting between domain entities and DTOs.
@@ -112,9 +112,11 @@ public class OrderMapper {
         if (itemDtos == null) {
             return null;
         }
-        return itemDtos.stream()
-                .map(this::toDomainItem)
-                .collect(Collectors.toList());
+        List<OrderItem> items = new ArrayList<>(itemDtos.size());
+        for (OrderItemDto itemDto : itemDtos) {
+            items.add(toDomainItem(itemDto));
+        }
+        return items;
     }
     
     private OrderItem toDomainItem(OrderItemDto dto) {
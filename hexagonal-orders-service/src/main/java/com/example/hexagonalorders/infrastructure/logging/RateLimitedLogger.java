@@ -0,0 +1,68 @@
+package com.example.hexagonalorders.infrastructure.logging;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logger wrapper for per-message events on hot paths.
+ * At most {@code permits} messages are written per window; the rest are counted
+ * and reported as a single summary line when the next window opens. The level
+ * check and the permit check both happen before any argument is formatted, so a
+ * suppressed call costs two atomic operations.
+ *
+ * Only use this for routine INFO/DEBUG traffic. Warnings and errors must go
+ * through the plain logger so they are never sampled away.
+ */
+public final class RateLimitedLogger {
+
+    private final Logger logger;
+    private final long windowNanos;
+    private final int permits;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger used = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public RateLimitedLogger(Logger logger, int permits, Duration window) {
+        this.logger = logger;
+        this.permits = permits;
+        this.windowNanos = window.toNanos();
+    }
+
+    public void info(String format, Object arg) {
+        if (logger.isInfoEnabled() && tryAcquire()) {
+            logger.info(format, arg);
+        }
+    }
+
+    public void info(String format, Object arg1, Object arg2) {
+        if (logger.isInfoEnabled() && tryAcquire()) {
+            logger.info(format, arg1, arg2);
+        }
+    }
+
+    public void info(String format, Object... args) {
+        if (logger.isInfoEnabled() && tryAcquire()) {
+            logger.info(format, args);
+        }
+    }
+
+    private boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+            long dropped = suppressed.getAndSet(0);
+            if (dropped > 0) {
+                logger.info("{} similar log messages suppressed in the last {} ms", dropped, windowNanos / 1_000_000);
+            }
+        }
+        if (used.incrementAndGet() <= permits) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.hexagonalorders.infrastructure.out.messaging;
 
 import com.example.hexagonalorders.domain.port.out.MessagePublisher;
+import com.example.hexagonalorders.infrastructure.logging.RateLimitedLogger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,25 +12,47 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
 * Kafka implementation of MessagePublisher that publishes messages to Kafka topics.
 * This implementation provides reliable message delivery with proper error handling
 * and logging for the outbox pattern.
+*
+* Send latency is measured from the call to the broker acknowledgement and exported
+* as a histogram, split by outcome. Both timers are resolved once at construction.
+*
+* When the producer factory has a transaction id prefix, atomic groups run inside one
+* Kafka transaction; otherwise they are plain idempotent sends.
 */
 @Primary
 @Component
 public class KafkaMessagePublisher implements MessagePublisher {
 
    private static final Logger log = LoggerFactory.getLogger(KafkaMessagePublisher.class);
+   private static final RateLimitedLogger sentLog = new RateLimitedLogger(log, 10, Duration.ofSeconds(1));
 
    private final KafkaTemplate<String, String> kafkaTemplate;
    private final TopicNameMapper topicNameMapper;
+   private final Timer sendSuccessTimer;
+   private final Timer sendFailureTimer;
 
-    public KafkaMessagePublisher(KafkaTemplate<String, String> kafkaTemplate, TopicNameMapper topicNameMapper) {
+    public KafkaMessagePublisher(KafkaTemplate<String, String> kafkaTemplate, TopicNameMapper topicNameMapper,
+                                 MeterRegistry meterRegistry) {
         this.kafkaTemplate = kafkaTemplate;
         this.topicNameMapper = topicNameMapper;
+        this.sendSuccessTimer = sendTimer(meterRegistry, "success");
+        this.sendFailureTimer = sendTimer(meterRegistry, "failure");
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("orders.kafka.send")
+            .description("Latency between a Kafka send and its broker acknowledgement")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
     }
 
    @Override
@@ -48,23 +73,41 @@ public class KafkaMessagePublisher implements MessagePublisher {
            log.debug("Publishing message to Kafka topic '{}' (original topic: '{}')", kafkaTopic, topic);
           
            // Use the event type as the key for partitioning
+           long sendStart = System.nanoTime();
            CompletableFuture<SendResult<String, String>> future = kafkaTemplate.send(kafkaTopic, eventType, payload);
           
            // Handle the result asynchronously
            future.whenComplete((result, throwable) -> {
+               long elapsed = System.nanoTime() - sendStart;
                if (throwable != null) {
+                   sendFailureTimer.record(elapsed, TimeUnit.NANOSECONDS);
                    log.error("Failed to publish message to Kafka topic '{}': {}", kafkaTopic, throwable.getMessage(), throwable);
                } else {
+                   sendSuccessTimer.record(elapsed, TimeUnit.NANOSECONDS);
                    log.debug("Successfully published message to Kafka topic '{}' at partition {} offset {}",
                             kafkaTopic, result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
                }
            });
           
-           log.info("Message sent to Kafka topic '{}' (aggregate: {}, event: {})", kafkaTopic, aggregateType, eventType);
+           sentLog.info("Message sent to Kafka topic '{}' (aggregate: {}, event: {})", kafkaTopic, aggregateType, eventType);
           
        } catch (Exception e) {
            log.error("Failed to publish message to topic '{}': {}", topic, e.getMessage(), e);
            throw new RuntimeException("Failed to publish message to Kafka", e);
        }
    }
+
+   @Override
+   public void publishAtomically(Runnable publications) {
+       if (!kafkaTemplate.isTransactional()) {
+           publications.run();
+           return;
+       }
+       // Sends made through the template inside the callback reuse its transactional producer;
+       // any exception, including a failed send reported at commit, aborts the whole group
+       kafkaTemplate.executeInTransaction(operations -> {
+           publications.run();
+           return null;
+       });
+   }
 } 
\ No newline at end of file
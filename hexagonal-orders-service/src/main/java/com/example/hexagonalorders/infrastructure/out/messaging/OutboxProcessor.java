@@ -3,29 +3,103 @@ package com.example.hexagonalorders.infrastructure.out.messaging;
 import com.example.hexagonalorders.domain.model.OutboxMessage;
 import com.example.hexagonalorders.domain.port.out.MessagePublisher;
 import com.example.hexagonalorders.domain.port.out.OutboxRepository;
+import com.example.hexagonalorders.infrastructure.diagnostics.OutboxClaimJfrEvent;
+import com.example.hexagonalorders.infrastructure.diagnostics.OutboxPublishBatchJfrEvent;
+import com.example.hexagonalorders.infrastructure.logging.RateLimitedLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Procesador que lee mensajes pendientes del outbox y los publica a Kafka.
  * Este componente garantiza la entrega confiable de mensajes procesando
  * mensajes del outbox de manera programada.
+ *
+ * Expone métricas del relay: mensajes publicados y fallidos, tamaño de cada lote,
+ * y los gauges de pendientes y antigüedad del pendiente más viejo. Los gauges leen
+ * valores refrescados al final de cada ciclo, por lo que un scrape de Prometheus
+ * nunca consulta la base de datos. La lectura de pendientes y la publicación de cada
+ * lote emiten además eventos JFR ({@link OutboxClaimJfrEvent}, {@link OutboxPublishBatchJfrEvent}).
+ *
+ * Cada mensaje restaura el contexto de traza guardado al escribirlo: se registra un
+ * span con el tiempo de espera en el outbox y la publicación a Kafka se hace dentro
+ * de un span hijo, de modo que el productor propaga la traza en las cabeceras.
+ *
+ * Los cambios de estado del lote se aplican con actualizaciones por conjunto: una
+ * para pasar todo el lote a PROCESSING y otra para los mensajes publicados.
+ *
+ * Con orders.outbox.relay.transactional=true el lote se publica por páginas, cada una
+ * en una transacción de Kafka: la página se marca PROCESSED solo tras confirmar la
+ * transacción y, si se aborta, queda entera como FAILED sin que un consumidor en
+ * read_committed vea ninguno de sus mensajes. El tiempo de cada ciclo se publica en
+ * {@code orders.outbox.relay.publish}, etiquetado por modo, para comparar ambos modos.
  */
 @Component
 public class OutboxProcessor {
     
     private static final Logger logger = LoggerFactory.getLogger(OutboxProcessor.class);
+    private static final RateLimitedLogger messageLog = new RateLimitedLogger(logger, 10, Duration.ofSeconds(1));
     
     private final OutboxRepository outboxRepository;
     private final MessagePublisher messagePublisher;
+    private final OutboxTracing outboxTracing;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final DistributionSummary batchSize;
+    private final Timer publishTimer;
+    private final boolean transactional;
+    private final int pageSize;
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong oldestPendingEpochMillis = new AtomicLong();
     
-    public OutboxProcessor(OutboxRepository outboxRepository, MessagePublisher messagePublisher) {
+    public OutboxProcessor(OutboxRepository outboxRepository, MessagePublisher messagePublisher,
+                           OutboxTracing outboxTracing, MeterRegistry meterRegistry,
+                           @Value("${orders.outbox.relay.transactional:false}") boolean transactional,
+                           @Value("${orders.outbox.relay.page-size:500}") int pageSize) {
         this.outboxRepository = outboxRepository;
         this.messagePublisher = messagePublisher;
+        this.outboxTracing = outboxTracing;
+        this.transactional = transactional;
+        this.pageSize = pageSize;
+        this.publishedCounter = Counter.builder("orders.outbox.relay.published")
+            .description("Outbox messages handed to the message broker")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("orders.outbox.relay.failed")
+            .description("Outbox messages that could not be relayed")
+            .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("orders.outbox.relay.batch.size")
+            .description("Pending messages picked up per relay run")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.publishTimer = Timer.builder("orders.outbox.relay.publish")
+            .description("Time to publish and mark the messages of one relay run")
+            .tag("mode", transactional ? "transactional" : "idempotent")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge.builder("orders.outbox.pending", pendingCount, AtomicLong::get)
+            .description("Outbox messages waiting to be relayed")
+            .register(meterRegistry);
+        Gauge.builder("orders.outbox.pending.oldest.age", oldestPendingEpochMillis, OutboxProcessor::ageSeconds)
+            .description("Age of the oldest pending outbox message")
+            .baseUnit("seconds")
+            .register(meterRegistry);
     }
     
     /**
@@ -35,43 +109,85 @@ public class OutboxProcessor {
     @Scheduled(fixedDelay = 20000) // Ejecutar cada 20 segundos
     public void processPendingMessages() {
         try {
+            OutboxClaimJfrEvent claimEvent = new OutboxClaimJfrEvent();
+            claimEvent.begin();
             List<OutboxMessage> pendingMessages = outboxRepository.findPendingMessages();
+            claimEvent.complete(pendingMessages.size());
             
             if (!pendingMessages.isEmpty()) {
                 logger.info("Procesando {} mensajes pendientes del outbox", pendingMessages.size());
                 
+                // Marcar el lote completo como procesando con una sola actualización
+                List<UUID> claimedIds = new ArrayList<>(pendingMessages.size());
                 for (OutboxMessage message : pendingMessages) {
-                    processMessage(message);
+                    message.markAsProcessing();
+                    claimedIds.add(message.getId());
                 }
+                outboxRepository.markAllProcessing(claimedIds);
+                
+                OutboxPublishBatchJfrEvent batchEvent = new OutboxPublishBatchJfrEvent();
+                batchEvent.begin();
+                long publishStart = System.nanoTime();
+                List<UUID> publishedIds = new ArrayList<>(pendingMessages.size());
+                if (transactional) {
+                    for (int from = 0; from < pendingMessages.size(); from += pageSize) {
+                        publishedIds.addAll(publishPage(
+                            pendingMessages.subList(from, Math.min(pendingMessages.size(), from + pageSize))));
+                    }
+                } else {
+                    for (OutboxMessage message : pendingMessages) {
+                        if (processMessage(message)) {
+                            publishedIds.add(message.getId());
+                        }
+                    }
+                    outboxRepository.markAllProcessed(publishedIds);
+                }
+                publishTimer.record(System.nanoTime() - publishStart, TimeUnit.NANOSECONDS);
+                batchEvent.complete(pendingMessages.size(), publishedIds.size(),
+                    pendingMessages.size() - publishedIds.size());
             }
+            batchSize.record(pendingMessages.size());
         } catch (Exception e) {
             logger.error("Error procesando mensajes del outbox", e);
+        } finally {
+            refreshBacklogGauges();
+        }
+    }
+    
+    /**
+     * Refresca los valores que exponen los gauges de backlog del outbox.
+     */
+    private void refreshBacklogGauges() {
+        try {
+            pendingCount.set(outboxRepository.countPending());
+            oldestPendingEpochMillis.set(outboxRepository.findOldestPendingCreatedAt()
+                .map(Instant::toEpochMilli)
+                .orElse(0L));
+        } catch (Exception e) {
+            logger.warn("No se pudieron refrescar las métricas del outbox", e);
         }
     }
     
+    private static double ageSeconds(AtomicLong oldestEpochMillis) {
+        long oldest = oldestEpochMillis.get();
+        return oldest == 0L ? 0.0 : Math.max(0L, System.currentTimeMillis() - oldest) / 1000.0;
+    }
+    
     /**
-     * Procesa un mensaje individual del outbox.
+     * Procesa un mensaje individual del outbox. Solo los fallos se persisten
+     * aquí; los mensajes publicados se marcan en bloque al terminar el lote.
      * 
      * @param message el mensaje a procesar
+     * @return true si el mensaje se publicó
      */
-    private void processMessage(OutboxMessage message) {
+    private boolean processMessage(OutboxMessage message) {
         try {
-            // Marcar como procesando
-            message.markAsProcessing();
-            outboxRepository.save(message);
-            
-            // Generar tópico dinámicamente
-            String topic = message.getAggregateType() + "." + message.getEventType();
-            
-            logger.info("Procesando mensaje del outbox - Agregado: {}, Evento: {}, Tópico: {}", 
-                message.getAggregateType(), message.getEventType(), topic);
+            publish(message);
             
-            // Publicar mensaje a Kafka
-            messagePublisher.publish(topic, message.getPayload());
-            
-            // Marcar como procesado
+            // Se marca como procesado junto con el resto del lote
             message.markAsProcessed();
-            outboxRepository.save(message);
+            publishedCounter.increment();
+            return true;
             
         } catch (Exception e) {
             logger.error("Error procesando mensaje del outbox con id: {}", message.getId(), e);
@@ -79,6 +195,64 @@ public class OutboxProcessor {
             // Marcar como fallido
             message.markAsFailed(e.getMessage());
             outboxRepository.save(message);
+            failedCounter.increment();
+            return false;
+        }
+    }
+    
+    /**
+     * Publica una página del lote dentro de una transacción de Kafka. La página se
+     * marca como procesada solo si la transacción se confirma; si se aborta, todos
+     * sus mensajes se marcan como fallidos.
+     * 
+     * @param page los mensajes de la página
+     * @return los ids de los mensajes publicados
+     */
+    private List<UUID> publishPage(List<OutboxMessage> page) {
+        try {
+            messagePublisher.publishAtomically(() -> page.forEach(this::publish));
+        } catch (Exception e) {
+            logger.error("Transacción de Kafka abortada para una página de {} mensajes del outbox", page.size(), e);
+            for (OutboxMessage message : page) {
+                message.markAsFailed(e.getMessage());
+                outboxRepository.save(message);
+            }
+            failedCounter.increment(page.size());
+            return List.of();
+        }
+        List<UUID> publishedIds = new ArrayList<>(page.size());
+        for (OutboxMessage message : page) {
+            message.markAsProcessed();
+            publishedIds.add(message.getId());
+        }
+        outboxRepository.markAllProcessed(publishedIds);
+        publishedCounter.increment(page.size());
+        return publishedIds;
+    }
+    
+    /**
+     * Publica un mensaje dentro de su span de publicación, tras registrar el tiempo
+     * que pasó en el outbox.
+     * 
+     * @param message el mensaje a publicar
+     */
+    private void publish(OutboxMessage message) {
+        outboxTracing.recordQueueTime(message);
+        // Generar tópico dinámicamente
+        String topic = message.getAggregateType() + "." + message.getEventType();
+        
+        messageLog.info("Procesando mensaje del outbox - Agregado: {}, Evento: {}, Tópico: {}", 
+            message.getAggregateType(), message.getEventType(), topic);
+        
+        // Publicar mensaje a Kafka dentro del span de publicación
+        Span publishSpan = outboxTracing.startPublishSpan(message, topic);
+        try (Tracer.SpanInScope ignored = outboxTracing.withSpan(publishSpan)) {
+            messagePublisher.publish(topic, message.getPayload());
+        } catch (RuntimeException e) {
+            publishSpan.error(e);
+            throw e;
+        } finally {
+            publishSpan.end();
         }
     }
 } 
\ No newline at end of file
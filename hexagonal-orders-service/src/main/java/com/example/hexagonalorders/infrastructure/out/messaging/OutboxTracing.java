@@ -0,0 +1,96 @@
+package com.example.hexagonalorders.infrastructure.out.messaging;
+
+import com.example.hexagonalorders.domain.model.OutboxMessage;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carries trace context across the outbox.
+ * This class is part of the adapter layer and is responsible for:
+ * - Capturing the current trace context as headers when an outbox row is written
+ * - Recording the time a message waited in the outbox as its own span
+ * - Starting the publish span under which the Kafka producer span is created
+ *
+ * Both spans are children of the span that wrote the row, so a trace shows the
+ * request, the outbox wait and the broker hand-off in one timeline. When tracing
+ * is disabled the no-op tracer and propagator are used and nothing is recorded.
+ */
+@Component
+public class OutboxTracing {
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    public OutboxTracing(ObjectProvider<Tracer> tracer, ObjectProvider<Propagator> propagator) {
+        this.tracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+        this.propagator = propagator.getIfAvailable(() -> Propagator.NOOP);
+    }
+
+    /**
+     * Serializes the current trace context into propagation headers.
+     *
+     * @return the headers, empty when there is no active span
+     */
+    public Map<String, String> captureCurrentContext() {
+        TraceContext context = tracer.currentTraceContext().context();
+        if (context == null) {
+            return Map.of();
+        }
+        Map<String, String> headers = new HashMap<>(4);
+        propagator.inject(context, headers, Map::put);
+        return headers;
+    }
+
+    /**
+     * Records the span covering the time between the outbox write and the relay pick-up.
+     *
+     * @param message the message that is about to be relayed
+     */
+    public void recordQueueTime(OutboxMessage message) {
+        if (message.getHeaders().isEmpty() || message.getCreatedAt() == null) {
+            return;
+        }
+        Span queueSpan = childOf(message)
+            .name("outbox queue")
+            .tag("outbox.event_type", message.getEventType())
+            .startTimestamp(message.getCreatedAt().toEpochMilli(), TimeUnit.MILLISECONDS)
+            .start();
+        queueSpan.end(System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts the span that wraps publishing the message to the broker.
+     *
+     * @param message the message being relayed
+     * @param topic the logical topic of the message
+     * @return the started span; callers put it in scope and end it
+     */
+    public Span startPublishSpan(OutboxMessage message, String topic) {
+        Span.Builder builder = message.getHeaders().isEmpty()
+            ? tracer.spanBuilder()
+            : childOf(message);
+        return builder
+            .name("outbox publish")
+            .kind(Span.Kind.PRODUCER)
+            .tag("outbox.event_type", message.getEventType())
+            .tag("outbox.topic", topic)
+            .start();
+    }
+
+    public Tracer.SpanInScope withSpan(Span span) {
+        return tracer.withSpan(span);
+    }
+
+    private Span.Builder childOf(OutboxMessage message) {
+        Map<String, String> headers = message.getHeaders();
+        return propagator.extract(headers, Map::get);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.hexagonalorders.infrastructure.out.orderNumber;
+
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.port.out.OrderNumberGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Secondary adapter implementing the OrderNumberGenerator port with time-ordered UUIDs (version 7).
+ * This class is part of the adapter layer and is responsible for:
+ * - Generating order numbers whose leading bits are the creation timestamp in milliseconds,
+ *   so new rows are appended at the right edge of the unique order number index
+ * - Embedding a configurable node id, so replicas never produce the same value
+ * - Keeping the string format of a regular UUID, so existing order numbers stay valid
+ *
+ * Layout (RFC 9562): 48-bit Unix millis | version 7 | 12-bit counter | variant |
+ * 10-bit node id | 52 random bits. The counter follows RFC 9562 method 1: it starts
+ * at a random value below 2048 on each new millisecond and is incremented for every
+ * order number generated in the same millisecond; when it overflows it carries into
+ * the timestamp. Timestamp and counter live in one AtomicLong updated with a CAS, so
+ * values from one instance are strictly increasing, even if the clock steps back.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.number.strategy", havingValue = "uuid7", matchIfMissing = true)
+public class TimeOrderedOrderNumberGenerator implements OrderNumberGenerator {
+
+    static final int MAX_NODE_ID = (1 << 10) - 1;
+
+    private final long nodeBits;
+    // Timestamp in the upper 48 bits, counter in the lower 12
+    private final AtomicLong lastTick = new AtomicLong();
+
+    public TimeOrderedOrderNumberGenerator(@Value("${orders.number.node-id:0}") int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("orders.number.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = (long) nodeId << 52;
+    }
+
+    @Override
+    public OrderNumber generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long tick = nextTick(random);
+        long mostSignificant = ((tick >>> 12) << 16) | 0x7000L | (tick & 0x0FFFL);
+        long leastSignificant = 0x8000_0000_0000_0000L | nodeBits | (random.nextLong() & 0x000F_FFFF_FFFF_FFFFL);
+        return new OrderNumber(new UUID(mostSignificant, leastSignificant).toString());
+    }
+
+    private long nextTick(ThreadLocalRandom random) {
+        long start = (System.currentTimeMillis() & 0xFFFF_FFFF_FFFFL) << 12;
+        while (true) {
+            long last = lastTick.get();
+            // The high bit of the seed stays clear, leaving at least 2048 increments per millisecond
+            long next = start > last ? start | random.nextInt(0x0800) : last + 1;
+            if (lastTick.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
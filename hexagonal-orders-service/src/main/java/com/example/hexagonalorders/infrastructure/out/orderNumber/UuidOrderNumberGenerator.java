@@ -2,6 +2,7 @@ package com.example.hexagonalorders.infrastructure.out.orderNumber;
 
 import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
 import com.example.hexagonalorders.domain.port.out.OrderNumberGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.UUID;
@@ -16,8 +17,13 @@ import java.util.UUID;
  * This adapter follows the Adapter pattern to provide a specific implementation
  * of the order number generation strategy while keeping the domain layer
  * independent of the implementation details.
+ *
+ * Random UUIDs land at arbitrary positions of the unique order number index; this
+ * strategy is kept for compatibility and is selected with orders.number.strategy=random.
+ * The default is {@link TimeOrderedOrderNumberGenerator}.
  */
 @Component
+@ConditionalOnProperty(name = "orders.number.strategy", havingValue = "random")
 public class UuidOrderNumberGenerator implements OrderNumberGenerator {
     @Override
     public OrderNumber generate() {
@@ -0,0 +1,153 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.cache;
+
+import com.example.hexagonalorders.domain.event.OrderConfirmedEvent;
+import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.port.out.OrderRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-through cache decorator for the OrderRepository port.
+ * This class is part of the adapter layer and is responsible for:
+ * - Serving order reads by order number from a bounded in-process cache
+ * - Invalidating entries on writes, deletes and order confirmation events
+ * - Exporting hit/miss/eviction statistics to the meter registry
+ *
+ * Cached aggregates are never handed out directly: every hit returns a copy,
+ * so callers that mutate an order (e.g. confirm) cannot corrupt the cache.
+ * The cache is bypassed entirely inside a running transaction: entries are
+ * neither read nor populated there, and writes evict again after completion. This keeps uncommitted state out of the
+ * cache, and write paths such as confirmOrder always load the current row
+ * instead of a possibly stale copy that would end in an optimistic-lock conflict.
+ *
+ * The delegate is whichever persistence adapter the active profile selects
+ * (JPA by default, plain JDBC with the "jdbc" profile); both carry the
+ * "orderStore" qualifier.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(name = "orders.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingOrderRepository implements OrderRepository {
+
+    private final OrderRepository delegate;
+    private final Cache<OrderNumber, Order> cache;
+
+    public CachingOrderRepository(@Qualifier("orderStore") OrderRepository delegate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${orders.cache.maximum-size:10000}") long maximumSize,
+                                  @Value("${orders.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.delegate = delegate;
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                        .recordStats()
+                        .<OrderNumber, Order>build(),
+                "orders");
+    }
+
+    @Override
+    public Order save(Order order) {
+        Order saved = delegate.save(order);
+        invalidate(order.getOrderNumber());
+        return saved;
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        List<Order> saved = delegate.saveAll(orders);
+        orders.forEach(order -> invalidate(order.getOrderNumber()));
+        return saved;
+    }
+
+    @Override
+    public Optional<Order> findByOrderNumber(OrderNumber orderNumber) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return delegate.findByOrderNumber(orderNumber);
+        }
+        // The load runs inside the cache's computation for this key: an invalidation
+        // arriving meanwhile waits for it and then removes what it loaded
+        Order cached = cache.get(orderNumber, key -> delegate.findByOrderNumber(key).orElse(null));
+        return Optional.ofNullable(cached).map(this::copyOf);
+    }
+
+    /**
+     * Always reads the version from the store: conditional GETs answer 304 from it,
+     * so it must never come from an entry that may predate a commit. The lookup reads
+     * a single column by an indexed key.
+     */
+    @Override
+    public Optional<Long> findVersionByOrderNumber(OrderNumber orderNumber) {
+        return delegate.findVersionByOrderNumber(orderNumber);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void deleteByOrderNumber(OrderNumber orderNumber) {
+        delegate.deleteByOrderNumber(orderNumber);
+        invalidate(orderNumber);
+    }
+
+    /**
+     * Evicts the confirmed order once its transaction has completed (commit or
+     * rollback). A reader that loaded the pre-confirmation row before the commit
+     * cannot leave it cached: reads load through the cache's per-key computation,
+     * so this invalidation waits for such a load and removes its result.
+     *
+     * @param event the OrderConfirmedEvent that was raised
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onOrderConfirmed(OrderConfirmedEvent event) {
+        cache.invalidate(event.getOrderNumber());
+    }
+
+    /**
+     * Evicts the entry now and, inside a transaction, again once it has completed, so a
+     * non-transactional reader cannot cache the row as it was before the commit.
+     */
+    private void invalidate(OrderNumber orderNumber) {
+        cache.invalidate(orderNumber);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(orderNumber);
+                }
+            });
+        }
+    }
+
+    private Order copyOf(Order order) {
+        return Order.rehydrate(
+            order.getId(),
+            order.getOrderNumber(),
+            order.getCustomerId(),
+            order.getAddress(),
+            order.getOrderDate(),
+            new ArrayList<>(order.getItems()),
+            order.getStatus(),
+            order.getVersion()
+        );
+    }
+}
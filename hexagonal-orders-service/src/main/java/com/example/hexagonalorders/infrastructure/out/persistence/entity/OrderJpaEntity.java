@@ -4,16 +4,19 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 @Entity
 @Table(name = "orders")
 public class OrderJpaEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
     
+    // Native 16-byte UUID column instead of a 36-character string
     @Column(nullable = false, unique = true)
-    private String orderNumber;
+    private UUID orderNumber;
     
     @Column(nullable = false)
     private String customerId;
@@ -37,6 +40,9 @@ public class OrderJpaEntity {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItemJpaEntity> items = new ArrayList<>();
 
+    @Version
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -45,11 +51,11 @@ public class OrderJpaEntity {
         this.id = id;
     }
 
-    public String getOrderNumber() {
+    public UUID getOrderNumber() {
         return orderNumber;
     }
 
-    public void setOrderNumber(String orderNumber) {
+    public void setOrderNumber(UUID orderNumber) {
         this.orderNumber = orderNumber;
     }
 
@@ -93,4 +99,12 @@ public class OrderJpaEntity {
     public void setItems(List<OrderItemJpaEntity> items) {
         this.items = items;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Commit marker of a transaction that wrote messages to the outbox journal.
+ * The row is inserted in the same database transaction as the business change,
+ * so after a crash its presence tells whether the journaled messages of that
+ * transaction were committed. Rows are removed once the journal itself records
+ * the outcome durably.
+ */
+@Entity
+@Table(name = "outbox_journal_commits")
+public class OutboxJournalCommitJpaEntity {
+
+    @Id
+    @Column(name = "tx_id", length = 36)
+    private String transactionId;
+
+    @Column(name = "committed_at", nullable = false)
+    private Instant committedAt;
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public Instant getCommittedAt() {
+        return committedAt;
+    }
+
+    public void setCommittedAt(Instant committedAt) {
+        this.committedAt = committedAt;
+    }
+}
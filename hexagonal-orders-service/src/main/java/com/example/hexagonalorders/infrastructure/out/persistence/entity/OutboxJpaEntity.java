@@ -1,6 +1,7 @@
 package com.example.hexagonalorders.infrastructure.out.persistence.entity;
 
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -8,9 +9,11 @@ import java.util.UUID;
 @Table(name = "outbox",
       indexes = {
           @Index(name = "idx_outbox_idempotency",
-                 columnList = "aggregate_id, event_type, created_at")
+                 columnList = "aggregate_id, event_type, created_at"),
+          @Index(name = "idx_outbox_status_created",
+                 columnList = "status, created_at")
       })
-public class OutboxJpaEntity {
+public class OutboxJpaEntity implements Persistable<UUID> {
   
    @Id
    @Column(name = "id")
@@ -39,10 +42,39 @@ public class OutboxJpaEntity {
    @Column(name = "processed_at")
    private Instant processedAt;
   
+   /**
+    * Propagation headers (trace context) serialized as a JSON object.
+    */
+   @Column(name = "headers", length = 1024)
+   private String headers;
+  
+   /**
+    * The id is assigned by the domain, so Spring Data cannot infer newness from it
+    * and falls back to merge (a SELECT per row). Callers that know a row is new
+    * flag it so it is persisted directly and can be batched.
+    */
+   @Transient
+   private boolean isNew;
+  
    public enum OutboxStatusJpa {
        PENDING, PROCESSING, PROCESSED, FAILED
    }
 
+   @Override
+   public boolean isNew() {
+       return isNew;
+   }
+
+   public void markNew() {
+       this.isNew = true;
+   }
+
+   @PostPersist
+   @PostLoad
+   void markNotNew() {
+       this.isNew = false;
+   }
+
    public UUID getId() {
        return id;
    }
@@ -83,6 +115,14 @@ public class OutboxJpaEntity {
        this.payload = payload;
    }
 
+   public String getHeaders() {
+       return headers;
+   }
+
+   public void setHeaders(String headers) {
+       this.headers = headers;
+   }
+
    public OutboxStatusJpa getStatus() {
        return status;
    }
@@ -2,9 +2,17 @@ package com.example.hexagonalorders.infrastructure.out.persistence.entity;
 
 import com.example.hexagonalorders.domain.model.OutboxMessage;
 import com.example.hexagonalorders.domain.model.Status;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Map;
 
 public class OutboxMessageMapper {
     
+    private static final ObjectMapper HEADERS_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, String>> HEADERS_TYPE = new TypeReference<>() {};
+    
     public static OutboxJpaEntity toJpaEntity(OutboxMessage outboxMessage) {
         OutboxJpaEntity jpaEntity = new OutboxJpaEntity();
         jpaEntity.setId(outboxMessage.getId());
@@ -15,11 +23,12 @@ public class OutboxMessageMapper {
         jpaEntity.setStatus(mapToJpaStatus(outboxMessage.getStatus()));
         jpaEntity.setCreatedAt(outboxMessage.getCreatedAt());
         jpaEntity.setProcessedAt(outboxMessage.getProcessedAt());
+        jpaEntity.setHeaders(writeHeaders(outboxMessage.getHeaders()));
         return jpaEntity;
     }
     
     public static OutboxMessage toDomainModel(OutboxJpaEntity jpaEntity) {
-        return new OutboxMessage(
+        OutboxMessage outboxMessage = new OutboxMessage(
             jpaEntity.getId(),
             jpaEntity.getAggregateType(),
             jpaEntity.getAggregateId(),
@@ -29,6 +38,31 @@ public class OutboxMessageMapper {
             jpaEntity.getCreatedAt(),
             jpaEntity.getProcessedAt()
         );
+        outboxMessage.setHeaders(readHeaders(jpaEntity.getHeaders()));
+        return outboxMessage;
+    }
+    
+    public static String writeHeaders(Map<String, String> headers) {
+        if (headers == null || headers.isEmpty()) {
+            return null;
+        }
+        try {
+            return HEADERS_MAPPER.writeValueAsString(headers);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox headers", e);
+        }
+    }
+    
+    public static Map<String, String> readHeaders(String headers) {
+        if (headers == null || headers.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return HEADERS_MAPPER.readValue(headers, HEADERS_TYPE);
+        } catch (JsonProcessingException e) {
+            // Unreadable headers only cost the trace link, never the message itself
+            return Map.of();
+        }
     }
     
     private static OutboxJpaEntity.OutboxStatusJpa mapToJpaStatus(Status domainStatus) {
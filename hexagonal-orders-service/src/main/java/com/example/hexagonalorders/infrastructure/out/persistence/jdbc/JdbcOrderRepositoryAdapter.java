@@ -0,0 +1,245 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.jdbc;
+
+import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.domain.model.OrderItem;
+import com.example.hexagonalorders.domain.model.OrderStatus;
+import com.example.hexagonalorders.domain.model.valueobject.Address;
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.model.valueobject.ProductNumber;
+import com.example.hexagonalorders.domain.model.valueobject.Quantity;
+import com.example.hexagonalorders.domain.port.out.OrderRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Plain JDBC implementation of the OrderRepository port, active with the "jdbc" profile.
+ * This class is part of the adapter layer and is responsible for:
+ * - Inserting new orders and their items as two batched statements per call
+ * - Updating existing orders with an optimistic version check
+ * - Loading orders with one query for the orders and one for their items
+ *
+ * Ids come from the same sequences the JPA entities use, allocated in blocks of
+ * 50, so no statement has to return generated keys and a whole batch can be
+ * prepared before the first round-trip. The sequence call is chosen from the
+ * database platform (see SequenceIncrementers). The tables are the ones created from
+ * the JPA mapping. Items are written only when an order is inserted; updates
+ * touch the order row alone, since an order's items do not change after creation.
+ */
+@Component
+@Profile("jdbc")
+@Qualifier("orderStore")
+public class JdbcOrderRepositoryAdapter implements OrderRepository {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String INSERT_ORDER =
+        "insert into orders (id, order_number, customer_id, order_date, status, street, city, postal_code, country, version) "
+            + "values (:id, :orderNumber, :customerId, :orderDate, :status, :street, :city, :postalCode, :country, :version)";
+    private static final String INSERT_ITEM =
+        "insert into order_items (id, product_number, quantity, unit_price, order_id) "
+            + "values (:id, :productNumber, :quantity, :unitPrice, :orderId)";
+    private static final String UPDATE_ORDER =
+        "update orders set customer_id = :customerId, order_date = :orderDate, status = :status, "
+            + "street = :street, city = :city, postal_code = :postalCode, country = :country, version = version + 1 "
+            + "where id = :id and version = :version";
+    private static final String SELECT_ORDERS =
+        "select id, order_number, customer_id, order_date, status, street, city, postal_code, country, version from orders";
+    private static final String SELECT_ITEMS =
+        "select id, product_number, quantity, unit_price, order_id from order_items";
+    private static final String BY_ORDER_NUMBER = " where order_number = :orderNumber";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator orderIds;
+    private final SequenceIdAllocator itemIds;
+
+    public JdbcOrderRepositoryAdapter(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.orderIds = new SequenceIdAllocator(SequenceIncrementers.forSequence(dataSource, "orders_seq"), ALLOCATION_SIZE);
+        this.itemIds = new SequenceIdAllocator(SequenceIncrementers.forSequence(dataSource, "order_items_seq"), ALLOCATION_SIZE);
+    }
+
+    @Override
+    @Transactional
+    public Order save(Order order) {
+        if (order.getId() == null) {
+            insert(List.of(order));
+        } else {
+            update(order);
+        }
+        return order;
+    }
+
+    @Override
+    @Transactional
+    public List<Order> saveAll(List<Order> orders) {
+        List<Order> newOrders = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            if (order.getId() == null) {
+                newOrders.add(order);
+            } else {
+                update(order);
+            }
+        }
+        insert(newOrders);
+        return orders;
+    }
+
+    @Override
+    public Optional<Order> findByOrderNumber(OrderNumber orderNumber) {
+        if (!orderNumber.isUuid()) {
+            return Optional.empty();
+        }
+        return load(BY_ORDER_NUMBER, byOrderNumber(orderNumber)).stream().findFirst();
+    }
+
+    @Override
+    public Optional<Long> findVersionByOrderNumber(OrderNumber orderNumber) {
+        if (!orderNumber.isUuid()) {
+            return Optional.empty();
+        }
+        return jdbcTemplate.queryForList("select version from orders" + BY_ORDER_NUMBER,
+                byOrderNumber(orderNumber), Long.class)
+            .stream()
+            .findFirst();
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return load("", new MapSqlParameterSource());
+    }
+
+    @Override
+    @Transactional
+    public void deleteByOrderNumber(OrderNumber orderNumber) {
+        if (!orderNumber.isUuid()) {
+            return;
+        }
+        MapSqlParameterSource parameters = byOrderNumber(orderNumber);
+        jdbcTemplate.update("delete from order_items where order_id in (select id from orders"
+            + BY_ORDER_NUMBER + ")", parameters);
+        jdbcTemplate.update("delete from orders" + BY_ORDER_NUMBER, parameters);
+    }
+
+    /**
+     * Assigns ids to the orders and their items, then writes all orders in one
+     * batch and all items in a second one.
+     */
+    private void insert(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] orderRows = new SqlParameterSource[orders.size()];
+        List<SqlParameterSource> itemRows = new ArrayList<>(orders.size() * 4);
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            long orderId = orderIds.next();
+            order.setId(orderId);
+            order.setVersion(0L);
+            orderRows[i] = orderParameters(order);
+            for (OrderItem item : order.getItems()) {
+                item.setId(itemIds.next());
+                itemRows.add(new MapSqlParameterSource()
+                    .addValue("id", item.getId())
+                    .addValue("productNumber", item.getProductNumber().value())
+                    .addValue("quantity", item.getQuantity().value())
+                    .addValue("unitPrice", item.getUnitPrice())
+                    .addValue("orderId", orderId));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER, orderRows);
+        if (!itemRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ITEM, itemRows.toArray(new SqlParameterSource[0]));
+        }
+    }
+
+    private void update(Order order) {
+        if (jdbcTemplate.update(UPDATE_ORDER, orderParameters(order)) == 0) {
+            throw new OptimisticLockingFailureException(
+                "Order " + order.getOrderNumber() + " was updated or deleted by another transaction");
+        }
+        order.setVersion(order.getVersion() + 1);
+    }
+
+    private MapSqlParameterSource orderParameters(Order order) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("id", order.getId())
+            .addValue("orderNumber", order.getOrderNumber().asUuid())
+            .addValue("customerId", order.getCustomerId())
+            .addValue("orderDate", order.getOrderDate())
+            .addValue("status", order.getStatus().name())
+            .addValue("version", order.getVersion());
+        Address address = order.getAddress();
+        parameters.addValue("street", address != null ? address.street() : null)
+            .addValue("city", address != null ? address.city() : null)
+            .addValue("postalCode", address != null ? address.postalCode() : null)
+            .addValue("country", address != null ? address.country() : null);
+        return parameters;
+    }
+
+    private static MapSqlParameterSource byOrderNumber(OrderNumber orderNumber) {
+        return new MapSqlParameterSource("orderNumber", orderNumber.asUuid());
+    }
+
+    /**
+     * Loads the orders matching the given where clause and their items, using one
+     * query for each table. The item query filters with the same clause as a subquery.
+     */
+    private List<Order> load(String whereClause, MapSqlParameterSource parameters) {
+        List<OrderRow> rows = jdbcTemplate.query(SELECT_ORDERS + whereClause, parameters, (rs, rowNum) -> new OrderRow(
+            rs.getLong("id"),
+            rs.getObject("order_number", UUID.class),
+            rs.getString("customer_id"),
+            rs.getObject("order_date", LocalDateTime.class),
+            OrderStatus.valueOf(rs.getString("status")),
+            new Address(rs.getString("street"), rs.getString("city"), rs.getString("postal_code"), rs.getString("country")),
+            rs.getLong("version")
+        ));
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        String itemFilter = whereClause.isEmpty() ? "" : " where order_id in (select id from orders" + whereClause + ")";
+        Map<Long, List<OrderItem>> itemsByOrder = new HashMap<>(rows.size() * 2);
+        jdbcTemplate.query(SELECT_ITEMS + itemFilter + " order by id", parameters, rs -> {
+            itemsByOrder.computeIfAbsent(rs.getLong("order_id"), id -> new ArrayList<>())
+                .add(new OrderItem(
+                    new ProductNumber(rs.getString("product_number")),
+                    new Quantity(rs.getInt("quantity")),
+                    rs.getBigDecimal("unit_price"),
+                    rs.getLong("id")
+                ));
+        });
+        List<Order> orders = new ArrayList<>(rows.size());
+        for (OrderRow row : rows) {
+            orders.add(Order.rehydrate(
+                row.id(),
+                OrderNumber.of(row.orderNumber()),
+                row.customerId(),
+                row.address(),
+                row.orderDate(),
+                itemsByOrder.getOrDefault(row.id(), new ArrayList<>()),
+                row.status(),
+                row.version()
+            ));
+        }
+        return orders;
+    }
+
+    private record OrderRow(long id, UUID orderNumber, String customerId, LocalDateTime orderDate,
+                            OrderStatus status, Address address, long version) {
+    }
+}
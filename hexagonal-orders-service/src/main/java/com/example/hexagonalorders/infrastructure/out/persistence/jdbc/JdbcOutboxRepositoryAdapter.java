@@ -0,0 +1,190 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.jdbc;
+
+import com.example.hexagonalorders.domain.model.OutboxMessage;
+import com.example.hexagonalorders.domain.model.Status;
+import com.example.hexagonalorders.domain.port.out.OutboxRepository;
+import com.example.hexagonalorders.infrastructure.out.messaging.OutboxTracing;
+import com.example.hexagonalorders.infrastructure.out.persistence.entity.OutboxMessageMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Plain JDBC implementation of the OutboxRepository port, active with the "jdbc" profile.
+ * This class is part of the adapter layer and is responsible for:
+ * - Inserting new outbox messages as one batched statement per call
+ * - Applying status changes with single-row or set-based updates
+ * - Reading the pending backlog for the relay and its metrics
+ *
+ * A message saved as PENDING is a new row and is inserted; any other status is
+ * an update of the status columns, which is all the relay ever changes.
+ */
+@Repository
+@ConditionalOnProperty(name = "orders.outbox.store", havingValue = "database", matchIfMissing = true)
+@Profile("jdbc")
+public class JdbcOutboxRepositoryAdapter implements OutboxRepository {
+
+    // Keeps IN lists well below the parameter limits of common databases
+    private static final int MAX_IDS_PER_UPDATE = 1000;
+
+    // The insert and row mapping are shared with the journal store, which keeps its dead letters in this table
+    public static final String INSERT_MESSAGE =
+        "insert into outbox (id, aggregate_type, aggregate_id, event_type, payload, status, created_at, processed_at, headers) "
+            + "values (:id, :aggregateType, :aggregateId, :eventType, :payload, :status, :createdAt, :processedAt, :headers)";
+    private static final String UPDATE_STATUS =
+        "update outbox set status = :status, processed_at = :processedAt where id = :id";
+    private static final String UPDATE_STATUS_SET =
+        "update outbox set status = :status, processed_at = :processedAt where id in (:ids)";
+    private static final String SELECT_PENDING =
+        "select id, aggregate_type, aggregate_id, event_type, payload, status, created_at, processed_at, headers "
+            + "from outbox where status = 'PENDING' order by created_at";
+
+    public static final RowMapper<OutboxMessage> MESSAGE_MAPPER = (rs, rowNum) -> {
+        OutboxMessage message = new OutboxMessage(
+            rs.getObject("id", UUID.class),
+            rs.getString("aggregate_type"),
+            rs.getObject("aggregate_id", UUID.class),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            Status.valueOf(rs.getString("status")),
+            toInstant(rs.getObject("created_at", OffsetDateTime.class)),
+            toInstant(rs.getObject("processed_at", OffsetDateTime.class))
+        );
+        message.setHeaders(OutboxMessageMapper.readHeaders(rs.getString("headers")));
+        return message;
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final OutboxTracing outboxTracing;
+
+    public JdbcOutboxRepositoryAdapter(NamedParameterJdbcTemplate jdbcTemplate, OutboxTracing outboxTracing) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.outboxTracing = outboxTracing;
+    }
+
+    @Override
+    public void save(OutboxMessage outboxMessage) {
+        if (outboxMessage.getStatus() == Status.PENDING) {
+            captureTraceContext(outboxMessage);
+            jdbcTemplate.update(INSERT_MESSAGE, insertParameters(outboxMessage));
+        } else {
+            jdbcTemplate.update(UPDATE_STATUS, new MapSqlParameterSource()
+                .addValue("id", outboxMessage.getId())
+                .addValue("status", outboxMessage.getStatus().name())
+                .addValue("processedAt", toTimestamp(outboxMessage.getProcessedAt())));
+        }
+    }
+
+    @Override
+    public void saveAll(List<OutboxMessage> outboxMessages) {
+        if (outboxMessages.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] rows = new SqlParameterSource[outboxMessages.size()];
+        for (int i = 0; i < rows.length; i++) {
+            OutboxMessage outboxMessage = outboxMessages.get(i);
+            captureTraceContext(outboxMessage);
+            rows[i] = insertParameters(outboxMessage);
+        }
+        jdbcTemplate.batchUpdate(INSERT_MESSAGE, rows);
+    }
+
+    @Override
+    public List<OutboxMessage> findPending(int limit) {
+        return jdbcTemplate.query(SELECT_PENDING + " fetch first :limit rows only",
+            new MapSqlParameterSource("limit", limit), MESSAGE_MAPPER);
+    }
+
+    @Override
+    public List<OutboxMessage> findPendingMessages() {
+        return jdbcTemplate.query(SELECT_PENDING, MESSAGE_MAPPER);
+    }
+
+    @Override
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject("select count(*) from outbox where status = 'PENDING'",
+            new MapSqlParameterSource(), Long.class);
+        return count != null ? count : 0L;
+    }
+
+    @Override
+    public Optional<Instant> findOldestPendingCreatedAt() {
+        OffsetDateTime oldest = jdbcTemplate.queryForObject(
+            "select min(created_at) from outbox where status = 'PENDING'",
+            new MapSqlParameterSource(), OffsetDateTime.class);
+        return Optional.ofNullable(toInstant(oldest));
+    }
+
+    @Override
+    public void markProcessed(UUID id) {
+        updateStatus(List.of(id), Status.PROCESSED, Instant.now());
+    }
+
+    @Override
+    public void markFailed(UUID id) {
+        updateStatus(List.of(id), Status.FAILED, Instant.now());
+    }
+
+    @Override
+    public void markAllProcessing(List<UUID> ids) {
+        updateStatus(ids, Status.PROCESSING, null);
+    }
+
+    @Override
+    public void markAllProcessed(List<UUID> ids) {
+        updateStatus(ids, Status.PROCESSED, Instant.now());
+    }
+
+    private void updateStatus(List<UUID> ids, Status status, Instant processedAt) {
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_UPDATE) {
+            List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_UPDATE));
+            jdbcTemplate.update(UPDATE_STATUS_SET, new MapSqlParameterSource()
+                .addValue("ids", chunk)
+                .addValue("status", status.name())
+                .addValue("processedAt", toTimestamp(processedAt)));
+        }
+    }
+
+    /**
+     * Stores the trace context of the writing thread on messages that are being
+     * written for the first time.
+     */
+    private void captureTraceContext(OutboxMessage outboxMessage) {
+        if (outboxMessage.getHeaders().isEmpty()) {
+            outboxMessage.setHeaders(outboxTracing.captureCurrentContext());
+        }
+    }
+
+    public static MapSqlParameterSource insertParameters(OutboxMessage outboxMessage) {
+        return new MapSqlParameterSource()
+            .addValue("id", outboxMessage.getId())
+            .addValue("aggregateType", outboxMessage.getAggregateType())
+            .addValue("aggregateId", outboxMessage.getAggregateId())
+            .addValue("eventType", outboxMessage.getEventType())
+            .addValue("payload", outboxMessage.getPayload())
+            .addValue("status", outboxMessage.getStatus().name())
+            .addValue("createdAt", toTimestamp(outboxMessage.getCreatedAt()))
+            .addValue("processedAt", toTimestamp(outboxMessage.getProcessedAt()))
+            .addValue("headers", OutboxMessageMapper.writeHeaders(outboxMessage.getHeaders()));
+    }
+
+    // Instants map to "timestamp with time zone" columns, which take and return OffsetDateTime
+    private static OffsetDateTime toTimestamp(Instant instant) {
+        return instant != null ? instant.atOffset(ZoneOffset.UTC) : null;
+    }
+
+    private static Instant toInstant(OffsetDateTime timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.jdbc;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.Db2LuwMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.H2SequenceMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.HsqlSequenceMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.MariaDBSequenceMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.OracleSequenceMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.PostgresSequenceMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.SqlServerSequenceMaxValueIncrementer;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Picks the sequence incrementer that matches the database behind a data source.
+ * Reading the next value of a sequence has no portable SQL (PostgreSQL uses
+ * nextval, Oracle seq.nextval, most others next value for), so the platform is
+ * read once from the connection metadata.
+ */
+final class SequenceIncrementers {
+
+    private SequenceIncrementers() {
+    }
+
+    static DataFieldMaxValueIncrementer forSequence(DataSource dataSource, String sequenceName) {
+        String databaseName;
+        try {
+            databaseName = JdbcUtils.commonDatabaseName(
+                JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Could not determine the database platform", e);
+        }
+        if (databaseName == null) {
+            throw new IllegalStateException("The data source did not report a database product name");
+        }
+        return switch (databaseName) {
+            case "H2" -> new H2SequenceMaxValueIncrementer(dataSource, sequenceName);
+            case "HSQL Database Engine" -> new HsqlSequenceMaxValueIncrementer(dataSource, sequenceName);
+            case "PostgreSQL" -> new PostgresSequenceMaxValueIncrementer(dataSource, sequenceName);
+            case "Oracle" -> new OracleSequenceMaxValueIncrementer(dataSource, sequenceName);
+            case "Microsoft SQL Server" -> new SqlServerSequenceMaxValueIncrementer(dataSource, sequenceName);
+            case "MariaDB" -> new MariaDBSequenceMaxValueIncrementer(dataSource, sequenceName);
+            case "DB2" -> new Db2LuwMaxValueIncrementer(dataSource, sequenceName);
+            default -> throw new IllegalStateException("No sequence support for database " + databaseName);
+        };
+    }
+}
@@ -0,0 +1,436 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.journal;
+
+import com.example.hexagonalorders.domain.model.OutboxMessage;
+import com.example.hexagonalorders.domain.port.out.OutboxRepository;
+import com.example.hexagonalorders.infrastructure.out.messaging.OutboxTracing;
+import com.example.hexagonalorders.infrastructure.out.persistence.jdbc.JdbcOutboxRepositoryAdapter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * OutboxRepository adapter backed by a memory-mapped append-only journal instead of
+ * the outbox table. Active when orders.outbox.store=journal.
+ * This class is part of the adapter layer and is responsible for:
+ * - Appending the messages of a transaction to the journal just before it commits
+ * - Making them visible to the relay only once the transaction has committed
+ * - Serving pending messages in journal order and acknowledging them by advancing
+ *   the persistent read cursor instead of updating rows
+ * - Deleting journal segments that the cursor has passed
+ *
+ * Coordination with the JPA transaction is a two-phase scheme with presumed abort.
+ * In beforeCommit the messages are appended and synced (group-committed with other
+ * writers) and a marker row is inserted into outbox_journal_commits within the same
+ * database transaction. After completion a COMMIT or ABORT record is appended. On
+ * startup, messages whose transaction has no outcome record are resolved with the
+ * marker table: a row means the transaction committed, no row means it did not.
+ * Marker rows are removed once their COMMIT record is on disk.
+ *
+ * Failed messages are dead-lettered rather than dropped: they are inserted into the
+ * outbox table as FAILED rows, where the table store keeps them too, before the
+ * journal moves past them. Setting such a row back to PENDING replays it: the
+ * maintenance task appends it to the journal again and deletes the row.
+ *
+ * Pending messages are indexed in memory by journal position. Acknowledging a
+ * message that is not at the head does not move the cursor, so after a restart
+ * such messages are relayed again; delivery stays at-least-once, as with the table.
+ */
+@Repository
+@ConditionalOnProperty(name = "orders.outbox.store", havingValue = "journal")
+@DependsOn("entityManagerFactory")
+public class JournalOutboxRepository implements OutboxRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalOutboxRepository.class);
+
+    private final OutboxJournal journal;
+    private final OutboxTracing outboxTracing;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ConcurrentSkipListMap<Long, OutboxMessage> pending = new ConcurrentSkipListMap<>();
+    private final Map<UUID, Long> positionsById = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    private final Queue<String> committedMarkers = new ConcurrentLinkedQueue<>();
+
+    public JournalOutboxRepository(OutboxTracing outboxTracing, NamedParameterJdbcTemplate jdbcTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${orders.outbox.journal.dir:data/orders-outbox-journal}") String directory,
+                                   @Value("${orders.outbox.journal.segment-size-mb:64}") int segmentSizeMb) {
+        this.outboxTracing = outboxTracing;
+        this.jdbcTemplate = jdbcTemplate;
+        try {
+            this.journal = new OutboxJournal(Path.of(directory), segmentSizeMb * 1024 * 1024);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the outbox journal in " + directory, e);
+        }
+        Gauge.builder("orders.outbox.journal.segments", journal, OutboxJournal::segmentCount)
+            .description("Segment files currently held by the outbox journal")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void save(OutboxMessage outboxMessage) {
+        switch (outboxMessage.getStatus()) {
+            case PENDING -> enqueue(List.of(outboxMessage));
+            case PROCESSED -> acknowledge(outboxMessage.getId());
+            case FAILED -> deadLetter(outboxMessage);
+            case PROCESSING -> {
+                // Claiming is implicit: the relay is the only reader of the journal
+            }
+        }
+    }
+
+    @Override
+    public void saveAll(List<OutboxMessage> outboxMessages) {
+        enqueue(outboxMessages);
+    }
+
+    @Override
+    public List<OutboxMessage> findPending(int limit) {
+        List<OutboxMessage> messages = new ArrayList<>(Math.min(limit, pending.size()));
+        for (OutboxMessage message : pending.values()) {
+            if (messages.size() == limit) {
+                break;
+            }
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    @Override
+    public List<OutboxMessage> findPendingMessages() {
+        return new ArrayList<>(pending.values());
+    }
+
+    @Override
+    public long countPending() {
+        return pending.size();
+    }
+
+    @Override
+    public Optional<Instant> findOldestPendingCreatedAt() {
+        Map.Entry<Long, OutboxMessage> head = pending.firstEntry();
+        return head != null ? Optional.of(head.getValue().getCreatedAt()) : Optional.empty();
+    }
+
+    @Override
+    public void markProcessed(UUID id) {
+        acknowledge(id);
+    }
+
+    @Override
+    public void markFailed(UUID id) {
+        Long position = positionsById.get(id);
+        OutboxMessage message = position != null ? pending.get(position) : null;
+        if (message != null) {
+            message.markAsFailed(null);
+            deadLetter(message);
+        }
+    }
+
+    @Override
+    public void markAllProcessing(List<UUID> ids) {
+        // Claiming is implicit: the relay is the only reader of the journal
+    }
+
+    @Override
+    public void markAllProcessed(List<UUID> ids) {
+        for (UUID id : ids) {
+            Long position = positionsById.remove(id);
+            if (position != null) {
+                pending.remove(position);
+            }
+        }
+        advanceCursor();
+    }
+
+    /**
+     * Forces the cursor, deletes segments below it, removes the marker rows of
+     * transactions whose COMMIT record is already on disk and replays dead letters
+     * that were set back to PENDING.
+     */
+    @Scheduled(fixedDelayString = "${orders.outbox.journal.maintenance-interval-ms:5000}")
+    public void maintain() {
+        replayDeadLetters();
+        try {
+            int released = journal.releaseBeforeCursor();
+            if (released > 0) {
+                log.debug("Released {} outbox journal segments", released);
+            }
+            if (committedMarkers.isEmpty()) {
+                return;
+            }
+            // Transactions queued so far have their COMMIT record below the current end
+            List<String> durable = new ArrayList<>();
+            String transactionId;
+            while ((transactionId = committedMarkers.poll()) != null) {
+                durable.add(transactionId);
+            }
+            journal.sync(journal.writePosition());
+            jdbcTemplate.update("delete from outbox_journal_commits where tx_id in (:ids)",
+                new MapSqlParameterSource("ids", durable));
+        } catch (Exception e) {
+            log.warn("Outbox journal maintenance failed", e);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        journal.close();
+    }
+
+    private void enqueue(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        messages.forEach(this::captureTraceContext);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            appendCommitted(messages);
+            return;
+        }
+        JournalTransaction transaction = (JournalTransaction) TransactionSynchronizationManager.getResource(this);
+        if (transaction == null) {
+            transaction = new JournalTransaction(UUID.randomUUID().toString());
+            TransactionSynchronizationManager.bindResource(this, transaction);
+            TransactionSynchronizationManager.registerSynchronization(transaction);
+        }
+        transaction.messages.addAll(messages);
+    }
+
+    private void appendCommitted(List<OutboxMessage> messages) {
+        List<byte[]> bodies = new ArrayList<>(messages.size());
+        for (OutboxMessage message : messages) {
+            bodies.add(OutboxJournalRecord.encodeMessage(null, message));
+        }
+        long[] positions = null;
+        try {
+            positions = journal.append(bodies, inFlight::add);
+            journal.sync(positions[messages.size()]);
+            publish(positions, messages);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to the outbox journal", e);
+        } finally {
+            if (positions != null) {
+                inFlight.remove(positions[0]);
+                advanceCursor();
+            }
+        }
+    }
+
+    /**
+     * Makes committed messages visible to the relay, keyed by their journal positions.
+     */
+    private void publish(long[] positions, List<OutboxMessage> messages) {
+        for (int i = 0; i < messages.size(); i++) {
+            restore(positions[i], messages.get(i));
+        }
+    }
+
+    /**
+     * Stores a failed message as a FAILED row of the outbox table and only then moves
+     * the journal past it. If the insert fails the message stays pending.
+     */
+    private void deadLetter(OutboxMessage message) {
+        jdbcTemplate.update(JdbcOutboxRepositoryAdapter.INSERT_MESSAGE,
+            JdbcOutboxRepositoryAdapter.insertParameters(message));
+        log.warn("Outbox message {} failed and was moved to the outbox table", message.getId());
+        acknowledge(message.getId());
+    }
+
+    private void replayDeadLetters() {
+        try {
+            List<OutboxMessage> replayed = jdbcTemplate.query(
+                "select id, aggregate_type, aggregate_id, event_type, payload, status, created_at, processed_at, headers "
+                    + "from outbox where status = 'PENDING' order by created_at",
+                JdbcOutboxRepositoryAdapter.MESSAGE_MAPPER);
+            if (replayed.isEmpty()) {
+                return;
+            }
+            appendCommitted(replayed);
+            // A crash between the append and the delete relays these messages twice, which at-least-once allows
+            jdbcTemplate.update("delete from outbox where id in (:ids)",
+                new MapSqlParameterSource("ids", replayed.stream().map(OutboxMessage::getId).toList()));
+            log.info("Replayed {} dead-lettered outbox messages into the journal", replayed.size());
+        } catch (Exception e) {
+            log.warn("Replaying dead-lettered outbox messages failed", e);
+        }
+    }
+
+    private void acknowledge(UUID id) {
+        Long position = positionsById.remove(id);
+        if (position != null) {
+            pending.remove(position);
+            advanceCursor();
+        }
+    }
+
+    /**
+     * Moves the cursor to the first message that is still pending or not yet decided,
+     * or to the end of the journal when there is none.
+     */
+    private synchronized void advanceCursor() {
+        long cursor = journal.writePosition();
+        // Entries are removed outside this lock: read each head once instead of checking for emptiness first
+        Map.Entry<Long, OutboxMessage> firstPending = pending.firstEntry();
+        Long firstInFlight = inFlight.ceiling(Long.MIN_VALUE);
+        if (firstPending != null) {
+            cursor = Math.min(cursor, firstPending.getKey());
+        }
+        if (firstInFlight != null) {
+            cursor = Math.min(cursor, firstInFlight);
+        }
+        if (cursor > journal.readCursor()) {
+            journal.writeCursor(cursor);
+        }
+    }
+
+    /**
+     * Rebuilds the pending index from the cursor onwards and settles the transactions
+     * that crashed between the journal append and their outcome record.
+     */
+    private void recover() throws IOException {
+        Map<String, Map<Long, OutboxMessage>> undecided = new LinkedHashMap<>();
+        journal.recover((position, body) -> {
+            OutboxJournalRecord record = OutboxJournalRecord.decode(body);
+            if (record.type() == OutboxJournalRecord.MESSAGE) {
+                if (record.transactionId() == null) {
+                    restore(position, record.message());
+                } else {
+                    undecided.computeIfAbsent(record.transactionId(), id -> new LinkedHashMap<>())
+                        .put(position, record.message());
+                }
+            } else {
+                Map<Long, OutboxMessage> messages = undecided.remove(record.transactionId());
+                if (messages != null && record.type() == OutboxJournalRecord.COMMIT) {
+                    messages.forEach(this::restore);
+                }
+            }
+        });
+        if (!undecided.isEmpty()) {
+            Set<String> committed = new HashSet<>(jdbcTemplate.queryForList(
+                "select tx_id from outbox_journal_commits where tx_id in (:ids)",
+                new MapSqlParameterSource("ids", undecided.keySet()), String.class));
+            List<byte[]> outcomes = new ArrayList<>(undecided.size());
+            undecided.forEach((transactionId, messages) -> {
+                boolean wasCommitted = committed.contains(transactionId);
+                if (wasCommitted) {
+                    messages.forEach(this::restore);
+                }
+                outcomes.add(OutboxJournalRecord.encodeOutcome(
+                    wasCommitted ? OutboxJournalRecord.COMMIT : OutboxJournalRecord.ABORT, transactionId));
+            });
+            long[] positions = journal.append(outcomes, position -> { });
+            journal.sync(positions[outcomes.size()]);
+            if (!committed.isEmpty()) {
+                jdbcTemplate.update("delete from outbox_journal_commits where tx_id in (:ids)",
+                    new MapSqlParameterSource("ids", committed));
+            }
+            log.info("Outbox journal recovery settled {} transactions ({} committed)", undecided.size(), committed.size());
+        }
+        advanceCursor();
+    }
+
+    private void restore(long position, OutboxMessage message) {
+        pending.put(position, message);
+        positionsById.put(message.getId(), position);
+    }
+
+    private void captureTraceContext(OutboxMessage outboxMessage) {
+        if (outboxMessage.getHeaders().isEmpty()) {
+            outboxMessage.setHeaders(outboxTracing.captureCurrentContext());
+        }
+    }
+
+    /**
+     * Messages written by one transaction, appended in beforeCommit and published or
+     * discarded after completion.
+     */
+    private final class JournalTransaction implements TransactionSynchronization {
+
+        private final String transactionId;
+        private final List<OutboxMessage> messages = new ArrayList<>();
+        private long[] positions;
+
+        private JournalTransaction(String transactionId) {
+            this.transactionId = transactionId;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            List<byte[]> bodies = new ArrayList<>(messages.size());
+            for (OutboxMessage message : messages) {
+                bodies.add(OutboxJournalRecord.encodeMessage(transactionId, message));
+            }
+            try {
+                positions = journal.append(bodies, inFlight::add);
+                journal.sync(positions[messages.size()]);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append to the outbox journal", e);
+            }
+            jdbcTemplate.update("insert into outbox_journal_commits (tx_id, committed_at) values (:txId, :committedAt)",
+                new MapSqlParameterSource()
+                    .addValue("txId", transactionId)
+                    .addValue("committedAt", OffsetDateTime.now(ZoneOffset.UTC)));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(JournalOutboxRepository.this);
+            if (positions == null) {
+                return;
+            }
+            try {
+                boolean committed = status == STATUS_COMMITTED
+                    || (status == STATUS_UNKNOWN && isMarkerPresent());
+                byte outcome = committed ? OutboxJournalRecord.COMMIT : OutboxJournalRecord.ABORT;
+                journal.append(List.of(OutboxJournalRecord.encodeOutcome(outcome, transactionId)), position -> { });
+                if (committed) {
+                    publish(positions, messages);
+                    committedMarkers.add(transactionId);
+                }
+            } catch (Exception e) {
+                // The marker row decides the outcome on the next start
+                log.error("Could not record the outcome of outbox journal transaction {}", transactionId, e);
+            } finally {
+                inFlight.remove(positions[0]);
+                advanceCursor();
+            }
+        }
+
+        private boolean isMarkerPresent() {
+            Integer count = jdbcTemplate.queryForObject("select count(*) from outbox_journal_commits where tx_id = :txId",
+                new MapSqlParameterSource("txId", transactionId), Integer.class);
+            return count != null && count > 0;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log made of fixed-size memory-mapped segment files.
+ * This class is part of the adapter layer and is responsible for:
+ * - Appending framed records ([length][crc32][body]) at a global logical position
+ * - Group-committing appends: concurrent callers of {@link #sync(long)} share one force
+ * - Keeping a persistent read cursor in a small mapped file
+ * - Deleting the segments that lie entirely below the cursor
+ *
+ * Segment n covers positions [n * segmentSize, (n + 1) * segmentSize). A record
+ * never spans two segments; when it does not fit, the writer moves to the start
+ * of the next segment. Unwritten space is zero, so a zero length marks the end of
+ * a segment, and a CRC mismatch marks a torn write at the tail after a crash;
+ * recovery discards everything after the last intact record.
+ *
+ * Appends are serialized on this instance. Deleted segments stay mapped until
+ * their buffers are garbage collected; on Linux the disk space is released then.
+ */
+final class OutboxJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CURSOR_FILE = "cursor";
+    private static final int FRAME_HEADER = 8;
+
+    /**
+     * Receives every intact record found while recovering.
+     */
+    interface RecordVisitor {
+        void visit(long position, byte[] body);
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final NavigableMap<Long, MappedByteBuffer> segments = new ConcurrentSkipListMap<>();
+    private final MappedByteBuffer cursorBuffer;
+    private final Object syncMonitor = new Object();
+    private long writePosition;
+    private volatile long writtenPosition;
+    private long durablePosition;
+    private boolean syncInProgress;
+
+    OutboxJournal(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        try (FileChannel channel = FileChannel.open(directory.resolve(CURSOR_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            this.cursorBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(OutboxJournal::isSegment).toList()) {
+                segments.put(sequenceOf(file) * segmentSize, map(file));
+            }
+        }
+    }
+
+    /**
+     * Scans every intact record from the persisted cursor to the end of the log and
+     * positions the writer right after the last one. Must be called once before appending.
+     * Whatever lies after that position is discarded (see {@link #truncateAfter(long)}).
+     *
+     * @param visitor receives the position and body of each record
+     */
+    synchronized void recover(RecordVisitor visitor) throws IOException {
+        long position = Math.max(readCursor(), segments.isEmpty() ? 0L : segments.firstKey());
+        if (segments.isEmpty()) {
+            position = segmentBase(position);
+            segments.put(position, createSegment(position));
+        }
+        while (true) {
+            long base = segmentBase(position);
+            MappedByteBuffer segment = segments.get(base);
+            if (segment == null) {
+                break;
+            }
+            int offset = (int) (position - base);
+            int length = offset + FRAME_HEADER <= segmentSize ? segment.getInt(offset) : 0;
+            if (length <= 0 || offset + FRAME_HEADER + length > segmentSize) {
+                if (segments.higherKey(base) == null) {
+                    break;
+                }
+                position = base + segmentSize;
+                continue;
+            }
+            byte[] body = new byte[length];
+            segment.get(offset + FRAME_HEADER, body);
+            if (checksum(body) != segment.getInt(offset + Integer.BYTES)) {
+                break;
+            }
+            visitor.visit(position, body);
+            position += FRAME_HEADER + length;
+        }
+        truncateAfter(position);
+        writePosition = position;
+        writtenPosition = position;
+        durablePosition = position;
+    }
+
+    /**
+     * Discards everything after the given position. Mapped pages reach the disk in no
+     * particular order, so intact records may follow a torn one; left in place, appends
+     * would overwrite only a prefix of them and a later recovery would replay the rest.
+     * Later segments are deleted before the tail is zeroed: a crash in between leaves
+     * the torn record in place, and the next recovery stops at it again.
+     */
+    private void truncateAfter(long position) throws IOException {
+        long base = segmentBase(position);
+        for (Long later : List.copyOf(segments.tailMap(base, false).keySet())) {
+            segments.remove(later);
+            Files.deleteIfExists(segmentFile(later));
+        }
+        MappedByteBuffer segment = segments.get(base);
+        if (segment == null) {
+            return;
+        }
+        int offset = (int) (position - base);
+        boolean zeroed = false;
+        for (int i = offset; i < segmentSize; i++) {
+            if (segment.get(i) != 0) {
+                segment.put(i, (byte) 0);
+                zeroed = true;
+            }
+        }
+        if (zeroed) {
+            segment.force(offset, segmentSize - offset);
+        }
+    }
+
+    /**
+     * Appends the records in order. The callback runs inside the append lock with
+     * the position of the first record, before any later append can be observed.
+     *
+     * @return the position of each record followed by the position right after the
+     *         last one, which is what {@link #sync(long)} expects
+     */
+    synchronized long[] append(List<byte[]> bodies, LongConsumer onFirstPosition) throws IOException {
+        long[] positions = new long[bodies.size() + 1];
+        for (int i = 0; i < bodies.size(); i++) {
+            byte[] body = bodies.get(i);
+            int frameLength = FRAME_HEADER + body.length;
+            if (frameLength > segmentSize) {
+                throw new IllegalArgumentException("Outbox record of " + body.length + " bytes exceeds the segment size");
+            }
+            long base = segmentBase(writePosition);
+            if (writePosition - base + frameLength > segmentSize) {
+                base += segmentSize;
+                writePosition = base;
+            }
+            MappedByteBuffer segment = segments.get(base);
+            if (segment == null) {
+                segment = createSegment(base);
+                segments.put(base, segment);
+            }
+            int offset = (int) (writePosition - base);
+            segment.put(offset + FRAME_HEADER, body);
+            segment.putInt(offset + Integer.BYTES, checksum(body));
+            segment.putInt(offset, body.length);
+            positions[i] = writePosition;
+            writePosition += frameLength;
+        }
+        positions[bodies.size()] = writePosition;
+        onFirstPosition.accept(positions[0]);
+        writtenPosition = writePosition;
+        return positions;
+    }
+
+    /**
+     * Blocks until everything up to the given position is on disk. One caller forces
+     * all data appended so far while the others wait, so concurrent commits share
+     * a single fsync.
+     */
+    void sync(long position) throws IOException {
+        while (true) {
+            long from;
+            long target;
+            synchronized (syncMonitor) {
+                while (durablePosition < position && syncInProgress) {
+                    try {
+                        syncMonitor.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted while waiting for the outbox journal sync", e);
+                    }
+                }
+                if (durablePosition >= position) {
+                    return;
+                }
+                syncInProgress = true;
+                from = durablePosition;
+                target = writtenPosition;
+            }
+            boolean forced = false;
+            try {
+                force(from, target);
+                forced = true;
+            } finally {
+                synchronized (syncMonitor) {
+                    if (forced) {
+                        durablePosition = Math.max(durablePosition, target);
+                    }
+                    syncInProgress = false;
+                    syncMonitor.notifyAll();
+                }
+            }
+        }
+    }
+
+    synchronized long writePosition() {
+        return writePosition;
+    }
+
+    long readCursor() {
+        return cursorBuffer.getLong(0);
+    }
+
+    void writeCursor(long cursor) {
+        cursorBuffer.putLong(0, cursor);
+    }
+
+    /**
+     * Forces the cursor file and deletes the segments that end at or below the cursor.
+     *
+     * @return the number of segments deleted
+     */
+    int releaseBeforeCursor() throws IOException {
+        cursorBuffer.force();
+        long cursor = readCursor();
+        int released = 0;
+        for (Map.Entry<Long, MappedByteBuffer> entry : segments.headMap(segmentBase(cursor), false).entrySet()) {
+            segments.remove(entry.getKey());
+            Files.deleteIfExists(segmentFile(entry.getKey()));
+            released++;
+        }
+        return released;
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        sync(writtenPosition);
+        cursorBuffer.force();
+    }
+
+    private void force(long from, long to) {
+        for (Map.Entry<Long, MappedByteBuffer> entry : segments.subMap(segmentBase(from), true, segmentBase(to), true).entrySet()) {
+            long base = entry.getKey();
+            int start = (int) Math.max(0L, from - base);
+            int end = (int) Math.min(segmentSize, to - base);
+            if (end > start) {
+                entry.getValue().force(start, end - start);
+            }
+        }
+    }
+
+    private MappedByteBuffer createSegment(long base) throws IOException {
+        return map(segmentFile(base));
+    }
+
+    private MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private Path segmentFile(long base) {
+        return directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, base / segmentSize, SEGMENT_SUFFIX));
+    }
+
+    private long segmentBase(long position) {
+        return position - position % segmentSize;
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int checksum(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.journal;
+
+import com.example.hexagonalorders.domain.model.OutboxMessage;
+import com.example.hexagonalorders.domain.model.Status;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Binary body of an outbox journal record.
+ *
+ * A MESSAGE record carries a pending outbox message and, when it was written inside
+ * a transaction, the id of that transaction. COMMIT and ABORT records carry only the
+ * transaction id and settle the outcome of its messages.
+ */
+record OutboxJournalRecord(byte type, String transactionId, OutboxMessage message) {
+
+    static final byte MESSAGE = 1;
+    static final byte COMMIT = 2;
+    static final byte ABORT = 3;
+
+    static byte[] encodeMessage(String transactionId, OutboxMessage message) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + message.getPayload().length() * 2);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(MESSAGE);
+            writeNullable(out, transactionId);
+            writeUuid(out, message.getId());
+            out.writeUTF(message.getAggregateType());
+            writeUuid(out, message.getAggregateId());
+            out.writeUTF(message.getEventType());
+            byte[] payload = message.getPayload().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(payload.length);
+            out.write(payload);
+            out.writeLong(message.getCreatedAt().getEpochSecond());
+            out.writeInt(message.getCreatedAt().getNano());
+            Map<String, String> headers = message.getHeaders();
+            out.writeShort(headers.size());
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeUTF(header.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode outbox journal record", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static byte[] encodeOutcome(byte type, String transactionId) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(type);
+            out.writeUTF(transactionId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode outbox journal record", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static OutboxJournalRecord decode(byte[] body) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(body))) {
+            byte type = in.readByte();
+            if (type != MESSAGE) {
+                return new OutboxJournalRecord(type, in.readUTF(), null);
+            }
+            String transactionId = readNullable(in);
+            UUID id = readUuid(in);
+            String aggregateType = in.readUTF();
+            UUID aggregateId = readUuid(in);
+            String eventType = in.readUTF();
+            byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            Instant createdAt = Instant.ofEpochSecond(in.readLong(), in.readInt());
+            int headerCount = in.readShort();
+            Map<String, String> headers = new HashMap<>(headerCount * 2);
+            for (int i = 0; i < headerCount; i++) {
+                headers.put(in.readUTF(), in.readUTF());
+            }
+            OutboxMessage message = new OutboxMessage(id, aggregateType, aggregateId, eventType,
+                new String(payload, StandardCharsets.UTF_8), Status.PENDING, createdAt, null);
+            message.setHeaders(headers);
+            return new OutboxJournalRecord(type, transactionId, message);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode outbox journal record", e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+}
@@ -8,23 +8,27 @@ import com.example.hexagonalorders.domain.model.valueobject.Quantity;
 import com.example.hexagonalorders.domain.model.valueobject.Address;
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.OrderJpaEntity;
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.OrderItemJpaEntity;
+import com.example.hexagonalorders.infrastructure.diagnostics.MapperJfrEvent;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class OrderJpaMapper {
     
     public OrderJpaEntity toJpaEntity(Order order) {
+        MapperJfrEvent jfrEvent = new MapperJfrEvent();
+        jfrEvent.begin();
         OrderJpaEntity jpaEntity = new OrderJpaEntity();
         if (order.getId() != null) {
             jpaEntity.setId(order.getId());
         }
-        jpaEntity.setOrderNumber(order.getOrderNumber().value());
+        jpaEntity.setOrderNumber(order.getOrderNumber().asUuid());
         jpaEntity.setCustomerId(order.getCustomerId());
         jpaEntity.setOrderDate(order.getOrderDate());
         jpaEntity.setStatus(toJpaOrderStatus(order.getStatus()));
+        jpaEntity.setVersion(order.getVersion());
         // Dirección
         Address address = order.getAddress();
         if (address != null) {
@@ -33,16 +37,21 @@ public class OrderJpaMapper {
             jpaEntity.setPostalCode(address.postalCode());
             jpaEntity.setCountry(address.country());
         }
-        List<OrderItemJpaEntity> items = order.getItems().stream()
-                .map(item -> toJpaEntity(item, jpaEntity))
-                .collect(Collectors.toList());
+        List<OrderItem> orderItems = order.getItems();
+        List<OrderItemJpaEntity> items = new ArrayList<>(orderItems.size());
+        for (OrderItem item : orderItems) {
+            items.add(toJpaEntity(item, jpaEntity));
+        }
         jpaEntity.setItems(items);
+        jfrEvent.complete("toJpaEntity", items.size());
         
         return jpaEntity;
     }
     
     private OrderItemJpaEntity toJpaEntity(OrderItem item, OrderJpaEntity order) {
         OrderItemJpaEntity jpaEntity = new OrderItemJpaEntity();
+        // Without the id the merge sees a new item and orphan-deletes the stored one
+        jpaEntity.setId(item.getId());
         jpaEntity.setProductNumber(item.getProductNumber().value());
         jpaEntity.setQuantity(item.getQuantity().value());
         jpaEntity.setUnitPrice(item.getUnitPrice());
@@ -50,25 +59,47 @@ public class OrderJpaMapper {
         return jpaEntity;
     }
     
+    /**
+     * Copies the state generated on save (order id, version and item ids) back onto the
+     * aggregate that was saved, so the write path does not have to rebuild it.
+     * Items are matched by position, which toJpaEntity preserves.
+     */
+    public void applyGeneratedState(OrderJpaEntity savedEntity, Order order) {
+        order.setId(savedEntity.getId());
+        order.setVersion(savedEntity.getVersion());
+        List<OrderItem> items = order.getItems();
+        List<OrderItemJpaEntity> savedItems = savedEntity.getItems();
+        for (int i = 0; i < items.size() && i < savedItems.size(); i++) {
+            items.get(i).setId(savedItems.get(i).getId());
+        }
+    }
+    
     public Order toDomain(OrderJpaEntity jpaEntity) {
-        List<OrderItem> items = jpaEntity.getItems().stream()
-                .map(this::toDomain)
-                .collect(Collectors.toList());
+        MapperJfrEvent jfrEvent = new MapperJfrEvent();
+        jfrEvent.begin();
+        List<OrderItemJpaEntity> itemEntities = jpaEntity.getItems();
+        List<OrderItem> items = new ArrayList<>(itemEntities.size());
+        for (OrderItemJpaEntity itemEntity : itemEntities) {
+            items.add(toDomain(itemEntity));
+        }
         Address address = new Address(
             jpaEntity.getStreet(),
             jpaEntity.getCity(),
             jpaEntity.getPostalCode(),
             jpaEntity.getCountry()
         );
-        return new Order(
+        Order order = Order.rehydrate(
             jpaEntity.getId(),
-            new OrderNumber(jpaEntity.getOrderNumber()),
+            OrderNumber.of(jpaEntity.getOrderNumber()),
             jpaEntity.getCustomerId(),
             address,
             jpaEntity.getOrderDate(),
             items,
-            toDomainOrderStatus(jpaEntity.getStatus())
+            toDomainOrderStatus(jpaEntity.getStatus()),
+            jpaEntity.getVersion()
         );
+        jfrEvent.complete("toDomain", items.size());
+        return order;
     }
     
     private OrderItem toDomain(OrderItemJpaEntity jpaEntity) {
@@ -2,12 +2,18 @@ package com.example.hexagonalorders.infrastructure.out.persistence.repository;
 
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.OrderJpaEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface OrderJpaRepository extends JpaRepository<OrderJpaEntity, Long> {
-    Optional<OrderJpaEntity> findByOrderNumber(String orderNumber);
-    void deleteByOrderNumber(String orderNumber);
+    Optional<OrderJpaEntity> findByOrderNumber(UUID orderNumber);
+    void deleteByOrderNumber(UUID orderNumber);
+
+    @Query("SELECT o.version FROM OrderJpaEntity o WHERE o.orderNumber = :orderNumber")
+    Optional<Long> findVersionByOrderNumber(@Param("orderNumber") UUID orderNumber);
 } 
\ No newline at end of file
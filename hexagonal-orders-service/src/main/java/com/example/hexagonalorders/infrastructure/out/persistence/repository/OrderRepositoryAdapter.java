@@ -8,14 +8,23 @@ import com.example.hexagonalorders.domain.model.valueobject.Quantity;
 import com.example.hexagonalorders.domain.port.out.OrderRepository;
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.OrderJpaEntity;
 import com.example.hexagonalorders.infrastructure.out.persistence.mapper.OrderJpaMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
+@Profile("!jdbc")
+@Qualifier("orderStore")
 public class OrderRepositoryAdapter implements OrderRepository {
+    private static final Logger log = LoggerFactory.getLogger(OrderRepositoryAdapter.class);
+
     private final OrderJpaRepository orderJpaRepository;
     private final OrderJpaMapper orderJpaMapper;
 
@@ -24,26 +33,77 @@ public class OrderRepositoryAdapter implements OrderRepository {
         this.orderJpaMapper = orderJpaMapper;
     }
 
+    /**
+     * Saves the order and returns the same aggregate with its generated id, version and
+     * item ids applied, instead of rebuilding a new aggregate from the saved entity.
+     */
     @Override
     public Order save(Order order) {
-        OrderJpaEntity savedEntity = orderJpaRepository.save(orderJpaMapper.toJpaEntity(order));
-        return orderJpaMapper.toDomain(savedEntity);
+        OrderJpaEntity savedEntity = persist(order);
+        orderJpaMapper.applyGeneratedState(savedEntity, order);
+        return order;
+    }
+    
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        List<OrderJpaEntity> entities = new ArrayList<>(orders.size());
+        boolean updates = false;
+        for (Order order : orders) {
+            entities.add(orderJpaMapper.toJpaEntity(order));
+            updates |= order.getId() != null;
+        }
+        List<OrderJpaEntity> savedEntities = orderJpaRepository.saveAll(entities);
+        if (updates) {
+            // Same as persist(): merged entities get their new version on flush
+            orderJpaRepository.flush();
+        }
+        for (int i = 0; i < orders.size(); i++) {
+            orderJpaMapper.applyGeneratedState(savedEntities.get(i), orders.get(i));
+        }
+        return orders;
     }
     
     public OrderWithId saveWithId(Order order) {
-        System.out.println("[DEBUG] Guardando orden con número: " + order.getOrderNumber().value());
-        OrderJpaEntity savedEntity = orderJpaRepository.save(orderJpaMapper.toJpaEntity(order));
-        return new OrderWithId(orderJpaMapper.toDomain(savedEntity), savedEntity.getId());
+        log.debug("Guardando orden con número: {}", order.getOrderNumber());
+        OrderJpaEntity savedEntity = persist(order);
+        orderJpaMapper.applyGeneratedState(savedEntity, order);
+        return new OrderWithId(order, savedEntity.getId());
+    }
+
+    /**
+     * Inserts a new order, or merges and flushes an existing one. The merged entity
+     * only gets its incremented version when the update is flushed; without the flush
+     * the aggregate would keep the version it was loaded with.
+     */
+    private OrderJpaEntity persist(Order order) {
+        OrderJpaEntity entity = orderJpaMapper.toJpaEntity(order);
+        return order.getId() == null
+            ? orderJpaRepository.save(entity)
+            : orderJpaRepository.saveAndFlush(entity);
     }
 
     @Override
     public Optional<Order> findByOrderNumber(OrderNumber orderNumber) {
-        return orderJpaRepository.findByOrderNumber(orderNumber.value())
+        if (!orderNumber.isUuid()) {
+            return Optional.empty();
+        }
+        return orderJpaRepository.findByOrderNumber(orderNumber.asUuid())
                 .map(orderJpaMapper::toDomain);
     }
     
+    @Override
+    public Optional<Long> findVersionByOrderNumber(OrderNumber orderNumber) {
+        if (!orderNumber.isUuid()) {
+            return Optional.empty();
+        }
+        return orderJpaRepository.findVersionByOrderNumber(orderNumber.asUuid());
+    }
+    
     public Optional<OrderWithId> findByOrderNumberWithId(OrderNumber orderNumber) {
-        return orderJpaRepository.findByOrderNumber(orderNumber.value())
+        if (!orderNumber.isUuid()) {
+            return Optional.empty();
+        }
+        return orderJpaRepository.findByOrderNumber(orderNumber.asUuid())
                 .map(entity -> new OrderWithId(orderJpaMapper.toDomain(entity), entity.getId()));
     }
 
@@ -62,7 +122,9 @@ public class OrderRepositoryAdapter implements OrderRepository {
 
     @Override
     public void deleteByOrderNumber(OrderNumber orderNumber) {
-        orderJpaRepository.deleteByOrderNumber(orderNumber.value());
+        if (orderNumber.isUuid()) {
+            orderJpaRepository.deleteByOrderNumber(orderNumber.asUuid());
+        }
     }
     
     public static class OrderWithId {
@@ -3,8 +3,14 @@ package com.example.hexagonalorders.infrastructure.out.persistence.repository;
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.OutboxJpaEntity;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +18,16 @@ public interface OutboxMessageJpaRepository extends JpaRepository<OutboxJpaEntit
     List<OutboxJpaEntity> findTopNByStatusOrderByCreatedAtAsc(OutboxJpaEntity.OutboxStatusJpa status, Pageable pageable);
     
     List<OutboxJpaEntity> findByStatusOrderByCreatedAtAsc(OutboxJpaEntity.OutboxStatusJpa status);
+    
+    long countByStatus(OutboxJpaEntity.OutboxStatusJpa status);
+    
+    @Query("select min(o.createdAt) from OutboxJpaEntity o where o.status = :status")
+    Instant findOldestCreatedAtByStatus(@Param("status") OutboxJpaEntity.OutboxStatusJpa status);
+    
+    @Transactional
+    @Modifying
+    @Query("update OutboxJpaEntity o set o.status = :status, o.processedAt = :processedAt where o.id in :ids")
+    int updateStatus(@Param("ids") Collection<java.util.UUID> ids,
+                     @Param("status") OutboxJpaEntity.OutboxStatusJpa status,
+                     @Param("processedAt") Instant processedAt);
 } 
\ No newline at end of file
@@ -5,29 +5,58 @@ import com.example.hexagonalorders.domain.model.Status;
 import com.example.hexagonalorders.domain.port.out.OutboxRepository;
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.OutboxJpaEntity;
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.OutboxMessageMapper;
+import com.example.hexagonalorders.infrastructure.out.messaging.OutboxTracing;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Repository
+@ConditionalOnProperty(name = "orders.outbox.store", havingValue = "database", matchIfMissing = true)
+@Profile("!jdbc")
 public class OutboxRepositoryAdapter implements OutboxRepository {
     
     private final OutboxMessageJpaRepository outboxMessageJpaRepository;
+    private final OutboxTracing outboxTracing;
     
-    public OutboxRepositoryAdapter(OutboxMessageJpaRepository outboxMessageJpaRepository) {
+    public OutboxRepositoryAdapter(OutboxMessageJpaRepository outboxMessageJpaRepository, OutboxTracing outboxTracing) {
         this.outboxMessageJpaRepository = outboxMessageJpaRepository;
+        this.outboxTracing = outboxTracing;
     }
     
     @Override
     public void save(OutboxMessage outboxMessage) {
+        captureTraceContext(outboxMessage);
         OutboxJpaEntity jpaEntity = OutboxMessageMapper.toJpaEntity(outboxMessage);
         outboxMessageJpaRepository.save(jpaEntity);
     }
     
+    @Override
+    public void saveAll(List<OutboxMessage> outboxMessages) {
+        outboxMessages.forEach(this::captureTraceContext);
+        List<OutboxJpaEntity> jpaEntities = outboxMessages.stream()
+            .map(OutboxMessageMapper::toJpaEntity)
+            .collect(Collectors.toList());
+        jpaEntities.forEach(OutboxJpaEntity::markNew);
+        outboxMessageJpaRepository.saveAll(jpaEntities);
+    }
+    
+    /**
+     * Stores the trace context of the writing thread on messages that are being
+     * written for the first time; status updates keep the original headers.
+     */
+    private void captureTraceContext(OutboxMessage outboxMessage) {
+        if (outboxMessage.getStatus() == Status.PENDING && outboxMessage.getHeaders().isEmpty()) {
+            outboxMessage.setHeaders(outboxTracing.captureCurrentContext());
+        }
+    }
+    
     @Override
     public List<OutboxMessage> findPending(int limit) {
         PageRequest pageRequest = PageRequest.of(0, limit);
@@ -49,6 +78,17 @@ public class OutboxRepositoryAdapter implements OutboxRepository {
             .collect(Collectors.toList());
     }
     
+    @Override
+    public long countPending() {
+        return outboxMessageJpaRepository.countByStatus(OutboxJpaEntity.OutboxStatusJpa.PENDING);
+    }
+    
+    @Override
+    public Optional<Instant> findOldestPendingCreatedAt() {
+        return Optional.ofNullable(outboxMessageJpaRepository
+            .findOldestCreatedAtByStatus(OutboxJpaEntity.OutboxStatusJpa.PENDING));
+    }
+    
     @Override
     public void markProcessed(UUID id) {
         outboxMessageJpaRepository.findById(id).ifPresent(jpaEntity -> {
@@ -66,4 +106,18 @@ public class OutboxRepositoryAdapter implements OutboxRepository {
             outboxMessageJpaRepository.save(jpaEntity);
         });
     }
-} 
\ No newline at end of file
+    
+    @Override
+    public void markAllProcessing(List<UUID> ids) {
+        if (!ids.isEmpty()) {
+            outboxMessageJpaRepository.updateStatus(ids, OutboxJpaEntity.OutboxStatusJpa.PROCESSING, null);
+        }
+    }
+    
+    @Override
+    public void markAllProcessed(List<UUID> ids) {
+        if (!ids.isEmpty()) {
+            outboxMessageJpaRepository.updateStatus(ids, OutboxJpaEntity.OutboxStatusJpa.PROCESSED, Instant.now());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+-- Migrates orders.order_number from VARCHAR(255) to a native UUID column.
+--
+-- Not executed automatically: with spring.jpa.hibernate.ddl-auto=update Hibernate creates
+-- new schemas with the UUID column, but it never changes the type of an existing column.
+-- Run this once against databases created before the change, with the service stopped.
+
+-- 1. Every order number must already be a UUID (they are generated as UUIDs).
+--    This query must return no rows; fix or remove the listed orders first.
+SELECT id, order_number
+FROM orders
+WHERE NOT REGEXP_LIKE(order_number, '^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$');
+
+-- 2. Convert the column in place. The unique index is rebuilt on 16-byte values.
+-- H2:
+ALTER TABLE orders ALTER COLUMN order_number SET DATA TYPE UUID;
+-- PostgreSQL:
+-- ALTER TABLE orders ALTER COLUMN order_number TYPE uuid USING order_number::uuid;
+
+-- 3. Outbox rows written before the change carry an MD5-derived aggregate_id
+--    (UUID.nameUUIDFromBytes of the order number); new rows use the order number itself.
+--    Let the outbox processor drain first, so no pending message keeps a legacy id.
+--    This query must return 0:
+SELECT COUNT(*) FROM outbox WHERE status = 'PENDING';
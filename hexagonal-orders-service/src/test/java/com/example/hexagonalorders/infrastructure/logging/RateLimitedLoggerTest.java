@@ -0,0 +1,83 @@
+package com.example.hexagonalorders.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the sampling of RateLimitedLogger against a logback list appender.
+ */
+class RateLimitedLoggerTest {
+
+    private Logger logger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        logger = (Logger) LoggerFactory.getLogger("rate-limited-logger-test-" + UUID.randomUUID());
+        logger.setAdditive(false);
+        logger.setLevel(Level.INFO);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        appender.stop();
+    }
+
+    @Test
+    void writesAtMostThePermitsOfAWindow() {
+        RateLimitedLogger rateLimited = new RateLimitedLogger(logger, 3, Duration.ofHours(1));
+
+        for (int i = 0; i < 10; i++) {
+            rateLimited.info("Message {}", i);
+        }
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+            .containsExactly("Message 0", "Message 1", "Message 2");
+    }
+
+    @Test
+    void reportsTheSuppressedCountWhenTheNextWindowOpens() throws InterruptedException {
+        RateLimitedLogger rateLimited = new RateLimitedLogger(logger, 2, Duration.ofMillis(200));
+        for (int i = 0; i < 5; i++) {
+            rateLimited.info("Message {}", i);
+        }
+
+        Thread.sleep(250);
+        rateLimited.info("Message {}", 5);
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+            .containsExactly("Message 0", "Message 1",
+                "3 similar log messages suppressed in the last 200 ms", "Message 5");
+    }
+
+    @Test
+    void disabledLevelUsesNoPermits() {
+        RateLimitedLogger rateLimited = new RateLimitedLogger(logger, 2, Duration.ofHours(1));
+        logger.setLevel(Level.WARN);
+        for (int i = 0; i < 5; i++) {
+            rateLimited.info("Hidden {}", i);
+        }
+
+        logger.setLevel(Level.INFO);
+        rateLimited.info("Message {}", 0);
+        rateLimited.info("Message {}", 1);
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+            .containsExactly("Message 0", "Message 1");
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.hexagonalorders.infrastructure.out.messaging;
+
+import com.example.hexagonalorders.domain.model.OutboxMessage;
+import com.example.hexagonalorders.domain.model.Status;
+import com.example.hexagonalorders.domain.port.out.MessagePublisher;
+import com.example.hexagonalorders.domain.port.out.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the relay over a mocked outbox with a publisher that behaves like a Kafka
+ * transaction: records sent inside publishAtomically become visible only if the
+ * whole group completes. One payload makes the publisher fail, which aborts the
+ * page it belongs to in transactional mode and only that message otherwise.
+ */
+class OutboxProcessorTest {
+
+    private static final String POISON = "{\"n\":3}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TransactionalPublisher publisher = new TransactionalPublisher();
+    private OutboxRepository outboxRepository;
+    private OutboxTracing outboxTracing;
+    private List<OutboxMessage> messages;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(OutboxRepository.class);
+        StaticListableBeanFactory noTracing = new StaticListableBeanFactory();
+        outboxTracing = new OutboxTracing(noTracing.getBeanProvider(Tracer.class),
+            noTracing.getBeanProvider(Propagator.class));
+        messages = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            messages.add(OutboxMessage.createPendingMessage("Order", UUID.randomUUID(), "OrderCreated", "{\"n\":" + i + "}"));
+        }
+        when(outboxRepository.findPendingMessages()).thenReturn(messages);
+    }
+
+    @Test
+    void committedPagesAreMarkedProcessedAndAnAbortedPageFailsAsAWhole() {
+        new OutboxProcessor(outboxRepository, publisher, outboxTracing, meterRegistry, true, 2)
+            .processPendingMessages();
+
+        verify(outboxRepository).markAllProcessing(ids(0, 1, 2, 3, 4));
+        assertThat(publisher.committed).containsExactly("{\"n\":0}", "{\"n\":1}", "{\"n\":4}");
+        assertThat(processedBatches()).containsExactly(ids(0, 1), ids(4));
+        assertThat(failedIds()).containsExactly(messages.get(2).getId(), messages.get(3).getId());
+        assertThat(messages).extracting(OutboxMessage::getStatus).containsExactly(
+            Status.PROCESSED, Status.PROCESSED, Status.FAILED, Status.FAILED, Status.PROCESSED);
+        assertThat(meterRegistry.counter("orders.outbox.relay.published").count()).isEqualTo(3.0);
+        assertThat(meterRegistry.counter("orders.outbox.relay.failed").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void idempotentModeFailsOnlyTheMessageThatCouldNotBePublished() {
+        new OutboxProcessor(outboxRepository, publisher, outboxTracing, meterRegistry, false, 2)
+            .processPendingMessages();
+
+        assertThat(publisher.committed).containsExactly("{\"n\":0}", "{\"n\":1}", "{\"n\":2}", "{\"n\":4}");
+        assertThat(processedBatches()).containsExactly(ids(0, 1, 2, 4));
+        assertThat(failedIds()).containsExactly(messages.get(3).getId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<UUID>> processedBatches() {
+        ArgumentCaptor<List<UUID>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository, atLeastOnce()).markAllProcessed(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private List<UUID> failedIds() {
+        ArgumentCaptor<OutboxMessage> captor = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxRepository, atLeastOnce()).save(captor.capture());
+        assertThat(captor.getAllValues()).extracting(OutboxMessage::getStatus).containsOnly(Status.FAILED);
+        return captor.getAllValues().stream().map(OutboxMessage::getId).toList();
+    }
+
+    private List<UUID> ids(int... indexes) {
+        List<UUID> ids = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            ids.add(messages.get(index).getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Stages the records of a publishAtomically group and exposes them only when the
+     * group completes, as a read_committed consumer would see them.
+     */
+    private static final class TransactionalPublisher implements MessagePublisher {
+
+        private final List<String> committed = new ArrayList<>();
+        private List<String> transaction;
+
+        @Override
+        public void publish(String topic, String payload) {
+            if (POISON.equals(payload)) {
+                throw new IllegalStateException("broker rejected the record");
+            }
+            (transaction != null ? transaction : committed).add(payload);
+        }
+
+        @Override
+        public void publishAtomically(Runnable publications) {
+            transaction = new ArrayList<>();
+            try {
+                publications.run();
+                committed.addAll(transaction);
+            } finally {
+                transaction = null;
+            }
+        }
+    }
+}
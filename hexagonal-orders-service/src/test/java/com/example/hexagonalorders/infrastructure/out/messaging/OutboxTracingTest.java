@@ -0,0 +1,147 @@
+package com.example.hexagonalorders.infrastructure.out.messaging;
+
+import com.example.hexagonalorders.domain.model.OutboxMessage;
+import com.example.hexagonalorders.domain.port.out.MessagePublisher;
+import com.example.hexagonalorders.domain.port.out.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelBaggageManager;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.micrometer.tracing.propagation.Propagator;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Exports the spans of one relay run to memory and checks that the trace context
+ * written with the outbox row ends up in the Kafka record headers.
+ *
+ * The publisher stands in for the KafkaTemplate observation and injects the current
+ * context into the record headers. The delivery service's TopicQueueTracingTest
+ * reads headers in the same W3C format on the consumer side.
+ */
+class OutboxTracingTest {
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+    private Propagator propagator;
+    private OutboxTracing outboxTracing;
+
+    @BeforeEach
+    void setUp() {
+        tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+            .build();
+        io.opentelemetry.api.trace.Tracer otelTracer = tracerProvider.get("outbox-tracing-test");
+        OtelCurrentTraceContext currentTraceContext = new OtelCurrentTraceContext();
+        tracer = new OtelTracer(otelTracer, currentTraceContext, event -> { },
+            new OtelBaggageManager(currentTraceContext, List.of(), List.of()));
+        propagator = new OtelPropagator(ContextPropagators.create(W3CTraceContextPropagator.getInstance()), otelTracer);
+        outboxTracing = new OutboxTracing(provider(Tracer.class, tracer), provider(Propagator.class, propagator));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void relayedMessageCarriesTheWriterTraceIntoKafkaHeaders() {
+        OutboxMessage message = OutboxMessage.createPendingMessage("Order", UUID.randomUUID(), "OrderConfirmed", "{}");
+        Span request = tracer.nextSpan().name("confirm order").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(request)) {
+            message.setHeaders(outboxTracing.captureCurrentContext());
+        } finally {
+            request.end();
+        }
+        message.setCreatedAt(Instant.now().minusSeconds(2));
+
+        RecordHeaders recordHeaders = new RecordHeaders();
+        OutboxRepository repository = relayOf(message, recordHeaders);
+
+        verify(repository).markAllProcessed(List.of(message.getId()));
+        SpanData requestSpan = exported("confirm order");
+        SpanData queueSpan = exported("outbox queue");
+        SpanData publishSpan = exported("outbox publish");
+        String traceId = requestSpan.getTraceId();
+
+        assertThat(queueSpan.getTraceId()).isEqualTo(traceId);
+        assertThat(queueSpan.getParentSpanId()).isEqualTo(requestSpan.getSpanId());
+        assertThat(queueSpan.getStartEpochNanos())
+            .isEqualTo(TimeUnit.MILLISECONDS.toNanos(message.getCreatedAt().toEpochMilli()));
+        assertThat(publishSpan.getTraceId()).isEqualTo(traceId);
+        assertThat(publishSpan.getParentSpanId()).isEqualTo(requestSpan.getSpanId());
+        assertThat(publishSpan.getKind()).isEqualTo(SpanKind.PRODUCER);
+
+        Header traceparent = recordHeaders.lastHeader("traceparent");
+        assertThat(traceparent).isNotNull();
+        assertThat(new String(traceparent.value(), StandardCharsets.UTF_8))
+            .isEqualTo("00-" + traceId + "-" + publishSpan.getSpanId() + "-01");
+    }
+
+    @Test
+    void messageWrittenOutsideATraceIsPublishedUnderANewTrace() {
+        OutboxMessage message = OutboxMessage.createPendingMessage("Order", UUID.randomUUID(), "OrderConfirmed", "{}");
+        assertThat(outboxTracing.captureCurrentContext()).isEmpty();
+
+        RecordHeaders recordHeaders = new RecordHeaders();
+        relayOf(message, recordHeaders);
+
+        assertThat(exporter.getFinishedSpanItems())
+            .extracting(SpanData::getName)
+            .containsExactly("outbox publish");
+        SpanData publishSpan = exported("outbox publish");
+        assertThat(publishSpan.getParentSpanContext().isValid()).isFalse();
+        assertThat(new String(recordHeaders.lastHeader("traceparent").value(), StandardCharsets.UTF_8))
+            .contains(publishSpan.getTraceId());
+    }
+
+    private OutboxRepository relayOf(OutboxMessage message, RecordHeaders recordHeaders) {
+        MessagePublisher publisher = (topic, payload) -> propagator.inject(
+            tracer.currentTraceContext().context(), recordHeaders,
+            (carrier, key, value) -> carrier.add(key, value.getBytes(StandardCharsets.UTF_8)));
+        OutboxRepository repository = mock(OutboxRepository.class);
+        when(repository.findPendingMessages()).thenReturn(List.of(message));
+        new OutboxProcessor(repository, publisher, outboxTracing, new SimpleMeterRegistry(), false, 500)
+            .processPendingMessages();
+        return repository;
+    }
+
+    private SpanData exported(String name) {
+        return exporter.getFinishedSpanItems().stream()
+            .filter(span -> span.getName().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No span named " + name));
+    }
+
+    private static <T> ObjectProvider<T> provider(Class<T> type, T bean) {
+        return new StaticListableBeanFactory(Map.of(type.getSimpleName(), bean)).getBeanProvider(type);
+    }
+}
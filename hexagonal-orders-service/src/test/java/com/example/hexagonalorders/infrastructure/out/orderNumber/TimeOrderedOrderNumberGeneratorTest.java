@@ -0,0 +1,51 @@
+package com.example.hexagonalorders.infrastructure.out.orderNumber;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Order numbers are RFC 9562 version 7 UUIDs that sort in generation order, also
+ * when many of them are generated within the same millisecond.
+ */
+class TimeOrderedOrderNumberGeneratorTest {
+
+    private static final int CALLS = 10_000;
+
+    @Test
+    void orderNumbersAreVersion7AndStrictlyIncreasing() {
+        TimeOrderedOrderNumberGenerator generator = new TimeOrderedOrderNumberGenerator(5);
+
+        String previous = null;
+        for (int i = 0; i < CALLS; i++) {
+            String value = generator.generate().value();
+            UUID uuid = UUID.fromString(value);
+            assertThat(uuid.version()).isEqualTo(7);
+            assertThat(uuid.variant()).isEqualTo(2);
+            assertThat((uuid.getLeastSignificantBits() >>> 52) & TimeOrderedOrderNumberGenerator.MAX_NODE_ID).isEqualTo(5);
+            if (previous != null) {
+                // The unique index compares the textual form
+                assertThat(value).isGreaterThan(previous);
+            }
+            previous = value;
+        }
+    }
+
+    @Test
+    void timestampIsTheCurrentTimeInMilliseconds() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UUID.fromString(new TimeOrderedOrderNumberGenerator(0).generate().value());
+        long after = System.currentTimeMillis();
+
+        assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, after);
+    }
+
+    @Test
+    void nodeIdOutOfRangeIsRejected() {
+        assertThatThrownBy(() -> new TimeOrderedOrderNumberGenerator(TimeOrderedOrderNumberGenerator.MAX_NODE_ID + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
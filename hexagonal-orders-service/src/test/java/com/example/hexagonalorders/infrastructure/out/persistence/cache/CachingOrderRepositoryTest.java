@@ -0,0 +1,108 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.cache;
+
+import com.example.hexagonalorders.domain.event.OrderConfirmedEvent;
+import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.domain.model.OrderStatus;
+import com.example.hexagonalorders.domain.model.valueobject.Address;
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.port.out.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Races a read-through load of the pre-confirmation row against the invalidation
+ * that follows the confirmation's commit.
+ */
+class CachingOrderRepositoryTest {
+
+    private final OrderNumber orderNumber = OrderNumber.of(UUID.randomUUID());
+    private final AtomicReference<Order> row = new AtomicReference<>();
+    private OrderRepository delegate;
+    private CachingOrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        row.set(order(OrderStatus.PENDING, 0L));
+        delegate = mock(OrderRepository.class);
+        repository = new CachingOrderRepository(delegate, new SimpleMeterRegistry(), 100, 30);
+    }
+
+    @Test
+    void invalidationDuringALoadDoesNotLeaveTheStaleRowCached() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Order stale = row.get();
+        when(delegate.findByOrderNumber(orderNumber)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(stale);
+        }).thenAnswer(invocation -> Optional.of(row.get()));
+
+        Thread reader = new Thread(() -> repository.findByOrderNumber(orderNumber));
+        reader.start();
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The confirmation commits while the reader still holds the pre-confirmation row
+        row.set(order(OrderStatus.CONFIRMED, 1L));
+        Thread invalidator = new Thread(() -> repository.onOrderConfirmed(new OrderConfirmedEvent(orderNumber)));
+        invalidator.start();
+        awaitBlockedOrDone(invalidator);
+        release.countDown();
+        reader.join(5000);
+        invalidator.join(5000);
+
+        assertThat(repository.findByOrderNumber(orderNumber)).get()
+            .satisfies(order -> {
+                assertThat(order.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+                assertThat(order.getVersion()).isEqualTo(1L);
+            });
+    }
+
+    @Test
+    void hitsAreCopies() {
+        when(delegate.findByOrderNumber(orderNumber)).thenAnswer(invocation -> Optional.of(row.get()));
+
+        repository.findByOrderNumber(orderNumber).orElseThrow().confirm();
+
+        assertThat(repository.findByOrderNumber(orderNumber)).get()
+            .satisfies(order -> assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING));
+    }
+
+    @Test
+    void versionIsReadFromTheStoreEvenWhenTheOrderIsCached() {
+        when(delegate.findByOrderNumber(orderNumber)).thenAnswer(invocation -> Optional.of(row.get()));
+        when(delegate.findVersionByOrderNumber(orderNumber)).thenAnswer(invocation -> Optional.of(row.get().getVersion()));
+        repository.findByOrderNumber(orderNumber);
+
+        // Committed by another instance, whose invalidation never reaches this cache
+        row.set(order(OrderStatus.CONFIRMED, 1L));
+
+        assertThat(repository.findVersionByOrderNumber(orderNumber)).contains(1L);
+    }
+
+    private static void awaitBlockedOrDone(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.isAlive() && thread.getState() == Thread.State.RUNNABLE && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private Order order(OrderStatus status, long version) {
+        return Order.rehydrate(1L, orderNumber, "customer-1",
+            new Address("Main Street 1", "Springfield", "12345", "US"),
+            LocalDateTime.now(), new ArrayList<>(), status, version);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.jdbc;
+
+import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.domain.model.OrderItem;
+import com.example.hexagonalorders.domain.model.OrderStatus;
+import com.example.hexagonalorders.domain.model.OutboxMessage;
+import com.example.hexagonalorders.domain.model.valueobject.Address;
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.model.valueobject.ProductNumber;
+import com.example.hexagonalorders.domain.model.valueobject.Quantity;
+import com.example.hexagonalorders.infrastructure.out.messaging.OutboxTracing;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Round trips through the plain JDBC adapters of the "jdbc" profile, against the
+ * tables Hibernate creates from the JPA mapping, as the profile does at runtime.
+ */
+@DataJpaTest
+@ActiveProfiles("jdbc")
+@Import({JdbcOrderRepositoryAdapter.class, JdbcOutboxRepositoryAdapter.class, OutboxTracing.class})
+class JdbcAdaptersTest {
+
+    @Autowired
+    private JdbcOrderRepositoryAdapter orders;
+
+    @Autowired
+    private JdbcOutboxRepositoryAdapter outbox;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Test
+    void insertedOrdersAreLoadedBackWithTheirItems() {
+        Order first = newOrder("customer-1", 2);
+        Order second = newOrder("customer-2", 1);
+
+        orders.saveAll(List.of(first, second));
+
+        assertThat(first.getId()).isNotNull();
+        assertThat(second.getId()).isEqualTo(first.getId() + 1);
+        assertThat(first.getVersion()).isZero();
+        assertThat(first.getItems()).extracting(OrderItem::getId).doesNotContainNull();
+
+        Order loaded = orders.findByOrderNumber(first.getOrderNumber()).orElseThrow();
+        assertThat(loaded.getId()).isEqualTo(first.getId());
+        assertThat(loaded.getCustomerId()).isEqualTo("customer-1");
+        assertThat(loaded.getAddress()).isEqualTo(first.getAddress());
+        assertThat(loaded.getItems()).extracting(item -> item.getProductNumber().value())
+            .containsExactly("P-0", "P-1");
+        assertThat(orders.findAll()).hasSize(2);
+    }
+
+    @Test
+    void updateBumpsTheVersionAndRejectsAStaleCopy() {
+        Order order = newOrder("customer-1", 1);
+        orders.save(order);
+        Order stale = orders.findByOrderNumber(order.getOrderNumber()).orElseThrow();
+
+        Order current = orders.findByOrderNumber(order.getOrderNumber()).orElseThrow();
+        current.confirm();
+        orders.save(current);
+
+        assertThat(current.getVersion()).isEqualTo(1L);
+        assertThat(orders.findVersionByOrderNumber(order.getOrderNumber())).contains(1L);
+        assertThat(orders.findByOrderNumber(order.getOrderNumber())).get()
+            .satisfies(loaded -> assertThat(loaded.getStatus()).isEqualTo(OrderStatus.CONFIRMED));
+        assertThatThrownBy(() -> orders.save(stale)).isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void deleteRemovesTheOrderAndItsItems() {
+        Order order = newOrder("customer-1", 3);
+        orders.save(order);
+
+        orders.deleteByOrderNumber(order.getOrderNumber());
+
+        assertThat(orders.findByOrderNumber(order.getOrderNumber())).isEmpty();
+        assertThat(count("order_items")).isZero();
+    }
+
+    @Test
+    void pendingMessagesAreReadOldestFirstAndLeaveThePendingSetWhenMarked() {
+        Instant now = Instant.now();
+        List<OutboxMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            OutboxMessage message = pendingMessage();
+            message.setCreatedAt(now.minusSeconds(30 - i));
+            messages.add(message);
+        }
+        List<OutboxMessage> newestFirst = new ArrayList<>(messages);
+        Collections.reverse(newestFirst);
+        outbox.saveAll(newestFirst);
+
+        List<OutboxMessage> page = outbox.findPending(2);
+        assertThat(page).extracting(OutboxMessage::getId)
+            .containsExactly(messages.get(0).getId(), messages.get(1).getId());
+        assertThat(outbox.countPending()).isEqualTo(3);
+        assertThat(outbox.findOldestPendingCreatedAt()).hasValueSatisfying(oldest ->
+            assertThat(oldest).isCloseTo(messages.get(0).getCreatedAt(), within(1, ChronoUnit.MILLIS)));
+
+        List<UUID> ids = page.stream().map(OutboxMessage::getId).toList();
+        outbox.markAllProcessing(ids);
+        assertThat(outbox.findPendingMessages()).extracting(OutboxMessage::getId)
+            .containsExactly(messages.get(2).getId());
+
+        outbox.markAllProcessed(ids);
+        outbox.markFailed(messages.get(2).getId());
+        assertThat(outbox.countPending()).isZero();
+        assertThat(outbox.findOldestPendingCreatedAt()).isEmpty();
+        assertThat(jdbcTemplate.queryForList("select status from outbox order by created_at",
+            new MapSqlParameterSource(), String.class))
+            .containsExactly("PROCESSED", "PROCESSED", "FAILED");
+    }
+
+    private int count(String table) {
+        Integer count = jdbcTemplate.queryForObject("select count(*) from " + table,
+            new MapSqlParameterSource(), Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private static Order newOrder(String customerId, int itemCount) {
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderItem(new ProductNumber("P-" + i), new Quantity(i + 1), new BigDecimal("9.95")));
+        }
+        return new Order(OrderNumber.of(UUID.randomUUID()), customerId,
+            new Address("Main Street 1", "Springfield", "12345", "US"),
+            LocalDateTime.now(), items, OrderStatus.PENDING);
+    }
+
+    private static OutboxMessage pendingMessage() {
+        return OutboxMessage.createPendingMessage("Order", UUID.randomUUID(), "OrderCreated", "{\"items\":1}");
+    }
+}
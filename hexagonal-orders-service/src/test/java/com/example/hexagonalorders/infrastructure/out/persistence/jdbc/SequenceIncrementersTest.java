@@ -0,0 +1,52 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.support.incrementer.H2SequenceMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.PostgresSequenceMaxValueIncrementer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The sequence incrementer follows the platform the data source reports.
+ */
+class SequenceIncrementersTest {
+
+    @Test
+    void h2UsesTheH2Incrementer() throws SQLException {
+        assertThat(SequenceIncrementers.forSequence(dataSource("H2"), "orders_seq"))
+            .isInstanceOf(H2SequenceMaxValueIncrementer.class);
+    }
+
+    @Test
+    void postgresUsesNextval() throws SQLException {
+        assertThat(SequenceIncrementers.forSequence(dataSource("PostgreSQL"), "orders_seq"))
+            .isInstanceOf(PostgresSequenceMaxValueIncrementer.class);
+    }
+
+    @Test
+    void databasesWithoutSequencesAreRejected() throws SQLException {
+        DataSource mysql = dataSource("MySQL");
+
+        assertThatThrownBy(() -> SequenceIncrementers.forSequence(mysql, "orders_seq"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("MySQL");
+    }
+
+    private static DataSource dataSource(String productName) throws SQLException {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getDatabaseProductName()).thenReturn(productName);
+        Connection connection = mock(Connection.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.journal;
+
+import com.example.hexagonalorders.domain.model.OutboxMessage;
+import com.example.hexagonalorders.infrastructure.out.messaging.OutboxTracing;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Restarts the journal outbox on the directory of an instance that was never closed
+ * and checks what the relay sees afterwards. The outbox_journal_commits and outbox
+ * tables live in an embedded H2 database; without a Spring transaction every
+ * statement commits on its own, so a marker row left behind stands for a database
+ * transaction that committed before the crash.
+ */
+class JournalOutboxRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedDatabase database;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private final List<JournalOutboxRepository> repositories = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        jdbcTemplate = new NamedParameterJdbcTemplate(database);
+        jdbcTemplate.getJdbcOperations().execute(
+            "create table outbox (id uuid primary key, aggregate_type varchar(255) not null, "
+                + "aggregate_id uuid not null, event_type varchar(255) not null, payload clob not null, "
+                + "status varchar(20) not null, created_at timestamp(6) with time zone not null, "
+                + "processed_at timestamp(6) with time zone, headers varchar(1024))");
+        jdbcTemplate.getJdbcOperations().execute(
+            "create table outbox_journal_commits (tx_id varchar(36) primary key, "
+                + "committed_at timestamp(6) with time zone not null)");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        for (JournalOutboxRepository repository : repositories) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(repository);
+            repository.close();
+        }
+        database.shutdown();
+    }
+
+    @Test
+    void pendingMessagesSurviveARestartInOrder() {
+        JournalOutboxRepository crashed = start();
+        OutboxMessage first = pendingMessage();
+        OutboxMessage second = pendingMessage();
+        crashed.save(first);
+        crashed.save(second);
+
+        assertThat(idsOf(start())).containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    void acknowledgedMessagesAreNotRelayedAgain() {
+        JournalOutboxRepository crashed = start();
+        OutboxMessage first = pendingMessage();
+        OutboxMessage second = pendingMessage();
+        OutboxMessage third = pendingMessage();
+        crashed.saveAll(List.of(first, second, third));
+        crashed.markAllProcessed(List.of(first.getId(), second.getId()));
+
+        assertThat(idsOf(start())).containsExactly(third.getId());
+    }
+
+    @Test
+    void transactionThatCommittedBeforeItsOutcomeRecordIsRecoveredFromTheMarker() {
+        JournalOutboxRepository crashed = start();
+        OutboxMessage message = pendingMessage();
+        crashBetweenCommitAndOutcome(crashed, message);
+        assertThat(crashed.findPendingMessages()).isEmpty();
+        assertThat(markerCount()).isEqualTo(1);
+
+        assertThat(idsOf(start())).containsExactly(message.getId());
+        assertThat(markerCount()).isZero();
+        // The COMMIT record written by the recovery decides later restarts without the marker
+        assertThat(idsOf(start())).containsExactly(message.getId());
+    }
+
+    @Test
+    void transactionWithoutMarkerIsDiscardedOnRecovery() {
+        JournalOutboxRepository crashed = start();
+        crashBetweenCommitAndOutcome(crashed, pendingMessage());
+        // The database rolled back: the marker row never became visible
+        jdbcTemplate.update("delete from outbox_journal_commits", new MapSqlParameterSource());
+
+        assertThat(start().findPendingMessages()).isEmpty();
+        assertThat(start().findPendingMessages()).isEmpty();
+    }
+
+    @Test
+    void rolledBackTransactionIsNeverRelayed() {
+        JournalOutboxRepository repository = start();
+        TransactionSynchronizationManager.initSynchronization();
+        repository.save(pendingMessage());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization ->
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(repository.findPendingMessages()).isEmpty();
+        assertThat(start().findPendingMessages()).isEmpty();
+    }
+
+    @Test
+    void failedMessageIsDeadLetteredAndReplayedOnceResetToPending() {
+        JournalOutboxRepository repository = start();
+        OutboxMessage message = pendingMessage();
+        repository.save(message);
+
+        repository.markFailed(message.getId());
+
+        assertThat(repository.findPendingMessages()).isEmpty();
+        assertThat(outboxStatuses()).containsExactly("FAILED");
+        JournalOutboxRepository restarted = start();
+        assertThat(restarted.findPendingMessages()).isEmpty();
+
+        jdbcTemplate.update("update outbox set status = 'PENDING'", new MapSqlParameterSource());
+        restarted.maintain();
+
+        assertThat(idsOf(restarted)).containsExactly(message.getId());
+        assertThat(outboxStatuses()).isEmpty();
+        assertThat(idsOf(start())).containsExactly(message.getId());
+    }
+
+    private JournalOutboxRepository start() {
+        StaticListableBeanFactory noTracing = new StaticListableBeanFactory();
+        JournalOutboxRepository repository = new JournalOutboxRepository(
+            new OutboxTracing(noTracing.getBeanProvider(Tracer.class), noTracing.getBeanProvider(Propagator.class)),
+            jdbcTemplate, new SimpleMeterRegistry(), directory.toString(), 1);
+        repositories.add(repository);
+        return repository;
+    }
+
+    /**
+     * Runs the commit phase of a transaction that wrote the message (append, sync and
+     * marker insert) and stops before afterCompletion records the outcome.
+     */
+    private void crashBetweenCommitAndOutcome(JournalOutboxRepository repository, OutboxMessage message) {
+        TransactionSynchronizationManager.initSynchronization();
+        repository.save(message);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.unbindResource(repository);
+    }
+
+    private int markerCount() {
+        Integer count = jdbcTemplate.queryForObject("select count(*) from outbox_journal_commits",
+            new MapSqlParameterSource(), Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private List<String> outboxStatuses() {
+        return jdbcTemplate.queryForList("select status from outbox", new MapSqlParameterSource(), String.class);
+    }
+
+    private static List<UUID> idsOf(JournalOutboxRepository repository) {
+        return repository.findPendingMessages().stream().map(OutboxMessage::getId).toList();
+    }
+
+    private static OutboxMessage pendingMessage() {
+        return OutboxMessage.createPendingMessage("Order", UUID.randomUUID(), "OrderCreated", "{\"items\":1}");
+    }
+}
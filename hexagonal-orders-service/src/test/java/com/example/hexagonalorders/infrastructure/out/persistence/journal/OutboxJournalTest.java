@@ -0,0 +1,149 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recovery of the memory-mapped outbox journal across reopenings of the same
+ * directory: the persisted cursor, torn tails and segment roll-over and release.
+ */
+class OutboxJournalTest {
+
+    private static final int SEGMENT_SIZE = 64;
+    private static final int FRAME_HEADER = 8;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversTheRecordsFromThePersistedCursorOnwards() throws IOException {
+        try (OutboxJournal journal = open()) {
+            journal.recover((position, body) -> { });
+            long[] positions = journal.append(List.of(body("a"), body("b"), body("c")), position -> { });
+            journal.sync(positions[3]);
+            journal.writeCursor(positions[1]);
+        }
+
+        assertThat(recovered()).containsExactly("b", "c");
+    }
+
+    @Test
+    void tornTailIsDroppedAndOverwrittenByTheNextAppend() throws IOException {
+        try (OutboxJournal journal = open()) {
+            journal.recover((position, body) -> { });
+            journal.append(List.of(body("a"), body("b")), position -> { });
+        }
+        // Corrupt the body of the second record, as a write cut short by a crash would
+        int tornBody = FRAME_HEADER + 1 + FRAME_HEADER;
+        try (FileChannel segment = FileChannel.open(segments().get(0), StandardOpenOption.WRITE)) {
+            segment.write(ByteBuffer.wrap(new byte[] {'x'}), tornBody);
+        }
+
+        try (OutboxJournal journal = open()) {
+            List<String> recovered = new ArrayList<>();
+            journal.recover((position, body) -> recovered.add(new String(body, StandardCharsets.UTF_8)));
+            assertThat(recovered).containsExactly("a");
+            assertThat(journal.writePosition()).isEqualTo(FRAME_HEADER + 1);
+            journal.append(List.of(body("c")), position -> { });
+        }
+
+        assertThat(recovered()).containsExactly("a", "c");
+    }
+
+    @Test
+    void intactRecordsAfterATornOneAreDiscarded() throws IOException {
+        try (OutboxJournal journal = open()) {
+            journal.recover((position, body) -> { });
+            journal.append(List.of(body("a"), body("b"), body("c")), position -> { });
+        }
+        // The page holding "c" reached the disk while the body of "b" did not
+        int tornBody = FRAME_HEADER + 1 + FRAME_HEADER;
+        try (FileChannel segment = FileChannel.open(segments().get(0), StandardOpenOption.WRITE)) {
+            segment.write(ByteBuffer.wrap(new byte[] {'x'}), tornBody);
+        }
+
+        try (OutboxJournal journal = open()) {
+            journal.recover((position, body) -> { });
+            journal.append(List.of(body("d")), position -> { });
+        }
+
+        assertThat(recovered()).containsExactly("a", "d");
+    }
+
+    @Test
+    void segmentsAfterATornRecordAreDeleted() throws IOException {
+        String large = "x".repeat(40);
+        try (OutboxJournal journal = open()) {
+            journal.recover((position, body) -> { });
+            journal.append(List.of(body(large + 1), body(large + 2)), position -> { });
+            assertThat(journal.segmentCount()).isEqualTo(2);
+        }
+        try (FileChannel segment = FileChannel.open(segments().get(0), StandardOpenOption.WRITE)) {
+            segment.write(ByteBuffer.wrap(new byte[] {'!'}), FRAME_HEADER);
+        }
+
+        try (OutboxJournal journal = open()) {
+            List<String> recovered = new ArrayList<>();
+            journal.recover((position, body) -> recovered.add(new String(body, StandardCharsets.UTF_8)));
+            assertThat(recovered).isEmpty();
+            assertThat(journal.segmentCount()).isEqualTo(1);
+            assertThat(journal.writePosition()).isZero();
+        }
+        assertThat(segments()).hasSize(1);
+        assertThat(recovered()).isEmpty();
+    }
+
+    @Test
+    void recordsRollOverToNewSegmentsThatAreReleasedBehindTheCursor() throws IOException {
+        String large = "x".repeat(40);
+        try (OutboxJournal journal = open()) {
+            journal.recover((position, body) -> { });
+            long[] positions = journal.append(List.of(body(large + 1), body(large + 2), body(large + 3)), position -> { });
+            assertThat(positions).startsWith(0L, SEGMENT_SIZE, 2L * SEGMENT_SIZE);
+            assertThat(journal.segmentCount()).isEqualTo(3);
+
+            journal.writeCursor(positions[2]);
+            assertThat(journal.releaseBeforeCursor()).isEqualTo(2);
+            assertThat(journal.segmentCount()).isEqualTo(1);
+        }
+
+        assertThat(segments()).extracting(segment -> segment.getFileName().toString())
+            .containsExactly("segment-000000000002.journal");
+        assertThat(recovered()).containsExactly(large + 3);
+    }
+
+    private OutboxJournal open() throws IOException {
+        return new OutboxJournal(directory, SEGMENT_SIZE);
+    }
+
+    private List<String> recovered() throws IOException {
+        List<String> recovered = new ArrayList<>();
+        try (OutboxJournal journal = open()) {
+            journal.recover((position, body) -> recovered.add(new String(body, StandardCharsets.UTF_8)));
+        }
+        return recovered;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-")).sorted().toList();
+        }
+    }
+
+    private static byte[] body(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.mapper;
+
+import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.domain.model.OrderItem;
+import com.example.hexagonalorders.domain.model.OrderStatus;
+import com.example.hexagonalorders.domain.model.valueobject.Address;
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.model.valueobject.ProductNumber;
+import com.example.hexagonalorders.domain.model.valueobject.Quantity;
+import com.example.hexagonalorders.infrastructure.out.persistence.entity.OrderItemJpaEntity;
+import com.example.hexagonalorders.infrastructure.out.persistence.entity.OrderJpaEntity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Items keep their identity when an existing order is mapped back to an entity,
+ * so merging it updates the stored rows instead of replacing them.
+ */
+class OrderJpaMapperTest {
+
+    private final OrderJpaMapper mapper = new OrderJpaMapper();
+
+    @Test
+    void existingItemsKeepTheirIds() {
+        List<OrderItem> items = new ArrayList<>(List.of(
+            new OrderItem(new ProductNumber("P-1"), new Quantity(1), new BigDecimal("9.99"), 7L),
+            new OrderItem(new ProductNumber("P-2"), new Quantity(2), new BigDecimal("4.50"), 8L)));
+        Order order = Order.rehydrate(1L, OrderNumber.of(UUID.randomUUID()), "customer-1",
+            new Address("Main Street 1", "Springfield", "12345", "US"),
+            LocalDateTime.now(), items, OrderStatus.PENDING, 3L);
+
+        OrderJpaEntity entity = mapper.toJpaEntity(order);
+
+        assertThat(entity.getItems()).extracting(OrderItemJpaEntity::getId).containsExactly(7L, 8L);
+    }
+
+    @Test
+    void newItemsHaveNoId() {
+        List<OrderItem> items = new ArrayList<>(List.of(
+            new OrderItem(new ProductNumber("P-1"), new Quantity(1), new BigDecimal("9.99"))));
+        Order order = Order.rehydrate(null, OrderNumber.of(UUID.randomUUID()), "customer-1",
+            new Address("Main Street 1", "Springfield", "12345", "US"),
+            LocalDateTime.now(), items, OrderStatus.PENDING, null);
+
+        assertThat(mapper.toJpaEntity(order).getItems()).extracting(OrderItemJpaEntity::getId).containsOnlyNulls();
+    }
+}